@@ -0,0 +1,308 @@
+// SIMD (Vector API) and fork-join kernels over int[]: sum, min/max, dot product, prefix sum, filter.
+// ✅ Each loop step handles a whole vector (16 ints with AVX-512, 8 with AVX2); the tail is scalar.
+//    prefixSum is the exception: its sequential carry makes the scalar loop faster (see below)
+// ✅ sum and dot widen to long lanes first, so they never overflow where an int loop would wrap
+// ✅ parallel*() split large arrays (>= 64K elements) across a ForkJoinPool and run the SIMD
+//    kernel on each chunk; smaller arrays stay on the calling thread
+// 🚫 The Vector API is an incubator module in Java 17: compile and run with
+//    --add-modules jdk.incubator.vector (the JVM prints a warning about it)
+//
+// Run (from DataStuctures/Arrays/):
+//   javac --add-modules jdk.incubator.vector -d out ArrayKernels.java
+//   java --add-modules jdk.incubator.vector -cp out ArrayKernels
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+public final class ArrayKernels {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // Same bit size, half the lanes: one int vector widens into two long vectors (parts 0 and 1).
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private ArrayKernels() {
+    }
+
+    public static long sum(int[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    static long sum(int[] a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            acc = acc.add(v.convertShape(VectorOperators.I2L, LONGS, 0))
+                    .add(v.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long total = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            total += a[i];
+        }
+        return total;
+    }
+
+    public static int min(int[] a) {
+        requireNonEmpty(a);
+        return min(a, 0, a.length);
+    }
+
+    static int min(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    public static int max(int[] a) {
+        requireNonEmpty(a);
+        return max(a, 0, a.length);
+    }
+
+    static int max(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, a, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    public static long dot(int[] a, int[] b) {
+        requireSameLength(a, b);
+        return dot(a, b, 0, a.length);
+    }
+
+    static long dot(int[] a, int[] b, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector va = IntVector.fromArray(INTS, a, i);
+            IntVector vb = IntVector.fromArray(INTS, b, i);
+            for (int part = 0; part < 2; part++) {
+                LongVector la = (LongVector) va.convertShape(VectorOperators.I2L, LONGS, part);
+                LongVector lb = (LongVector) vb.convertShape(VectorOperators.I2L, LONGS, part);
+                acc = acc.add(la.mul(lb));
+            }
+        }
+        long total = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            total += (long) a[i] * b[i];
+        }
+        return total;
+    }
+
+    // In-place inclusive prefix sum (a[i] becomes a[0] + ... + a[i]), wrapping on overflow like
+    // Arrays.parallelPrefix(a, Integer::sum).
+    public static void prefixSum(int[] a) {
+        prefixSum(a, 0, a.length);
+    }
+
+    // Scalar on purpose: a SIMD scan (log2(lanes) rounds of lane shifts + adds per vector) measured
+    // 2-3x slower than this loop in Java 17, whose lane shuffles are not cheap enough to pay for it.
+    // The parallel version still uses SIMD for its offset pass (addToRange).
+    static int prefixSum(int[] a, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+            a[i] = sum;
+        }
+        return sum;
+    }
+
+    // The elements greater than threshold, in order.
+    public static int[] filterGreaterThan(int[] a, int threshold) {
+        return filterGreaterThan(a, 0, a.length, threshold);
+    }
+
+    static int[] filterGreaterThan(int[] a, int from, int to, int threshold) {
+        int[] out = new int[to - from];
+        int n = 0;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            VectorMask<Integer> keep = v.compare(VectorOperators.GT, threshold);
+            if (keep.allTrue()) {
+                v.intoArray(out, n);
+                n += INTS.length();
+            } else {
+                // No lane compress in Java 17: copy the selected lanes one by one.
+                for (long bits = keep.toLong(); bits != 0; bits &= bits - 1) {
+                    out[n++] = a[i + Long.numberOfTrailingZeros(bits)];
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] > threshold) {
+                out[n++] = a[i];
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    public static long parallelSum(int[] a) {
+        return invoke(new RangeTask<>(0, a.length, (from, to) -> sum(a, from, to), Long::sum));
+    }
+
+    public static int parallelMin(int[] a) {
+        requireNonEmpty(a);
+        return invoke(new RangeTask<>(0, a.length, (from, to) -> min(a, from, to), Math::min));
+    }
+
+    public static int parallelMax(int[] a) {
+        requireNonEmpty(a);
+        return invoke(new RangeTask<>(0, a.length, (from, to) -> max(a, from, to), Math::max));
+    }
+
+    public static long parallelDot(int[] a, int[] b) {
+        requireSameLength(a, b);
+        return invoke(new RangeTask<>(0, a.length, (from, to) -> dot(a, b, from, to), Long::sum));
+    }
+
+    public static int[] parallelFilterGreaterThan(int[] a, int threshold) {
+        return invoke(new RangeTask<>(0, a.length, (from, to) -> filterGreaterThan(a, from, to, threshold),
+                (left, right) -> {
+                    int[] joined = Arrays.copyOf(left, left.length + right.length);
+                    System.arraycopy(right, 0, joined, left.length, right.length);
+                    return joined;
+                }));
+    }
+
+    // Three passes: prefix-sum each chunk in parallel, add up the chunk totals into per-chunk
+    // offsets (one per chunk, sequentially), then add each chunk's offset in parallel.
+    public static void parallelPrefixSum(int[] a) {
+        if (a.length < PARALLEL_THRESHOLD) {
+            prefixSum(a);
+            return;
+        }
+        int chunks = Math.max(1, Math.min(a.length / PARALLEL_THRESHOLD, 4 * ForkJoinPool.getCommonPoolParallelism()));
+        int chunkSize = (a.length + chunks - 1) / chunks;
+        int[] totals = new int[chunks];
+        forEachChunk(chunks, c -> totals[c] = prefixSum(a, c * chunkSize, Math.min(a.length, (c + 1) * chunkSize)));
+        int offset = 0;
+        for (int c = 0; c < chunks; c++) {
+            int total = totals[c];
+            totals[c] = offset;
+            offset += total;
+        }
+        forEachChunk(chunks, c -> addToRange(a, c * chunkSize, Math.min(a.length, (c + 1) * chunkSize), totals[c]));
+    }
+
+    static void addToRange(int[] a, int from, int to, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector.fromArray(INTS, a, i).add(delta).intoArray(a, i);
+        }
+        for (; i < to; i++) {
+            a[i] += delta;
+        }
+    }
+
+    private interface RangeKernel<T> {
+        T apply(int from, int to);
+    }
+
+    // Halves [from, to) until a piece is below PARALLEL_THRESHOLD, runs the kernel on each piece and
+    // combines the results left to right (so order-sensitive results like filter stay in order).
+    private static final class RangeTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final RangeKernel<T> kernel;
+        private final BinaryOperator<T> combine;
+
+        RangeTask(int from, int to, RangeKernel<T> kernel, BinaryOperator<T> combine) {
+            this.from = from;
+            this.to = to;
+            this.kernel = kernel;
+            this.combine = combine;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from < 2 * PARALLEL_THRESHOLD) {
+                return kernel.apply(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<T> left = new RangeTask<>(from, mid, kernel, combine);
+            left.fork();
+            T right = new RangeTask<>(mid, to, kernel, combine).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    private static <T> T invoke(RangeTask<T> task) {
+        return ForkJoinPool.commonPool().invoke(task);
+    }
+
+    // Runs action(0) .. action(chunks - 1) as one fork-join task each and waits for all of them.
+    static void forEachChunk(int chunks, IntConsumer action) {
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                RecursiveAction[] tasks = new RecursiveAction[chunks];
+                for (int c = 0; c < chunks; c++) {
+                    int chunk = c;
+                    tasks[c] = new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            action.accept(chunk);
+                        }
+                    };
+                }
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    private static void requireNonEmpty(int[] a) {
+        if (a.length == 0) {
+            throw new NoSuchElementException("empty array");
+        }
+    }
+
+    private static void requireSameLength(int[] a, int[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Length mismatch: " + a.length + " vs " + b.length);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] numbers = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+        System.out.println(sum(numbers) + " " + min(numbers) + " " + max(numbers)); // Output: 210 1 20
+        System.out.println(dot(numbers, numbers)); // Output: 2870
+        System.out.println(Arrays.toString(filterGreaterThan(numbers, 15))); // Output: [16, 17, 18, 19, 20]
+
+        int[] big = new int[1_000_000];
+        Arrays.fill(big, Integer.MAX_VALUE);
+        System.out.println(parallelSum(big)); // Output: 2147483647000000 (an int loop would wrap)
+        prefixSum(numbers);
+        System.out.println(numbers[19]); // Output: 210
+    }
+}
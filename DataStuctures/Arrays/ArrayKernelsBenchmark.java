@@ -0,0 +1,215 @@
+// ArrayKernels (SIMD, and SIMD + fork-join) vs plain scalar loops vs Arrays.stream / Arrays.parallelPrefix,
+// for sum, min, dot product, prefix sum and filter over int[] of 1K, 64K, 1M and 16M random elements.
+// Reports ns per element (best of 5 rounds; each round repeats the kernel over ~32M elements in total).
+// Every variant's result is checked against the scalar loop first.
+// Also compares summing a 4096 x 4096 matrix stored as int[][] and as one flat IntMatrix.
+//
+// Run (from DataStuctures/Arrays/):
+//   javac --add-modules jdk.incubator.vector -d out ArrayKernels.java IntMatrix.java ArrayKernelsBenchmark.java
+//   java --add-modules jdk.incubator.vector -Xmx2g -cp out ArrayKernelsBenchmark
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+public class ArrayKernelsBenchmark {
+    private static final long ELEMENTS_PER_ROUND = 1L << 25;
+    private static final int THRESHOLD = 0; // filter keeps about half of the random ints
+
+    public static void main(String[] args) {
+        System.out.printf("%-8s %-8s %10s %10s %10s %10s%n", "n", "kernel", "scalar", "stream", "simd",
+                "parallel");
+        for (int n : new int[]{1 << 10, 1 << 16, 1 << 20, 1 << 24}) {
+            Random random = new Random(n);
+            int[] a = random.ints(n).toArray();
+            int[] b = random.ints(n).toArray();
+            int reps = (int) Math.max(1, ELEMENTS_PER_ROUND / n);
+
+            check("sum", sumScalar(a), Arrays.stream(a).asLongStream().sum(), ArrayKernels.sum(a),
+                    ArrayKernels.parallelSum(a));
+            report(n, "sum", reps,
+                    () -> sumScalar(a),
+                    () -> Arrays.stream(a).asLongStream().sum(),
+                    () -> ArrayKernels.sum(a),
+                    () -> ArrayKernels.parallelSum(a));
+
+            check("min", minScalar(a), Arrays.stream(a).min().getAsInt(), ArrayKernels.min(a),
+                    ArrayKernels.parallelMin(a));
+            report(n, "min", reps,
+                    () -> minScalar(a),
+                    () -> Arrays.stream(a).min().getAsInt(),
+                    () -> ArrayKernels.min(a),
+                    () -> ArrayKernels.parallelMin(a));
+
+            check("dot", dotScalar(a, b), IntStream.range(0, n).mapToLong(i -> (long) a[i] * b[i]).sum(),
+                    ArrayKernels.dot(a, b), ArrayKernels.parallelDot(a, b));
+            report(n, "dot", reps,
+                    () -> dotScalar(a, b),
+                    () -> IntStream.range(0, n).mapToLong(i -> (long) a[i] * b[i]).sum(),
+                    () -> ArrayKernels.dot(a, b),
+                    () -> ArrayKernels.parallelDot(a, b));
+
+            checkPrefixSums(a);
+            int[] scratch = a.clone(); // prefix sums run in place; repeated runs just keep wrapping
+            report(n, "prefix", reps,
+                    () -> prefixScalar(scratch),
+                    () -> {
+                        Arrays.parallelPrefix(scratch, Integer::sum);
+                        return scratch[n - 1];
+                    },
+                    () -> {
+                        ArrayKernels.prefixSum(scratch);
+                        return scratch[n - 1];
+                    },
+                    () -> {
+                        ArrayKernels.parallelPrefixSum(scratch);
+                        return scratch[n - 1];
+                    });
+
+            int[] expected = filterScalar(a);
+            check("filter", Arrays.equals(expected, Arrays.stream(a).filter(x -> x > THRESHOLD).toArray())
+                    && Arrays.equals(expected, ArrayKernels.filterGreaterThan(a, THRESHOLD))
+                    && Arrays.equals(expected, ArrayKernels.parallelFilterGreaterThan(a, THRESHOLD)));
+            report(n, "filter", reps,
+                    () -> filterScalar(a).length,
+                    () -> Arrays.stream(a).filter(x -> x > THRESHOLD).toArray().length,
+                    () -> ArrayKernels.filterGreaterThan(a, THRESHOLD).length,
+                    () -> ArrayKernels.parallelFilterGreaterThan(a, THRESHOLD).length);
+            System.out.println();
+        }
+        matrices();
+    }
+
+    // The same values as int[][] (a row object each) and as one flat IntMatrix, summed row by row.
+    private static void matrices() {
+        int size = 4096;
+        Random random = new Random(size);
+        int[][] jagged = new int[size][];
+        for (int r = 0; r < size; r++) {
+            jagged[r] = random.ints(size).toArray();
+            new int[random.nextInt(64)].hashCode(); // garbage between rows, as in a real heap
+        }
+        IntMatrix flat = IntMatrix.fromJagged(jagged);
+        check("matrix sum", sumJagged(jagged), flat.sum(), flat.sum(), flat.sum());
+        System.out.printf("%dx%d matrix sum (ms): int[][] loops %d, IntMatrix scalar %d, IntMatrix simd %d%n",
+                size, size,
+                time(() -> sumJagged(jagged)) / 1_000_000,
+                time(() -> sumScalar(flat.data())) / 1_000_000,
+                time(flat::sum) / 1_000_000);
+    }
+
+    private static long sumScalar(int[] a) {
+        long sum = 0;
+        for (int x : a) {
+            sum += x;
+        }
+        return sum;
+    }
+
+    private static long sumJagged(int[][] m) {
+        long sum = 0;
+        for (int[] row : m) {
+            for (int x : row) {
+                sum += x;
+            }
+        }
+        return sum;
+    }
+
+    private static int minScalar(int[] a) {
+        int min = Integer.MAX_VALUE;
+        for (int x : a) {
+            min = Math.min(min, x);
+        }
+        return min;
+    }
+
+    private static long dotScalar(int[] a, int[] b) {
+        long sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += (long) a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static int prefixScalar(int[] a) {
+        int sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i];
+            a[i] = sum;
+        }
+        return sum;
+    }
+
+    private static int[] filterScalar(int[] a) {
+        int[] out = new int[a.length];
+        int n = 0;
+        for (int x : a) {
+            if (x > THRESHOLD) {
+                out[n++] = x;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static void checkPrefixSums(int[] a) {
+        int[] expected = a.clone();
+        prefixScalar(expected);
+        int[] library = a.clone();
+        Arrays.parallelPrefix(library, Integer::sum);
+        int[] simd = a.clone();
+        ArrayKernels.prefixSum(simd);
+        int[] parallel = a.clone();
+        ArrayKernels.parallelPrefixSum(parallel);
+        check("prefix", Arrays.equals(expected, library) && Arrays.equals(expected, simd)
+                && Arrays.equals(expected, parallel));
+    }
+
+    private static void check(String kernel, long scalar, long stream, long simd, long parallel) {
+        check(kernel, scalar == stream && scalar == simd && scalar == parallel);
+    }
+
+    private static void check(String kernel, boolean ok) {
+        if (!ok) {
+            throw new AssertionError(kernel + ": variants disagree");
+        }
+    }
+
+    private static void report(int n, String kernel, int reps, LongSupplier scalar, LongSupplier stream,
+                               LongSupplier simd, LongSupplier parallel) {
+        double elements = (double) reps * n;
+        System.out.printf("%-8s %-8s %10.3f %10.3f %10.3f %10.3f%n", label(n), kernel,
+                time(repeat(scalar, reps)) / elements, time(repeat(stream, reps)) / elements,
+                time(repeat(simd, reps)) / elements, time(repeat(parallel, reps)) / elements);
+    }
+
+    private static LongSupplier repeat(LongSupplier kernel, int reps) {
+        return () -> {
+            long checksum = 0;
+            for (int r = 0; r < reps; r++) {
+                checksum += kernel.getAsLong();
+            }
+            return checksum;
+        };
+    }
+
+    private static String label(int n) {
+        return n >= 1 << 20 ? (n >> 20) + "M" : (n >> 10) + "K";
+    }
+
+    // Best of 5 rounds, in ns.
+    private static long time(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best;
+    }
+}
@@ -0,0 +1,266 @@
+// A rows x cols double matrix in one flat row-major double[], with cache-blocked multiply and transpose.
+// ✅ multiply(): tiles the k dimension so the B strip being used stays in L1/L2, and keeps a 4-row x
+//    2-vector block of C in registers across each tile (8 SIMD FMAs per 2 loads of B): tens of
+//    times faster than the naive i-j-k loop over double[][] on large matrices
+// ✅ transpose(): 32 x 32 tiles, so both the rows read and the columns written stay in cache
+// ✅ parallelMultiply()/parallelTranspose() hand out 64-row bands of the result as fork-join tasks;
+//    bands never overlap, so no locking, and the result is bit-identical to the sequential one
+// 🚫 Needs --add-modules jdk.incubator.vector (Java 17's Vector API is an incubator module)
+//
+// Run (from DataStuctures/Arrays/):
+//   javac --add-modules jdk.incubator.vector -d out ArrayKernels.java DoubleMatrix.java
+//   java --add-modules jdk.incubator.vector -cp out DoubleMatrix
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+public final class DoubleMatrix {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = DOUBLES.length();
+    private static final int MICRO_ROWS = 4;           // rows of C held in registers
+    private static final int MICRO_COLS = 2 * LANES;   // columns of C held in registers
+    private static final int BLOCK_K = 256;            // B strip of BLOCK_K x MICRO_COLS: 32 KB with AVX-512
+    private static final int BAND_ROWS = 64;           // rows of C per parallel task
+    private static final int TRANSPOSE_TILE = 32;
+
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    public DoubleMatrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)]);
+    }
+
+    private DoubleMatrix(int rows, int cols, double[] data) {
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Illegal size: " + rows + "x" + cols);
+        }
+        return rows * cols;
+    }
+
+    public static DoubleMatrix fromJagged(double[][] jagged) {
+        int cols = jagged.length == 0 ? 0 : jagged[0].length;
+        DoubleMatrix m = new DoubleMatrix(jagged.length, cols);
+        for (int r = 0; r < jagged.length; r++) {
+            if (jagged[r].length != cols) {
+                throw new IllegalArgumentException("Row " + r + " has " + jagged[r].length + " columns, expected "
+                        + cols);
+            }
+            System.arraycopy(jagged[r], 0, m.data, r * cols, cols);
+        }
+        return m;
+    }
+
+    public double[][] toJagged() {
+        double[][] jagged = new double[rows][];
+        for (int r = 0; r < rows; r++) {
+            jagged[r] = Arrays.copyOfRange(data, r * cols, (r + 1) * cols);
+        }
+        return jagged;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public double get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, double value) {
+        data[index(row, col)] = value;
+    }
+
+    // The backing array: element (r, c) is at r * cols() + c.
+    public double[] data() {
+        return data;
+    }
+
+    public DoubleMatrix multiply(DoubleMatrix other) {
+        DoubleMatrix result = productShape(other);
+        multiplyRows(other, result, 0, rows);
+        return result;
+    }
+
+    public DoubleMatrix parallelMultiply(DoubleMatrix other) {
+        DoubleMatrix result = productShape(other);
+        int bands = (rows + BAND_ROWS - 1) / BAND_ROWS;
+        ArrayKernels.forEachChunk(bands,
+                band -> multiplyRows(other, result, band * BAND_ROWS, Math.min(rows, (band + 1) * BAND_ROWS)));
+        return result;
+    }
+
+    public DoubleMatrix transpose() {
+        DoubleMatrix result = new DoubleMatrix(cols, rows);
+        transposeRows(result, 0, rows);
+        return result;
+    }
+
+    public DoubleMatrix parallelTranspose() {
+        DoubleMatrix result = new DoubleMatrix(cols, rows);
+        int bands = (rows + BAND_ROWS - 1) / BAND_ROWS;
+        ArrayKernels.forEachChunk(bands,
+                band -> transposeRows(result, band * BAND_ROWS, Math.min(rows, (band + 1) * BAND_ROWS)));
+        return result;
+    }
+
+    private DoubleMatrix productShape(DoubleMatrix other) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + "x" + cols + " by "
+                    + other.rows + "x" + other.cols);
+        }
+        return new DoubleMatrix(rows, other.cols);
+    }
+
+    // C[rowFrom..rowTo) = A[rowFrom..rowTo) * B. For each k tile, every MICRO_COLS-wide strip of B is
+    // copied into a contiguous buffer (B's rows are a whole row apart, which on power-of-two sizes
+    // maps them all onto a few cache sets) and swept by all row groups of the band while it is hot.
+    private void multiplyRows(DoubleMatrix other, DoubleMatrix result, int rowFrom, int rowTo) {
+        double[] a = data;
+        double[] b = other.data;
+        double[] c = result.data;
+        int n = cols;
+        int m = other.cols;
+        double[] strip = new double[BLOCK_K * MICRO_COLS];
+        for (int k0 = 0; k0 < n; k0 += BLOCK_K) {
+            int k1 = Math.min(n, k0 + BLOCK_K);
+            int j = 0;
+            for (; j + MICRO_COLS <= m; j += MICRO_COLS) {
+                for (int k = k0; k < k1; k++) {
+                    System.arraycopy(b, k * m + j, strip, (k - k0) * MICRO_COLS, MICRO_COLS);
+                }
+                int i = rowFrom;
+                for (; i + MICRO_ROWS <= rowTo; i += MICRO_ROWS) {
+                    microKernel(a, strip, c, n, m, i, j, k0, k1);
+                }
+                for (; i < rowTo; i++) {
+                    scalarBlock(a, b, c, n, m, i, j, j + MICRO_COLS, k0, k1);
+                }
+            }
+            if (j < m) {
+                for (int i = rowFrom; i < rowTo; i++) {
+                    scalarBlock(a, b, c, n, m, i, j, m, k0, k1);
+                }
+            }
+        }
+    }
+
+    // C[i..i+4)[j..j+2L) += A[i..i+4)[k0..k1) * B[k0..k1)[j..j+2L), with the 8 C vectors in registers;
+    // strip holds that block of B packed row after row.
+    private static void microKernel(double[] a, double[] strip, double[] c, int n, int m, int i, int j,
+                                    int k0, int k1) {
+        int c0 = i * m + j;
+        int c1 = c0 + m;
+        int c2 = c1 + m;
+        int c3 = c2 + m;
+        DoubleVector c00 = DoubleVector.fromArray(DOUBLES, c, c0);
+        DoubleVector c01 = DoubleVector.fromArray(DOUBLES, c, c0 + LANES);
+        DoubleVector c10 = DoubleVector.fromArray(DOUBLES, c, c1);
+        DoubleVector c11 = DoubleVector.fromArray(DOUBLES, c, c1 + LANES);
+        DoubleVector c20 = DoubleVector.fromArray(DOUBLES, c, c2);
+        DoubleVector c21 = DoubleVector.fromArray(DOUBLES, c, c2 + LANES);
+        DoubleVector c30 = DoubleVector.fromArray(DOUBLES, c, c3);
+        DoubleVector c31 = DoubleVector.fromArray(DOUBLES, c, c3 + LANES);
+        int a0 = i * n;
+        for (int k = k0, bk = 0; k < k1; k++, bk += MICRO_COLS) {
+            DoubleVector b0 = DoubleVector.fromArray(DOUBLES, strip, bk);
+            DoubleVector b1 = DoubleVector.fromArray(DOUBLES, strip, bk + LANES);
+            DoubleVector x = DoubleVector.broadcast(DOUBLES, a[a0 + k]);
+            c00 = x.fma(b0, c00);
+            c01 = x.fma(b1, c01);
+            x = DoubleVector.broadcast(DOUBLES, a[a0 + n + k]);
+            c10 = x.fma(b0, c10);
+            c11 = x.fma(b1, c11);
+            x = DoubleVector.broadcast(DOUBLES, a[a0 + 2 * n + k]);
+            c20 = x.fma(b0, c20);
+            c21 = x.fma(b1, c21);
+            x = DoubleVector.broadcast(DOUBLES, a[a0 + 3 * n + k]);
+            c30 = x.fma(b0, c30);
+            c31 = x.fma(b1, c31);
+        }
+        c00.intoArray(c, c0);
+        c01.intoArray(c, c0 + LANES);
+        c10.intoArray(c, c1);
+        c11.intoArray(c, c1 + LANES);
+        c20.intoArray(c, c2);
+        c21.intoArray(c, c2 + LANES);
+        c30.intoArray(c, c3);
+        c31.intoArray(c, c3 + LANES);
+    }
+
+    // Edge rows and columns the micro kernel doesn't cover, in the same k order (and with fma, the same
+    // rounding), so every element comes out identical whichever path computed it.
+    private static void scalarBlock(double[] a, double[] b, double[] c, int n, int m, int i, int j0, int j1,
+                                    int k0, int k1) {
+        for (int j = j0; j < j1; j++) {
+            double sum = c[i * m + j];
+            for (int k = k0; k < k1; k++) {
+                sum = Math.fma(a[i * n + k], b[k * m + j], sum);
+            }
+            c[i * m + j] = sum;
+        }
+    }
+
+    private void transposeRows(DoubleMatrix result, int rowFrom, int rowTo) {
+        double[] t = result.data;
+        for (int i0 = rowFrom; i0 < rowTo; i0 += TRANSPOSE_TILE) {
+            int i1 = Math.min(rowTo, i0 + TRANSPOSE_TILE);
+            for (int j0 = 0; j0 < cols; j0 += TRANSPOSE_TILE) {
+                int j1 = Math.min(cols, j0 + TRANSPOSE_TILE);
+                for (int i = i0; i < i1; i++) {
+                    for (int j = j0; j < j1; j++) {
+                        t[j * rows + i] = data[i * cols + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") outside " + rows + "x" + cols);
+        }
+        return row * cols + col;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DoubleMatrix && ((DoubleMatrix) o).rows == rows && ((DoubleMatrix) o).cols == cols
+                && Arrays.equals(((DoubleMatrix) o).data, data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int r = 0; r < rows; r++) {
+            sb.append(r == 0 ? "" : ", ")
+                    .append(Arrays.toString(Arrays.copyOfRange(data, r * cols, (r + 1) * cols)));
+        }
+        return sb.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        DoubleMatrix a = DoubleMatrix.fromJagged(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        DoubleMatrix b = DoubleMatrix.fromJagged(new double[][]{{7, 8}, {9, 10}, {11, 12}});
+        System.out.println(a.multiply(b)); // Output: [[58.0, 64.0], [139.0, 154.0]]
+        System.out.println(a.transpose()); // Output: [[1.0, 4.0], [2.0, 5.0], [3.0, 6.0]]
+        System.out.println(a.parallelMultiply(b).equals(a.multiply(b))); // Output: true
+    }
+}
@@ -0,0 +1,292 @@
+// A resizable array like ArrayList, but with its resizing made explicit and tunable.
+// ✅ Pluggable growth: GrowthPolicy.oneAndAHalf() (ArrayList's), doubling(), fixedChunk(n), factor(f)
+// ✅ Optional auto-shrink with hysteresis: below shrinkAt * capacity it halves towards 2 * size, so
+//    a spike-then-drain workload gives its peak memory back, and add/remove at the boundary can't
+//    make it resize back and forth
+// ✅ ensureCapacity(n) sizes exactly in one copy when the final size is known (no growth steps)
+// ✅ stats(): grows, shrinks, elements/bytes copied and peak capacity
+// 🚫 Every resize still copies all elements (O(n)); SegmentedArray never copies on growth
+//
+// Run (from DataStuctures/Arrays/):  javac -d out ResizeStats.java DynamicArray.java
+//                                    java -cp out DynamicArray
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class DynamicArray<E> implements Iterable<E> {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final GrowthPolicy growth;
+    private final double shrinkAt;
+    private final int floorCapacity;
+
+    private Object[] elements;
+    private int size;
+    private int shrinkBelow; // shrinkAt * capacity, kept in step with the capacity
+
+    private long grows;
+    private long shrinks;
+    private long elementsCopied;
+    private long peakCapacity;
+
+    // How much capacity to add once the array is full. Returns the proposed new capacity; the array
+    // never allocates less than minCapacity (what the pending operation needs) or more than the VM allows.
+    interface GrowthPolicy {
+        int newCapacity(int capacity, int minCapacity);
+
+        // ArrayList's policy: amortized O(1) add, at most 1/3 of the capacity unused after a grow.
+        static GrowthPolicy oneAndAHalf() {
+            return factor(1.5);
+        }
+
+        // Fewer resizes and copies than 1.5x, but up to half the capacity unused after a grow.
+        static GrowthPolicy doubling() {
+            return factor(2);
+        }
+
+        static GrowthPolicy factor(double factor) {
+            if (!(factor > 1)) {
+                throw new IllegalArgumentException("growth factor must be > 1: " + factor);
+            }
+            return (capacity, minCapacity) ->
+                    (int) Math.min(MAX_CAPACITY, Math.max(capacity * factor, DEFAULT_CAPACITY));
+        }
+
+        // Adds `chunk` slots at a time: at most `chunk` slots unused, but O(n / chunk) resizes and so
+        // O(n^2 / chunk) copying overall. Only for arrays whose final size is about known.
+        static GrowthPolicy fixedChunk(int chunk) {
+            if (chunk <= 0) {
+                throw new IllegalArgumentException("chunk must be positive: " + chunk);
+            }
+            return (capacity, minCapacity) -> (int) Math.min(MAX_CAPACITY, (long) capacity + chunk);
+        }
+    }
+
+    public DynamicArray() {
+        this(DEFAULT_CAPACITY, GrowthPolicy.oneAndAHalf(), 0);
+    }
+
+    // shrinkAt: shrink once size falls below this fraction of the capacity (0 never shrinks). It must be
+    // below 0.5 so a shrunk array (half full) is neither about to grow nor to shrink again.
+    public DynamicArray(int initialCapacity, GrowthPolicy growth, double shrinkAt) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        if (!(shrinkAt >= 0 && shrinkAt < 0.5)) {
+            throw new IllegalArgumentException("shrinkAt must be in [0, 0.5): " + shrinkAt);
+        }
+        this.growth = Objects.requireNonNull(growth);
+        this.shrinkAt = shrinkAt;
+        this.floorCapacity = initialCapacity;
+        this.elements = new Object[initialCapacity];
+        this.shrinkBelow = (int) (shrinkAt * initialCapacity);
+        this.peakCapacity = initialCapacity;
+    }
+
+    public void add(E value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    public void add(int index, E value) {
+        checkPositionIndex(index);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    public void addAll(Collection<? extends E> collection) {
+        Object[] values = collection.toArray();
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elements[index];
+    }
+
+    public E set(int index, E value) {
+        E old = get(index);
+        elements[index] = value;
+        return old;
+    }
+
+    public E removeAt(int index) {
+        E old = get(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        maybeShrink();
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        E old = (E) elements[--size];
+        elements[size] = null;
+        if (size < shrinkBelow) {
+            maybeShrink();
+        }
+        return old;
+    }
+
+    public int indexOf(Object value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(value, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        maybeShrink();
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    // Hint that the array will hold minCapacity elements: resizes to exactly that in one copy, instead of
+    // the several copies (and overshoot) that growing element by element would take.
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            resize(minCapacity);
+            grows++;
+        }
+    }
+
+    public void trimToSize() {
+        if (size < elements.length) {
+            resize(size);
+            shrinks++;
+        }
+    }
+
+    public ResizeStats stats() {
+        return new ResizeStats(grows, shrinks, elementsCopied, peakCapacity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((E) elements[i]);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[next++];
+            }
+        };
+    }
+
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void grow(int needed) {
+        if (needed < 0 || needed > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        resize(Math.max(needed, growth.newCapacity(elements.length, needed)));
+        grows++;
+    }
+
+    // Hysteresis: shrink only well below half full, and only to twice the size, so the array stays
+    // half full after a shrink and a few adds or removes can't trigger the next resize.
+    private void maybeShrink() {
+        if (size < shrinkBelow && elements.length > floorCapacity) {
+            int target = Math.max(floorCapacity, Math.max(2 * size, DEFAULT_CAPACITY));
+            if (target < elements.length) {
+                resize(target);
+                shrinks++;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        elements = Arrays.copyOf(elements, newCapacity);
+        shrinkBelow = (int) (shrinkAt * newCapacity);
+        elementsCopied += size;
+        peakCapacity = Math.max(peakCapacity, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : ", ").append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        DynamicArray<Integer> numbers = new DynamicArray<>(10, GrowthPolicy.oneAndAHalf(), 0.25);
+        for (int i = 0; i < 1_000_000; i++) {
+            numbers.add(i); // spike
+        }
+        System.out.println(numbers.capacity()); // Output: 1215487
+        while (numbers.size() > 5) {
+            numbers.removeLast(); // drain
+        }
+        System.out.println(numbers + " capacity " + numbers.capacity()); // Output: [0, 1, 2, 3, 4] capacity 14
+        System.out.println(numbers.stats().grows() + " grows, " + numbers.stats().shrinks() + " shrinks"); // Output: 29 grows, 16 shrinks
+    }
+}
@@ -0,0 +1,186 @@
+// Spike-and-drain: each structure takes 3 cycles of "add 10M elements, remove all but 1,000 from the end",
+// for ArrayList and for DynamicArray / SegmentedArray under each growth and shrink setting.
+// Reports time (ms, best of 3 runs), resizes and MB copied over the 3 cycles, peak capacity, and the
+// capacity and retained heap after the last drain (heap with the structure minus heap once dropped;
+// the elements are cached Integers, so this is the storage alone).
+// ArrayList has no resize counters; it grows like 1.5x and never shrinks, so it matches "1.5x" there.
+//
+// Run (from DataStuctures/Arrays/):
+//   javac -d out ResizeStats.java DynamicArray.java SegmentedArray.java DynamicArrayBenchmark.java
+//   java -Xmx2g -cp out DynamicArrayBenchmark
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+public class DynamicArrayBenchmark {
+    private static final int PEAK = 10_000_000;
+    private static final int FLOOR = 1_000;
+    private static final int CYCLES = 3;
+
+    // The operations the workload needs, over each structure under test.
+    private interface Subject {
+        void add(Integer value);
+
+        void removeLast();
+
+        int size();
+
+        default void hint(int capacity) {
+        }
+
+        default int capacity() {
+            return -1;
+        }
+
+        default ResizeStats stats() {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-30s %8s %7s %8s %10s %12s %12s %12s%n", "structure", "ms", "grows", "shrinks",
+                "MB copied", "peak cap", "cap after", "MB after");
+        run("ArrayList", false, DynamicArrayBenchmark::arrayList);
+        run("DynamicArray 1.5x", false, () -> dynamic(DynamicArray.GrowthPolicy.oneAndAHalf(), 0));
+        run("DynamicArray 1.5x shrink<25%", false, () -> dynamic(DynamicArray.GrowthPolicy.oneAndAHalf(), 0.25));
+        run("DynamicArray 2x shrink<25%", false, () -> dynamic(DynamicArray.GrowthPolicy.doubling(), 0.25));
+        run("DynamicArray +256K shrink<25%", false,
+                () -> dynamic(DynamicArray.GrowthPolicy.fixedChunk(1 << 18), 0.25));
+        run("DynamicArray hinted shrink<25%", true, () -> dynamic(DynamicArray.GrowthPolicy.oneAndAHalf(), 0.25));
+        run("SegmentedArray", false, DynamicArrayBenchmark::segmented);
+    }
+
+    private static void run(String name, boolean hinted, Supplier<Subject> create) {
+        long best = Long.MAX_VALUE;
+        Subject subject = null;
+        for (int round = 0; round < 3; round++) {
+            subject = create.get();
+            long t0 = System.nanoTime();
+            spikeAndDrain(subject, hinted);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        ResizeStats stats = subject.stats();
+        int capacity = subject.capacity();
+        Object[] holder = {subject};
+        subject = null;
+        long retained = retainedBytes(holder);
+        System.out.printf("%-30s %8d %7s %8s %10s %12s %12s %12.2f%n", name, best / 1_000_000,
+                stats == null ? "-" : stats.grows(), stats == null ? "-" : stats.shrinks(),
+                stats == null ? "-" : String.format("%.1f", stats.bytesCopied() / 1e6),
+                stats == null ? "-" : stats.peakCapacity(), capacity < 0 ? "-" : capacity, retained / 1e6);
+    }
+
+    private static void spikeAndDrain(Subject subject, boolean hinted) {
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            if (hinted) {
+                subject.hint(PEAK);
+            }
+            for (int i = subject.size(); i < PEAK; i++) {
+                subject.add(i & 127); // cached Integers: the storage is all that's allocated
+            }
+            while (subject.size() > FLOOR) {
+                subject.removeLast();
+            }
+        }
+    }
+
+    private static Subject arrayList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        return new Subject() {
+            @Override
+            public void add(Integer value) {
+                list.add(value);
+            }
+
+            @Override
+            public void removeLast() {
+                list.remove(list.size() - 1);
+            }
+
+            @Override
+            public int size() {
+                return list.size();
+            }
+        };
+    }
+
+    private static Subject dynamic(DynamicArray.GrowthPolicy growth, double shrinkAt) {
+        DynamicArray<Integer> array = new DynamicArray<>(10, growth, shrinkAt);
+        return new Subject() {
+            @Override
+            public void add(Integer value) {
+                array.add(value);
+            }
+
+            @Override
+            public void removeLast() {
+                array.removeLast();
+            }
+
+            @Override
+            public int size() {
+                return array.size();
+            }
+
+            @Override
+            public void hint(int capacity) {
+                array.ensureCapacity(capacity);
+            }
+
+            @Override
+            public int capacity() {
+                return array.capacity();
+            }
+
+            @Override
+            public ResizeStats stats() {
+                return array.stats();
+            }
+        };
+    }
+
+    private static Subject segmented() {
+        SegmentedArray<Integer> array = new SegmentedArray<>();
+        return new Subject() {
+            @Override
+            public void add(Integer value) {
+                array.add(value);
+            }
+
+            @Override
+            public void removeLast() {
+                array.removeLast();
+            }
+
+            @Override
+            public int size() {
+                return array.size();
+            }
+
+            @Override
+            public int capacity() {
+                return array.capacity();
+            }
+
+            @Override
+            public ResizeStats stats() {
+                return array.stats();
+            }
+        };
+    }
+
+    // Heap with the structure minus heap once it is dropped: immune to garbage left by earlier runs.
+    private static long retainedBytes(Object[] holder) {
+        long with = usedHeap();
+        holder[0] = null;
+        return with - usedHeap();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,280 @@
+// A rows x cols int matrix in one flat row-major int[] (element (r, c) at r * cols + c).
+// ✅ One allocation and one contiguous block, where int[][] is one array object per row scattered
+//    across the heap (plus a 16-byte header and a bounds-checked indirection each)
+// ✅ Whole-matrix and per-row kernels run straight over the backing array (ArrayKernels)
+// ✅ fromJagged()/toJagged() convert to and from int[][]
+// ✅ multiply()/transpose() (and parallel versions) use the same blocked kernels as DoubleMatrix; the
+//    product wraps on int overflow exactly like a triple loop over int[][] would
+// 🚫 Rows can't be swapped or resized in place the way int[][] rows can
+//
+// Run (from DataStuctures/Arrays/):
+//   javac --add-modules jdk.incubator.vector -d out ArrayKernels.java IntMatrix.java
+//   java --add-modules jdk.incubator.vector -cp out IntMatrix
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+public final class IntMatrix {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = INTS.length();
+    private static final int MICRO_ROWS = 4;
+    private static final int MICRO_COLS = 2 * LANES;
+    private static final int BLOCK_K = 256;
+    private static final int BAND_ROWS = 64;
+    private static final int TRANSPOSE_TILE = 32;
+
+    private final int rows;
+    private final int cols;
+    private final int[] data;
+
+    public IntMatrix(int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Illegal size: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = new int[rows * cols];
+    }
+
+    public static IntMatrix fromJagged(int[][] jagged) {
+        int cols = jagged.length == 0 ? 0 : jagged[0].length;
+        IntMatrix m = new IntMatrix(jagged.length, cols);
+        for (int r = 0; r < jagged.length; r++) {
+            if (jagged[r].length != cols) {
+                throw new IllegalArgumentException("Row " + r + " has " + jagged[r].length + " columns, expected "
+                        + cols);
+            }
+            System.arraycopy(jagged[r], 0, m.data, r * cols, cols);
+        }
+        return m;
+    }
+
+    public int[][] toJagged() {
+        int[][] jagged = new int[rows][];
+        for (int r = 0; r < rows; r++) {
+            jagged[r] = Arrays.copyOfRange(data, r * cols, (r + 1) * cols);
+        }
+        return jagged;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, int value) {
+        data[index(row, col)] = value;
+    }
+
+    // The backing array, for kernels that take (array, offset): row r starts at rowOffset(r).
+    public int[] data() {
+        return data;
+    }
+
+    public int rowOffset(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Rows: " + rows);
+        }
+        return row * cols;
+    }
+
+    public long sum() {
+        return ArrayKernels.sum(data);
+    }
+
+    public long rowSum(int row) {
+        int from = rowOffset(row);
+        return ArrayKernels.sum(data, from, from + cols);
+    }
+
+    // Walks the rows in memory order, adding each row into the column totals.
+    public long[] columnSums() {
+        long[] sums = new long[cols];
+        for (int r = 0; r < rows; r++) {
+            int offset = r * cols;
+            for (int c = 0; c < cols; c++) {
+                sums[c] += data[offset + c];
+            }
+        }
+        return sums;
+    }
+
+    public IntMatrix multiply(IntMatrix other) {
+        IntMatrix result = productShape(other);
+        multiplyRows(other, result, 0, rows);
+        return result;
+    }
+
+    public IntMatrix parallelMultiply(IntMatrix other) {
+        IntMatrix result = productShape(other);
+        int bands = (rows + BAND_ROWS - 1) / BAND_ROWS;
+        ArrayKernels.forEachChunk(bands,
+                band -> multiplyRows(other, result, band * BAND_ROWS, Math.min(rows, (band + 1) * BAND_ROWS)));
+        return result;
+    }
+
+    public IntMatrix transpose() {
+        IntMatrix result = new IntMatrix(cols, rows);
+        transposeRows(result, 0, rows);
+        return result;
+    }
+
+    public IntMatrix parallelTranspose() {
+        IntMatrix result = new IntMatrix(cols, rows);
+        int bands = (rows + BAND_ROWS - 1) / BAND_ROWS;
+        ArrayKernels.forEachChunk(bands,
+                band -> transposeRows(result, band * BAND_ROWS, Math.min(rows, (band + 1) * BAND_ROWS)));
+        return result;
+    }
+
+    private IntMatrix productShape(IntMatrix other) {
+        if (cols != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + "x" + cols + " by "
+                    + other.rows + "x" + other.cols);
+        }
+        return new IntMatrix(rows, other.cols);
+    }
+
+    // Same blocking as DoubleMatrix.multiplyRows: k tiles, B strips packed contiguously, 4 x 2-vector
+    // blocks of C in registers.
+    private void multiplyRows(IntMatrix other, IntMatrix result, int rowFrom, int rowTo) {
+        int[] a = data;
+        int[] b = other.data;
+        int[] c = result.data;
+        int n = cols;
+        int m = other.cols;
+        int[] strip = new int[BLOCK_K * MICRO_COLS];
+        for (int k0 = 0; k0 < n; k0 += BLOCK_K) {
+            int k1 = Math.min(n, k0 + BLOCK_K);
+            int j = 0;
+            for (; j + MICRO_COLS <= m; j += MICRO_COLS) {
+                for (int k = k0; k < k1; k++) {
+                    System.arraycopy(b, k * m + j, strip, (k - k0) * MICRO_COLS, MICRO_COLS);
+                }
+                int i = rowFrom;
+                for (; i + MICRO_ROWS <= rowTo; i += MICRO_ROWS) {
+                    microKernel(a, strip, c, n, m, i, j, k0, k1);
+                }
+                for (; i < rowTo; i++) {
+                    scalarBlock(a, b, c, n, m, i, j, j + MICRO_COLS, k0, k1);
+                }
+            }
+            if (j < m) {
+                for (int i = rowFrom; i < rowTo; i++) {
+                    scalarBlock(a, b, c, n, m, i, j, m, k0, k1);
+                }
+            }
+        }
+    }
+
+    private static void microKernel(int[] a, int[] strip, int[] c, int n, int m, int i, int j, int k0, int k1) {
+        int c0 = i * m + j;
+        int c1 = c0 + m;
+        int c2 = c1 + m;
+        int c3 = c2 + m;
+        IntVector c00 = IntVector.fromArray(INTS, c, c0);
+        IntVector c01 = IntVector.fromArray(INTS, c, c0 + LANES);
+        IntVector c10 = IntVector.fromArray(INTS, c, c1);
+        IntVector c11 = IntVector.fromArray(INTS, c, c1 + LANES);
+        IntVector c20 = IntVector.fromArray(INTS, c, c2);
+        IntVector c21 = IntVector.fromArray(INTS, c, c2 + LANES);
+        IntVector c30 = IntVector.fromArray(INTS, c, c3);
+        IntVector c31 = IntVector.fromArray(INTS, c, c3 + LANES);
+        int a0 = i * n;
+        for (int k = k0, bk = 0; k < k1; k++, bk += MICRO_COLS) {
+            IntVector b0 = IntVector.fromArray(INTS, strip, bk);
+            IntVector b1 = IntVector.fromArray(INTS, strip, bk + LANES);
+            int x = a[a0 + k];
+            c00 = b0.mul(x).add(c00);
+            c01 = b1.mul(x).add(c01);
+            x = a[a0 + n + k];
+            c10 = b0.mul(x).add(c10);
+            c11 = b1.mul(x).add(c11);
+            x = a[a0 + 2 * n + k];
+            c20 = b0.mul(x).add(c20);
+            c21 = b1.mul(x).add(c21);
+            x = a[a0 + 3 * n + k];
+            c30 = b0.mul(x).add(c30);
+            c31 = b1.mul(x).add(c31);
+        }
+        c00.intoArray(c, c0);
+        c01.intoArray(c, c0 + LANES);
+        c10.intoArray(c, c1);
+        c11.intoArray(c, c1 + LANES);
+        c20.intoArray(c, c2);
+        c21.intoArray(c, c2 + LANES);
+        c30.intoArray(c, c3);
+        c31.intoArray(c, c3 + LANES);
+    }
+
+    private static void scalarBlock(int[] a, int[] b, int[] c, int n, int m, int i, int j0, int j1, int k0, int k1) {
+        for (int j = j0; j < j1; j++) {
+            int sum = c[i * m + j];
+            for (int k = k0; k < k1; k++) {
+                sum += a[i * n + k] * b[k * m + j];
+            }
+            c[i * m + j] = sum;
+        }
+    }
+
+    private void transposeRows(IntMatrix result, int rowFrom, int rowTo) {
+        int[] t = result.data;
+        for (int i0 = rowFrom; i0 < rowTo; i0 += TRANSPOSE_TILE) {
+            int i1 = Math.min(rowTo, i0 + TRANSPOSE_TILE);
+            for (int j0 = 0; j0 < cols; j0 += TRANSPOSE_TILE) {
+                int j1 = Math.min(cols, j0 + TRANSPOSE_TILE);
+                for (int i = i0; i < i1; i++) {
+                    for (int j = j0; j < j1; j++) {
+                        t[j * rows + i] = data[i * cols + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") outside " + rows + "x" + cols);
+        }
+        return row * cols + col;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IntMatrix && ((IntMatrix) o).rows == rows && ((IntMatrix) o).cols == cols
+                && Arrays.equals(((IntMatrix) o).data, data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int r = 0; r < rows; r++) {
+            sb.append(r == 0 ? "" : ", ")
+                    .append(Arrays.toString(Arrays.copyOfRange(data, r * cols, (r + 1) * cols)));
+        }
+        return sb.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        IntMatrix matrix = IntMatrix.fromJagged(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        System.out.println(matrix); // Output: [[1, 2, 3], [4, 5, 6]]
+        System.out.println(matrix.get(1, 2)); // Output: 6
+        System.out.println(matrix.sum() + " " + matrix.rowSum(1)); // Output: 21 15
+        System.out.println(Arrays.toString(matrix.columnSums())); // Output: [5, 7, 9]
+        System.out.println(matrix.multiply(matrix.transpose())); // Output: [[14, 32], [32, 77]]
+    }
+}
@@ -0,0 +1,194 @@
+// Matrix multiply and transpose, n x n from 64 to 4096: naive loops over double[][] / int[][] vs the
+// blocked kernels of DoubleMatrix / IntMatrix, sequential and fork-join parallel.
+// Multiply reports GFLOPS (2n^3 operations / time); transpose reports ms. Timings are the best of 3 rounds
+// (1 at 4096), each round repeated up to ~200M operations for the small sizes. Naive multiply is
+// skipped above 1024 (minutes per run).
+// Correctness: up to 512 the blocked product is compared with the naive one (exact for int, within
+// rounding for double); at every size the parallel results must equal the sequential ones exactly.
+//
+// Run (from DataStuctures/Arrays/):
+//   javac --add-modules jdk.incubator.vector -d out ArrayKernels.java IntMatrix.java DoubleMatrix.java MatrixBenchmark.java
+//   java --add-modules jdk.incubator.vector -Xmx3g -cp out MatrixBenchmark
+
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+public class MatrixBenchmark {
+    private static final int NAIVE_LIMIT = 1024;
+    private static final int CHECK_LIMIT = 512;
+    private static final double OPS_PER_ROUND = 2e8;
+
+    public static void main(String[] args) {
+        System.out.printf("%-6s %-7s %12s %12s %12s %14s %14s %14s%n", "n", "type", "naive GF/s", "blocked GF/s",
+                "parallel GF/s", "transpose ms", "blocked T ms", "parallel T ms");
+        for (int n = 64; n <= 4096; n *= 2) {
+            Random random = new Random(n);
+            doubles(n, random);
+            ints(n, random);
+        }
+    }
+
+    private static void doubles(int n, Random random) {
+        double[][] a = new double[n][n];
+        double[][] b = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextDouble() - 0.5;
+                b[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        DoubleMatrix ma = DoubleMatrix.fromJagged(a);
+        DoubleMatrix mb = DoubleMatrix.fromJagged(b);
+
+        DoubleMatrix product = ma.multiply(mb);
+        check(n, "double parallel multiply", product.equals(ma.parallelMultiply(mb)));
+        check(n, "double parallel transpose", ma.transpose().equals(ma.parallelTranspose()));
+        if (n <= CHECK_LIMIT) {
+            double[][] expected = naiveMultiply(a, b);
+            double maxError = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    maxError = Math.max(maxError, Math.abs(expected[i][j] - product.get(i, j)));
+                }
+            }
+            check(n, "double multiply", maxError <= 1e-12 * n);
+            check(n, "double transpose", DoubleMatrix.fromJagged(naiveTranspose(a)).equals(ma.transpose()));
+        }
+
+        int reps = reps(n);
+        report(n, "double",
+                n > NAIVE_LIMIT ? -1 : gflops(n, reps, () -> (long) naiveMultiply(a, b)[0][0]),
+                gflops(n, reps, () -> (long) ma.multiply(mb).get(0, 0)),
+                gflops(n, reps, () -> (long) ma.parallelMultiply(mb).get(0, 0)),
+                millis(n, () -> (long) naiveTranspose(a)[0][0]),
+                millis(n, () -> (long) ma.transpose().get(0, 0)),
+                millis(n, () -> (long) ma.parallelTranspose().get(0, 0)));
+    }
+
+    private static void ints(int n, Random random) {
+        int[][] a = new int[n][n];
+        int[][] b = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = random.nextInt(201) - 100;
+                b[i][j] = random.nextInt(201) - 100;
+            }
+        }
+        IntMatrix ma = IntMatrix.fromJagged(a);
+        IntMatrix mb = IntMatrix.fromJagged(b);
+
+        IntMatrix product = ma.multiply(mb);
+        check(n, "int parallel multiply", product.equals(ma.parallelMultiply(mb)));
+        check(n, "int parallel transpose", ma.transpose().equals(ma.parallelTranspose()));
+        if (n <= CHECK_LIMIT) {
+            check(n, "int multiply", IntMatrix.fromJagged(naiveMultiply(a, b)).equals(product));
+            check(n, "int transpose", IntMatrix.fromJagged(naiveTranspose(a)).equals(ma.transpose()));
+        }
+
+        int reps = reps(n);
+        report(n, "int",
+                n > NAIVE_LIMIT ? -1 : gflops(n, reps, () -> naiveMultiply(a, b)[0][0]),
+                gflops(n, reps, () -> ma.multiply(mb).get(0, 0)),
+                gflops(n, reps, () -> ma.parallelMultiply(mb).get(0, 0)),
+                millis(n, () -> naiveTranspose(a)[0][0]),
+                millis(n, () -> ma.transpose().get(0, 0)),
+                millis(n, () -> ma.parallelTranspose().get(0, 0)));
+    }
+
+    // The textbook i-j-k loop: the inner loop walks down a column of b, one cache line per element.
+    private static double[][] naiveMultiply(double[][] a, double[][] b) {
+        int n = a.length;
+        int m = b[0].length;
+        double[][] c = new double[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                double sum = 0;
+                for (int k = 0; k < b.length; k++) {
+                    sum += a[i][k] * b[k][j];
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+    private static int[][] naiveMultiply(int[][] a, int[][] b) {
+        int n = a.length;
+        int m = b[0].length;
+        int[][] c = new int[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                int sum = 0;
+                for (int k = 0; k < b.length; k++) {
+                    sum += a[i][k] * b[k][j];
+                }
+                c[i][j] = sum;
+            }
+        }
+        return c;
+    }
+
+    private static double[][] naiveTranspose(double[][] a) {
+        double[][] t = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static int[][] naiveTranspose(int[][] a) {
+        int[][] t = new int[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                t[j][i] = a[i][j];
+            }
+        }
+        return t;
+    }
+
+    private static void check(int n, String what, boolean ok) {
+        if (!ok) {
+            throw new AssertionError(what + " is wrong at n=" + n);
+        }
+    }
+
+    private static void report(int n, String type, double naive, double blocked, double parallel,
+                               double transpose, double blockedTranspose, double parallelTranspose) {
+        System.out.printf("%-6d %-7s %12s %12.2f %12.2f %14.3f %14.3f %14.3f%n", n, type,
+                naive < 0 ? "-" : String.format("%.2f", naive), blocked, parallel, transpose, blockedTranspose,
+                parallelTranspose);
+    }
+
+    private static int reps(int n) {
+        return (int) Math.max(1, OPS_PER_ROUND / (2.0 * n * n * n));
+    }
+
+    private static double gflops(int n, int reps, LongSupplier multiply) {
+        return 2.0 * n * n * n * reps / time(n, reps, multiply);
+    }
+
+    // Transpose is O(n^2), so it gets n-times more repetitions than multiply to stay measurable.
+    private static double millis(int n, LongSupplier transpose) {
+        int reps = Math.max(1, (int) Math.min(10_000, OPS_PER_ROUND / (20.0 * n * n)));
+        return time(n, reps, transpose) / reps / 1e6;
+    }
+
+    // Best of 3 rounds (1 at 4096) of `reps` runs, in ns.
+    private static long time(int n, int reps, LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < (n >= 4096 ? 1 : 3); round++) {
+            long t0 = System.nanoTime();
+            for (int r = 0; r < reps; r++) {
+                checksum += run.getAsLong();
+            }
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best;
+    }
+}
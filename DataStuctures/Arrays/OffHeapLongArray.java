@@ -0,0 +1,177 @@
+// A growable array of longs stored outside the Java heap, in direct ByteBuffers.
+// ✅ The GC never scans or copies the data, so multi-GB tables don't lengthen GC pauses
+// ✅ Stored in fixed-size chunks: growing adds a chunk instead of copying everything, and the
+//    size is not limited to one 2 GB buffer
+// ✅ close() frees the memory right away instead of waiting for the buffer to be collected
+// 🚫 Not thread-safe, and every access after close() throws
+//
+// Direct memory is capped by -XX:MaxDirectMemorySize (defaults to -Xmx).
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+public class OffHeapLongArray implements AutoCloseable {
+    private static final int MAX_CHUNK_SHIFT = 20; // 1M longs = 8 MB per chunk
+    private static final int MIN_CHUNK_SHIFT = 10;
+
+    private final int chunkShift;
+    private final long chunkMask;
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private long size;
+
+    public OffHeapLongArray() {
+        this(1 << MIN_CHUNK_SHIFT);
+    }
+
+    public OffHeapLongArray(long initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        // small arrays get small chunks, large ones stop at 8 MB chunks
+        int bits = 64 - Long.numberOfLeadingZeros(Math.max(initialCapacity - 1, 1));
+        this.chunkShift = Math.max(MIN_CHUNK_SHIFT, Math.min(MAX_CHUNK_SHIFT, bits));
+        this.chunkMask = (1L << chunkShift) - 1;
+        this.chunks = new ByteBuffer[8];
+        ensureCapacity(initialCapacity);
+    }
+
+    // An array of `length` zeros (direct buffers are zero-filled on allocation).
+    public static OffHeapLongArray ofLength(long length) {
+        OffHeapLongArray array = new OffHeapLongArray(length);
+        array.size = length;
+        return array;
+    }
+
+    public void add(long value) {
+        ensureCapacity(size + 1);
+        put(size++, value);
+    }
+
+    public long get(long index) {
+        checkIndex(index);
+        return chunks[(int) (index >>> chunkShift)].getLong((int) (index & chunkMask) << 3);
+    }
+
+    public void set(long index, long value) {
+        checkIndex(index);
+        put(index, value);
+    }
+
+    private void put(long index, long value) {
+        chunks[(int) (index >>> chunkShift)].putLong((int) (index & chunkMask) << 3, value);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long capacity() {
+        return (long) chunkCount << chunkShift;
+    }
+
+    public long offHeapBytes() {
+        return capacity() * Long.BYTES;
+    }
+
+    public void ensureCapacity(long minCapacity) {
+        checkOpen();
+        while (capacity() < minCapacity) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(Long.BYTES << chunkShift).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    // Drops whole chunks that are no longer needed by the current size.
+    public void trimToSize() {
+        checkOpen();
+        int needed = (int) ((size + chunkMask) >>> chunkShift);
+        while (chunkCount > needed) {
+            free(chunks[--chunkCount]);
+            chunks[chunkCount] = null;
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean isClosed() {
+        return chunks == null;
+    }
+
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            free(chunks[i]);
+        }
+        chunks = null;
+        chunkCount = 0;
+        size = 0;
+    }
+
+    private void checkIndex(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("array is closed");
+        }
+    }
+
+    // 🔹 Explicit release of direct memory via sun.misc.Unsafe.invokeCleaner (jdk.unsupported module).
+    // If that is unavailable the buffer is simply dropped and freed when the GC collects it.
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // fall back to GC-driven release
+        }
+    }
+
+    public static void main(String[] args) {
+        try (OffHeapLongArray numbers = new OffHeapLongArray()) {
+            for (long i = 1; i <= 5; i++) {
+                numbers.add(i * 1_000_000_000_000L);
+            }
+            System.out.println(numbers.get(4)); // 5000000000000
+            System.out.println(numbers.size() + " of " + numbers.capacity() + " slots, "
+                    + numbers.offHeapBytes() + " bytes off-heap");
+        }
+    }
+}
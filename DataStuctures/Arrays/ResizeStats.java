@@ -0,0 +1,49 @@
+// Resize counters shared by DynamicArray and SegmentedArray: how often the storage changed size and
+// how much data that moved. A snapshot; call stats() again for fresh numbers.
+// 🔹 bytesCopied() assumes 4-byte references (compressed oops, the JVM default below 32 GB of heap)
+
+public final class ResizeStats {
+    static final int REFERENCE_BYTES = 4;
+
+    private final long grows;
+    private final long shrinks;
+    private final long elementsCopied;
+    private final long peakCapacity;
+
+    ResizeStats(long grows, long shrinks, long elementsCopied, long peakCapacity) {
+        this.grows = grows;
+        this.shrinks = shrinks;
+        this.elementsCopied = elementsCopied;
+        this.peakCapacity = peakCapacity;
+    }
+
+    public long grows() {
+        return grows;
+    }
+
+    public long shrinks() {
+        return shrinks;
+    }
+
+    public long resizes() {
+        return grows + shrinks;
+    }
+
+    public long elementsCopied() {
+        return elementsCopied;
+    }
+
+    public long bytesCopied() {
+        return elementsCopied * REFERENCE_BYTES;
+    }
+
+    public long peakCapacity() {
+        return peakCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "grows=" + grows + ", shrinks=" + shrinks + ", elementsCopied=" + elementsCopied
+                + ", bytesCopied=" + bytesCopied() + ", peakCapacity=" + peakCapacity;
+    }
+}
@@ -0,0 +1,235 @@
+// A resizable array stored as segments of doubling size (16, 32, 64, ...): growing allocates one new
+// segment and never copies the elements already stored.
+// ✅ add() is O(1) worst case, not just amortized: no multi-megabyte copy pauses on large arrays
+// ✅ At most ~half the capacity unused, like doubling, but capacity never needs one contiguous block
+// ✅ Shrinks with hysteresis: a segment is released only once the one before it is empty too
+// ✅ get/set are O(1): the segment is the position of the highest bit of (index + 16)
+// 🚫 Slightly slower get/set than a flat array (an extra shift and indirection); add/remove in the
+//    middle are O(n) like any array
+//
+// Run (from DataStuctures/Arrays/):  javac -d out ResizeStats.java SegmentedArray.java
+//                                    java -cp out SegmentedArray
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+public class SegmentedArray<E> implements Iterable<E> {
+    private static final int FIRST_SHIFT = 4;
+    private static final int FIRST_SIZE = 1 << FIRST_SHIFT; // segment k holds FIRST_SIZE << k elements
+    private static final int MAX_SEGMENTS = 31 - FIRST_SHIFT - 1; // keeps the capacity within an int
+
+    private final Object[][] segments = new Object[MAX_SEGMENTS][];
+    private int segmentCount;
+    private int size;
+
+    private long grows;
+    private long shrinks;
+    private long peakCapacity;
+
+    // Element i lives at offset (i + 16) - 2^b of segment b - 4, where b is the highest set bit of i + 16.
+    private static int segmentOf(int index) {
+        return 31 - Integer.numberOfLeadingZeros(index + FIRST_SIZE) - FIRST_SHIFT;
+    }
+
+    private static int offsetOf(int index, int segment) {
+        return index + FIRST_SIZE - (FIRST_SIZE << segment);
+    }
+
+    private static int capacityOf(int segmentCount) {
+        return (FIRST_SIZE << segmentCount) - FIRST_SIZE;
+    }
+
+    public void add(E value) {
+        if (size == capacityOf(segmentCount)) {
+            if (segmentCount == MAX_SEGMENTS) {
+                throw new OutOfMemoryError("Required array size too large");
+            }
+            segments[segmentCount] = new Object[FIRST_SIZE << segmentCount];
+            segmentCount++;
+            grows++;
+            peakCapacity = Math.max(peakCapacity, capacityOf(segmentCount));
+        }
+        int segment = segmentOf(size);
+        segments[segment][offsetOf(size, segment)] = value;
+        size++;
+    }
+
+    public void add(int index, E value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        add(null);
+        for (int i = size - 1; i > index; i--) {
+            put(i, at(i - 1));
+        }
+        put(index, value);
+    }
+
+    public E get(int index) {
+        checkIndex(index);
+        return at(index);
+    }
+
+    public E set(int index, E value) {
+        checkIndex(index);
+        E old = at(index);
+        put(index, value);
+        return old;
+    }
+
+    public E removeAt(int index) {
+        checkIndex(index);
+        E old = at(index);
+        for (int i = index; i < size - 1; i++) {
+            put(i, at(i + 1));
+        }
+        put(size - 1, null);
+        size--;
+        maybeShrink();
+        return old;
+    }
+
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int segment = segmentOf(--size);
+        Object[] elements = segments[segment];
+        int offset = offsetOf(size, segment);
+        @SuppressWarnings("unchecked")
+        E old = (E) elements[offset];
+        elements[offset] = null;
+        if (offset == 0) {
+            maybeShrink(); // the last element left a segment: that may free the one after it
+        }
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (int s = 0; s < segmentCount; s++) {
+            segments[s] = null;
+        }
+        shrinks += segmentCount;
+        segmentCount = 0;
+        size = 0;
+    }
+
+    public int capacity() {
+        return capacityOf(segmentCount);
+    }
+
+    // Releases every segment past the one holding the last element.
+    public void trimToSize() {
+        int needed = size == 0 ? 0 : segmentOf(size - 1) + 1;
+        while (segmentCount > needed) {
+            segments[--segmentCount] = null;
+            shrinks++;
+        }
+    }
+
+    // Growing never copies, so elementsCopied is always 0.
+    public ResizeStats stats() {
+        return new ResizeStats(grows, shrinks, 0, peakCapacity);
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int remaining = size;
+        for (int s = 0; remaining > 0; s++) {
+            Object[] segment = segments[s];
+            int n = Math.min(remaining, segment.length);
+            for (int i = 0; i < n; i++) {
+                @SuppressWarnings("unchecked")
+                E e = (E) segment[i];
+                action.accept(e);
+            }
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public E next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return at(next++);
+            }
+        };
+    }
+
+    public Object[] toArray() {
+        Object[] out = new Object[size];
+        int copied = 0;
+        for (int s = 0; copied < size; s++) {
+            int n = Math.min(size - copied, segments[s].length);
+            System.arraycopy(segments[s], 0, out, copied, n);
+            copied += n;
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E at(int index) {
+        int segment = segmentOf(index);
+        return (E) segments[segment][offsetOf(index, segment)];
+    }
+
+    private void put(int index, Object value) {
+        int segment = segmentOf(index);
+        segments[segment][offsetOf(index, segment)] = value;
+    }
+
+    // Hysteresis: keep one empty segment as headroom and release the last one only once the segment
+    // before it is empty as well, so add/remove around a segment boundary can't allocate and free
+    // the same segment over and over.
+    private void maybeShrink() {
+        while (segmentCount >= 2 && size <= capacityOf(segmentCount - 2)) {
+            segments[--segmentCount] = null;
+            shrinks++;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    public static void main(String[] args) {
+        SegmentedArray<Integer> numbers = new SegmentedArray<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            numbers.add(i); // spike: 16 segment allocations, no copying
+        }
+        System.out.println(numbers.get(999_999) + " capacity " + numbers.capacity()); // Output: 999999 capacity 1048560
+        while (numbers.size() > 5) {
+            numbers.removeLast(); // drain
+        }
+        System.out.println(numbers + " capacity " + numbers.capacity()); // Output: [0, 1, 2, 3, 4] capacity 48
+        System.out.println(numbers.stats()); // Output: grows=16, shrinks=14, elementsCopied=0, bytesCopied=0, peakCapacity=1048560
+    }
+}
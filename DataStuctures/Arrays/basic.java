@@ -1,4 +1,7 @@
 // o(1) acces but fixed size
+// 🔹 Bulk math over int[] (sum, min/max, dot, prefix sum, filter): ArrayKernels (SIMD + fork-join)
+// 🔹 int[][] / double[][] matrices: IntMatrix / DoubleMatrix keep all rows in one flat array, with
+//    cache-blocked (and fork-join parallel) multiply and transpose
 
 public class basic{
   
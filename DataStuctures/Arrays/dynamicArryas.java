@@ -21,14 +21,15 @@
 // |------|-----------------|-------------|
 // | **Empty ArrayList** | **O(1)** | Takes a small constant space initially. |
 // | **ArrayList with `n` elements** | **O(n)** | Stores `n` elements in contiguous memory. |
-// | **Resizing (Doubling strategy)** | **O(n)** | When capacity is exceeded, a new array (double the size) is created, copying `n` elements. |
+// | **Resizing (1.5x strategy)** | **O(n)** | When capacity is exceeded, a new array (1.5x the size) is created, copying `n` elements. |
 
 // ### **Resizing Behavior**
-// Java's `ArrayList` **doubles** its capacity when it's full.  
+// Java's `ArrayList` grows its capacity by **1.5x** (`k + k/2`) when it's full.  
 // - If capacity is **`k`**, after `n` insertions, it resizes ⬇️  
 //   - Copies **old elements (`O(n)`)**  
-//   - New size **≈ `2k`**  
-//   - Overall, **O(n) amortized complexity** for insertions.
+//   - New size **≈ `1.5k`**  
+//   - Overall, **O(1) amortized complexity** per insertion.  
+// - It **never shrinks** on `remove`: after a spike, the peak capacity stays allocated until `trimToSize()`.
 
 // ---
 
@@ -41,6 +42,7 @@
 
 // 🔹 **Use `ArrayList` for fast lookups & dynamic storage.**  
 // 🔹 **Avoid inserting/deleting in the middle often.**
+// 🔹 **Spiky sizes:** `DynamicArray` (pluggable growth, auto-shrink, resize stats) or `SegmentedArray` (no copy on growth).
 
 public clsss dynamicArrays{
     public static void main (String[] args){
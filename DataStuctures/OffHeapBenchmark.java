@@ -0,0 +1,162 @@
+// GC pauses with a large lookup table on the heap vs off-heap (OffHeapLongArray, OffHeapLongLongMap).
+// Each scenario builds a table, then runs a churn phase that allocates short-lived garbage while
+// doing random lookups, like a service answering requests from a resident table. Every GC pause
+// is recorded through GarbageCollectionNotificationInfo, so the report shows count, total and max pause.
+//
+// Run (from DataStuctures/):
+//   javac -d out Arrays/LongArrayList.java Arrays/OffHeapLongArray.java hashmaps/OffHeapLongLongMap.java \
+//         OffHeapBenchmark.java
+//   java -Xmx12g -XX:MaxDirectMemorySize=12g -cp out OffHeapBenchmark heap-map 50000000
+//   java -Xmx12g -XX:MaxDirectMemorySize=12g -cp out OffHeapBenchmark offheap-map 50000000
+//   scenarios: heap-array, offheap-array, heap-map, offheap-map (no scenario = all, in one JVM)
+//   50M entries is ~4 GB for HashMap<Long, Long> and ~1.3 GB for the off-heap map.
+//   Run one scenario per JVM for clean numbers: a previous scenario's heap sizing carries over.
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OffHeapBenchmark {
+    private static final long CHURN_MILLIS = 10_000;
+
+    private static final AtomicLong pauses = new AtomicLong();
+    private static final AtomicLong pauseMillis = new AtomicLong();
+    private static final AtomicLong maxPauseMillis = new AtomicLong();
+
+    interface Table extends AutoCloseable {
+        long lookup(long key);
+
+        @Override
+        default void close() {
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        listenForPauses();
+        String[] scenarios = args.length == 0
+                ? new String[]{"heap-array", "offheap-array", "heap-map", "offheap-map"}
+                : new String[]{args[0]};
+        long n = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+
+        System.out.printf("%-14s %,d entries, %d s churn%n", "", n, CHURN_MILLIS / 1000);
+        System.out.printf("%-14s %9s %9s %9s %9s %9s %14s%n",
+                "scenario", "build ms", "GCs", "pause ms", "max ms", "Mops/s", "heap used");
+        for (String scenario : scenarios) {
+            run(scenario, n);
+        }
+    }
+
+    private static void run(String scenario, long n) {
+        System.gc();
+        resetPauses();
+        long t0 = System.nanoTime();
+        try (Table table = build(scenario, n)) {
+            long buildMillis = (System.nanoTime() - t0) / 1_000_000;
+            long buildPauses = pauses.get();
+            resetPauses();
+
+            long ops = 0;
+            long checksum = 0;
+            long start = System.nanoTime();
+            long deadline = start + CHURN_MILLIS * 1_000_000;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < 10_000; i++) {
+                    // per-request garbage: a small buffer and a string, as a request handler would make
+                    byte[] scratch = new byte[64 + (i & 255)];
+                    long key = random.nextLong(n);
+                    scratch[0] = (byte) key;
+                    checksum += table.lookup(key) + scratch.length + Long.toString(key).length();
+                }
+                ops += 10_000;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Runtime rt = Runtime.getRuntime();
+            System.out.printf("%-14s %9d %9d %9d %9d %9.1f %,14d   (build GCs %d, checksum %d)%n",
+                    scenario, buildMillis, pauses.get(), pauseMillis.get(), maxPauseMillis.get(),
+                    ops / seconds / 1e6, rt.totalMemory() - rt.freeMemory(), buildPauses, checksum);
+        }
+    }
+
+    private static Table build(String scenario, long n) {
+        switch (scenario) {
+            case "heap-array": {
+                LongArrayList list = new LongArrayList(Math.toIntExact(n));
+                for (long i = 0; i < n; i++) {
+                    list.add(i * 31);
+                }
+                return key -> list.get((int) key);
+            }
+            case "offheap-array": {
+                OffHeapLongArray array = new OffHeapLongArray(n);
+                for (long i = 0; i < n; i++) {
+                    array.add(i * 31);
+                }
+                return new Table() {
+                    public long lookup(long key) {
+                        return array.get(key);
+                    }
+
+                    public void close() {
+                        array.close();
+                    }
+                };
+            }
+            case "heap-map": {
+                Map<Long, Long> map = new HashMap<>();
+                for (long i = 0; i < n; i++) {
+                    map.put(i, i * 31);
+                }
+                return key -> map.get(key);
+            }
+            case "offheap-map": {
+                OffHeapLongLongMap map = new OffHeapLongLongMap(n);
+                for (long i = 0; i < n; i++) {
+                    map.put(i, i * 31);
+                }
+                return new Table() {
+                    public long lookup(long key) {
+                        return map.get(key);
+                    }
+
+                    public void close() {
+                        map.close();
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private static void listenForPauses() {
+        NotificationListener listener = (notification, handback) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long millis = info.getGcInfo().getDuration();
+            pauses.incrementAndGet();
+            pauseMillis.addAndGet(millis);
+            maxPauseMillis.accumulateAndGet(millis, Math::max);
+        };
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+        }
+    }
+
+    private static void resetPauses() {
+        pauses.set(0);
+        pauseMillis.set(0);
+        maxPauseMillis.set(0);
+    }
+}
@@ -0,0 +1,183 @@
+// Boxed JDK collections vs the primitive-specialized ones (IntArrayList, LongArrayList, IntHashSet, ObjectIntHashMap).
+// Reports build time, read time and retained heap per structure.
+// Heap is measured as the used-heap delta around each structure after System.gc(), which is coarse but
+// needs no agent; JOL's GraphLayout.parseInstance(x).totalSize() gives exact numbers if it is on the classpath.
+//
+// Run (from DataStuctures/):
+//   javac -d out Arrays/IntArrayList.java Arrays/LongArrayList.java Sets/IntHashSet.java \
+//         hashmaps/ObjectIntHashMap.java PrimitiveCollectionsBenchmark.java
+//   java -Xmx8g -cp out PrimitiveCollectionsBenchmark 1000000 10000000
+//   (100M elements needs roughly -Xmx24g for the boxed versions)
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+
+public class PrimitiveCollectionsBenchmark {
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[]{1_000_000, 10_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        for (int n : sizes) {
+            System.out.printf("%n== %,d elements%n", n);
+            System.out.printf("%-28s %10s %10s %14s %10s%n", "structure", "build ms", "read ms", "heap bytes", "B/elem");
+
+            run("ArrayList<Integer>", n, size -> {
+                List<Integer> list = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    list.add(i);
+                }
+                return list;
+            }, list -> {
+                long sum = 0;
+                for (int v : list) {
+                    sum += v;
+                }
+                return sum;
+            });
+            run("IntArrayList", n, size -> {
+                IntArrayList list = new IntArrayList();
+                for (int i = 0; i < size; i++) {
+                    list.add(i);
+                }
+                return list;
+            }, list -> {
+                long sum = 0;
+                for (int i = 0; i < list.size(); i++) {
+                    sum += list.get(i);
+                }
+                return sum;
+            });
+
+            run("ArrayList<Long>", n, size -> {
+                List<Long> list = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    list.add((long) i << 20);
+                }
+                return list;
+            }, list -> {
+                long sum = 0;
+                for (long v : list) {
+                    sum += v;
+                }
+                return sum;
+            });
+            run("LongArrayList", n, size -> {
+                LongArrayList list = new LongArrayList();
+                for (int i = 0; i < size; i++) {
+                    list.add((long) i << 20);
+                }
+                return list;
+            }, list -> {
+                long sum = 0;
+                for (int i = 0; i < list.size(); i++) {
+                    sum += list.get(i);
+                }
+                return sum;
+            });
+
+            run("HashSet<Integer>", n, size -> {
+                Set<Integer> set = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    set.add(scramble(i));
+                }
+                return set;
+            }, set -> {
+                long hits = 0;
+                for (int i = 0; i < n * 2; i++) {
+                    hits += set.contains(scramble(i)) ? 1 : 0;
+                }
+                return hits;
+            });
+            run("IntHashSet", n, size -> {
+                IntHashSet set = new IntHashSet();
+                for (int i = 0; i < size; i++) {
+                    set.add(scramble(i));
+                }
+                return set;
+            }, set -> {
+                long hits = 0;
+                for (int i = 0; i < n * 2; i++) {
+                    hits += set.contains(scramble(i)) ? 1 : 0;
+                }
+                return hits;
+            });
+
+            // keys are created once and shared, so only the map's own overhead is measured
+            int keyCount = Math.min(n, 10_000_000);
+            String[] keys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = "user" + scramble(i); // random-looking ids, not sequential hash codes
+            }
+            run("HashMap<String,Integer>", keyCount, size -> {
+                Map<String, Integer> map = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.merge(keys[i], 1, Integer::sum);
+                }
+                return map;
+            }, map -> {
+                long sum = 0;
+                for (String key : keys) {
+                    sum += map.get(key);
+                }
+                return sum;
+            });
+            run("ObjectIntHashMap<String>", keyCount, size -> {
+                ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.addTo(keys[i], 1);
+                }
+                return map;
+            }, map -> {
+                long sum = 0;
+                for (String key : keys) {
+                    sum += map.get(key);
+                }
+                return sum;
+            });
+        }
+    }
+
+    // Spreads keys so the hash sets don't see a sequential, cache-friendly pattern.
+    private static int scramble(int i) {
+        return i * 0x9E3779B1 ^ 0x5bd1e995;
+    }
+
+    private static <T> void run(String name, int n, IntFunction<T> build, ToLongFunction<T> read) {
+        long best = Long.MAX_VALUE;
+        long bestRead = Long.MAX_VALUE;
+        long heap = 0;
+        long checksum = 0;
+        for (int round = 0; round < 3; round++) {
+            long before = usedHeap();
+            long t0 = System.nanoTime();
+            T structure = build.apply(n);
+            long t1 = System.nanoTime();
+            checksum += read.applyAsLong(structure);
+            long t2 = System.nanoTime();
+            heap = usedHeap() - before;
+            best = Math.min(best, t1 - t0);
+            bestRead = Math.min(bestRead, t2 - t1);
+            if (System.identityHashCode(structure) == 42) {
+                System.out.print(""); // keep the structure reachable until after the heap measurement
+            }
+        }
+        System.out.printf("%-28s %10d %10d %,14d %10.1f   (checksum %d)%n", name, best / 1_000_000, bestRead / 1_000_000,
+                heap, (double) heap / n, checksum);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,195 @@
+// An open-addressing hash set of ints (HashSet<Integer> without boxing or nodes).
+// ✅ One int[] table with linear probing: ~8-16 bytes per element vs ~48 for HashSet<Integer>
+// ✅ O(1) add/contains/remove; removal shifts entries back instead of leaving tombstones
+// 🚫 Iteration order is unspecified (like HashSet)
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntHashSet {
+    private static final int EMPTY = 0; // 0 marks a free slot; the value 0 itself is tracked by hasZero
+    private static final float DEFAULT_LOAD_FACTOR = 0.6f;
+
+    private final float loadFactor;
+    private int[] table;
+    private int mask;
+    private int shift;
+    private int size; // entries in table (excluding zero)
+    private int resizeAt;
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntHashSet(int expectedSize, float loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size > resizeAt) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return hasZero;
+        }
+        int slot = slot(value);
+        int current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(int value) {
+        if (value == EMPTY) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // Backward-shift deletion: pull later entries of the probe chain into the hole.
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int current = table[slot];
+            if (current == EMPTY) {
+                break;
+            }
+            int home = slot(current);
+            // move it if its home slot is not cyclically within (hole, slot]
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                table[hole] = current;
+                hole = slot;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    public int size() {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        hasZero = false;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int value : table) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int[] i = {0};
+        forEach(v -> result[i[0]++] = v);
+        return result;
+    }
+
+    public int capacity() {
+        return table.length;
+    }
+
+    private int slot(int value) {
+        // Fibonacci hashing: the top bits of the product depend on every bit of the key
+        return (value * 0x9E3779B9) >>> shift;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] old = table;
+        allocate(newCapacity);
+        for (int value : old) {
+            if (value != EMPTY) {
+                int slot = slot(value);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        resizeAt = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    static int tableSizeFor(int expectedSize, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / (double) loadFactor);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many elements: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(v -> sb.append(sb.length() == 1 ? "" : ", ").append(v));
+        return sb.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        IntHashSet set = new IntHashSet();
+        set.add(10);
+        set.add(20);
+        set.add(10); // Duplicate, will not be added
+
+        System.out.println(set.size()); // Output: 2
+        System.out.println(set.contains(20)); // Output: true
+    }
+}
@@ -0,0 +1,221 @@
+// RoaringBitmap vs java.util.BitSet vs HashSet<Integer> over value ranges of 10M, 100M and 1B.
+// Two shapes per range:
+//   sparse    - 1% of the range, uniformly random (a second random set for and/or)
+//   clustered - 50% of the range as runs of 1,000 values every 2,000 (second set shifted by 500)
+// Reports build time, size, 1M random contains, and/or of the two sets (ms, best of 3) and, for
+// RoaringBitmap, the serialized size. Sizes are RoaringBitmap.sizeInBytes() and BitSet.size() / 8
+// (heap deltas are only accurate to a few MB); HashSet<Integer> is measured as retained heap and
+// skipped above 5M elements.
+//
+// Run (from DataStuctures/Sets/):
+//   javac -d out RoaringBitmap.java RoaringBenchmark.java
+//   java -Xmx3g -cp out RoaringBenchmark
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class RoaringBenchmark {
+    private static final int PROBES = 1_000_000;
+    private static final int HASH_SET_LIMIT = 5_000_000;
+    private static final int RUN = 1_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %-10s %-14s %9s %10s %9s %9s %9s %9s %11s%n", "range", "shape", "structure",
+                "build", "MB", "B/value", "contains", "and", "or", "serialized");
+        for (int range : new int[]{10_000_000, 100_000_000, 1_000_000_000}) {
+            Random random = new Random(range);
+            int[] probes = random.ints(PROBES, 0, range).toArray();
+            int[] a = random.ints(range / 100, 0, range).toArray();
+            int[] b = random.ints(range / 100, 0, range).toArray();
+            compare(range, "sparse", a, b, probes, false);
+            compare(range, "clustered", null, null, probes, true);
+            System.out.println();
+        }
+    }
+
+    private static void compare(int range, String shape, int[] a, int[] b, int[] probes, boolean clustered) {
+        long values = clustered ? range / 2 : a.length;
+
+        Supplier<RoaringBitmap> roaringA = () -> clustered ? roaringRuns(range, 0) : roaring(a);
+        RoaringBitmap ra = roaringA.get();
+        RoaringBitmap rb = clustered ? roaringRuns(range, RUN / 2) : roaring(b);
+        report(range, shape, "RoaringBitmap", values,
+                time(() -> roaringA.get().cardinality()),
+                ra.sizeInBytes(),
+                time(() -> {
+                    long hits = 0;
+                    for (int p : probes) {
+                        hits += ra.contains(p) ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> RoaringBitmap.and(ra, rb).cardinality()),
+                time(() -> RoaringBitmap.or(ra, rb).cardinality()),
+                ra.serializedSizeInBytes());
+        if (range == 100_000_000 && !clustered) {
+            verifyMapped(ra, probes);
+        }
+
+        Supplier<BitSet> bitSetA = () -> clustered ? bitSetRuns(range, 0) : bitSet(range, a);
+        BitSet ba = bitSetA.get();
+        BitSet bb = clustered ? bitSetRuns(range, RUN / 2) : bitSet(range, b);
+        report(range, shape, "BitSet", values,
+                time(() -> bitSetA.get().cardinality()),
+                ba.size() / 8,
+                time(() -> {
+                    long hits = 0;
+                    for (int p : probes) {
+                        hits += ba.get(p) ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> {
+                    BitSet and = (BitSet) ba.clone();
+                    and.and(bb);
+                    return and.cardinality();
+                }),
+                time(() -> {
+                    BitSet or = (BitSet) ba.clone();
+                    or.or(bb);
+                    return or.cardinality();
+                }),
+                -1);
+
+        if (values > HASH_SET_LIMIT) {
+            System.out.printf("%-10s %-10s %-14s %9s%n", label(range), shape, "HashSet", "(skipped)");
+            return;
+        }
+        Supplier<HashSet<Integer>> hashSetA = () -> clustered ? hashSetRuns(range, 0) : hashSet(a);
+        HashSet<Integer> ha = hashSetA.get();
+        HashSet<Integer> hb = clustered ? hashSetRuns(range, RUN / 2) : hashSet(b);
+        report(range, shape, "HashSet", values,
+                time(() -> hashSetA.get().size()),
+                bytes(hashSetA),
+                time(() -> {
+                    long hits = 0;
+                    for (int p : probes) {
+                        hits += ha.contains(p) ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> {
+                    HashSet<Integer> and = new HashSet<>(ha);
+                    and.retainAll(hb);
+                    return and.size();
+                }),
+                time(() -> {
+                    HashSet<Integer> or = new HashSet<>(ha);
+                    or.addAll(hb);
+                    return or.size();
+                }),
+                -1);
+    }
+
+    // The mapped view must answer exactly like the heap bitmap it was written from.
+    private static void verifyMapped(RoaringBitmap bitmap, int[] probes) {
+        ByteBuffer buf = ByteBuffer.allocateDirect(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buf);
+        buf.flip();
+        RoaringBitmap.Mapped mapped = RoaringBitmap.map(buf);
+        for (int p : probes) {
+            if (mapped.contains(p) != bitmap.contains(p)) {
+                throw new AssertionError("mapped view disagrees at " + p);
+            }
+        }
+    }
+
+    private static RoaringBitmap roaring(int[] values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int v : values) {
+            bitmap.add(v);
+        }
+        return bitmap.runOptimize();
+    }
+
+    private static RoaringBitmap roaringRuns(int range, int shift) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (long start = shift; start < range; start += 2 * RUN) {
+            bitmap.addRange(start, Math.min(range, start + RUN));
+        }
+        return bitmap.runOptimize();
+    }
+
+    private static BitSet bitSet(int range, int[] values) {
+        BitSet bits = new BitSet(range);
+        for (int v : values) {
+            bits.set(v);
+        }
+        return bits;
+    }
+
+    private static BitSet bitSetRuns(int range, int shift) {
+        BitSet bits = new BitSet(range);
+        for (int start = shift; start < range; start += 2 * RUN) {
+            bits.set(start, Math.min(range, start + RUN));
+        }
+        return bits;
+    }
+
+    private static HashSet<Integer> hashSet(int[] values) {
+        HashSet<Integer> set = new HashSet<>();
+        for (int v : values) {
+            set.add(v);
+        }
+        return set;
+    }
+
+    private static HashSet<Integer> hashSetRuns(int range, int shift) {
+        HashSet<Integer> set = new HashSet<>();
+        for (int start = shift; start < range; start += 2 * RUN) {
+            for (int v = start; v < Math.min(range, start + RUN); v++) {
+                set.add(v);
+            }
+        }
+        return set;
+    }
+
+    private static void report(int range, String shape, String name, long values, long build, long bytes,
+                               long contains, long and, long or, long serialized) {
+        System.out.printf("%-10s %-10s %-14s %9d %10.1f %9.2f %9d %9d %9d %11s%n", label(range), shape, name, build,
+                bytes / 1e6, (double) bytes / values, contains, and, or,
+                serialized < 0 ? "-" : String.format("%.1f MB", serialized / 1e6));
+    }
+
+    private static String label(int range) {
+        return range >= 1_000_000_000 ? range / 1_000_000_000 + "B" : range / 1_000_000 + "M";
+    }
+
+    private static long time(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best / 1_000_000;
+    }
+
+    // Heap with the structure minus heap once it is dropped: immune to garbage left by earlier runs.
+    private static long bytes(Supplier<?> build) {
+        Object[] holder = {build.get()};
+        long with = usedHeap();
+        holder[0] = null;
+        return with - usedHeap();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -11,4 +11,8 @@ System.out.println(set.contains(20)); // Output: true
 
 // A collection of unique elements (unordered).
 // ✅ O(1) insertion, deletion, and lookup
-// 🚫 No duplicate values
\ No newline at end of file
+// 🚫 No duplicate values
+// 🔹 Large sets of ints: RoaringBitmap (~2 bytes per value or less, fast and/or/andNot, mmap-able
+//    serialized form) instead of HashSet<Integer> at ~48 bytes per value
+// 🔹 Dedup or distinct counts over huge streams: sketches/BloomFilter ("seen before?", ~10 bits per key
+//    at 1% false positives) and sketches/HyperLogLog (distinct count in 16 KB, ±0.8%)
\ No newline at end of file
@@ -0,0 +1,208 @@
+// Throughput of ConcurrentLongHashMap vs ConcurrentHashMap<Long, V> vs Collections.synchronizedMap(HashMap)
+// from 1 to 16 threads on a map prefilled with half of a 1M-key universe, for two mixes:
+// "read-heavy": 90% get, 5% put, 5% remove; "write-heavy": 20% get, 40% put, 40% remove.
+// Every thread runs against one shared map for a fixed time; million operations per second, best of 3.
+// Then a bulk reduction (sum of keys over 1M entries), sequential vs parallel, in milliseconds.
+//
+// Run (from DataStuctures/hashmaps/):
+//   javac -d out ConcurrentLongHashMap.java ConcurrentHashMapBenchmark.java
+//   java -cp out ConcurrentHashMapBenchmark            (or: java -cp out ConcurrentHashMapBenchmark 1 4 16)
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class ConcurrentHashMapBenchmark {
+    private static final long RUN_MILLIS = 1_000;
+    private static final int UNIVERSE = 1 << 20;
+    private static final Object VALUE = new Object();
+
+    // The operations one benchmark thread performs.
+    interface SharedMap {
+        boolean get(long key);
+
+        void put(long key);
+
+        void remove(long key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] threadCounts = args.length == 0 ? new int[]{1, 2, 4, 8, 16} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            threadCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int readPercent : new int[]{90, 20}) {
+            System.out.printf("%-28s", (readPercent == 90 ? "read-heavy" : "write-heavy") + " Mops/s  threads:");
+            for (int threads : threadCounts) {
+                System.out.printf("%9d", threads);
+            }
+            System.out.println();
+
+            row("ConcurrentLongHashMap", threadCounts, readPercent, () -> {
+                ConcurrentLongHashMap<Object> map = new ConcurrentLongHashMap<>();
+                return new SharedMap() {
+                    public boolean get(long key) {
+                        return map.get(key) != null;
+                    }
+
+                    public void put(long key) {
+                        map.put(key, VALUE);
+                    }
+
+                    public void remove(long key) {
+                        map.remove(key);
+                    }
+                };
+            });
+            row("ConcurrentHashMap", threadCounts, readPercent, () -> adapt(new ConcurrentHashMap<>()));
+            row("synchronizedMap(HashMap)", threadCounts, readPercent,
+                    () -> adapt(Collections.synchronizedMap(new HashMap<>())));
+            System.out.println();
+        }
+
+        bulk();
+    }
+
+    private static SharedMap adapt(Map<Long, Object> map) {
+        return new SharedMap() {
+            public boolean get(long key) {
+                return map.get(key) != null;
+            }
+
+            public void put(long key) {
+                map.put(key, VALUE);
+            }
+
+            public void remove(long key) {
+                map.remove(key);
+            }
+        };
+    }
+
+    private static void row(String name, int[] threadCounts, int readPercent, Supplier<SharedMap> factory)
+            throws InterruptedException {
+        System.out.printf("%-28s", name);
+        for (int threads : threadCounts) {
+            double best = 0;
+            for (int round = 0; round < 3; round++) {
+                best = Math.max(best, measure(factory.get(), threads, readPercent));
+            }
+            System.out.printf("%9.2f", best);
+        }
+        System.out.println();
+    }
+
+    private static double measure(SharedMap map, int threads, int readPercent) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < UNIVERSE / 2; i++) {
+            map.put(random.nextInt(UNIVERSE));
+        }
+        int putPercent = (100 - readPercent) / 2;
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        LongAdder hits = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long local = 0;
+                long found = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 256; i++) {
+                        long key = rnd.nextInt(UNIVERSE);
+                        int op = rnd.nextInt(100);
+                        if (op < readPercent) {
+                            found += map.get(key) ? 1 : 0;
+                        } else if (op < readPercent + putPercent) {
+                            map.put(key);
+                        } else {
+                            map.remove(key);
+                        }
+                    }
+                    local += 256;
+                }
+                ops.add(local);
+                hits.add(found);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        ready.await();
+        long t0 = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        if (hits.sum() == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return ops.sum() / seconds / 1e6;
+    }
+
+    private static void bulk() {
+        int n = 1_000_000;
+        ConcurrentLongHashMap<Object> primitive = new ConcurrentLongHashMap<>(n, 64);
+        ConcurrentHashMap<Long, Object> boxed = new ConcurrentHashMap<>(n);
+        Map<Long, Object> synced = Collections.synchronizedMap(new HashMap<>(n));
+        for (long k = 0; k < n; k++) {
+            primitive.put(k, VALUE);
+            boxed.put(k, VALUE);
+            synced.put(k, VALUE);
+        }
+        System.out.printf("sum of keys over %,d entries (ms, best of 5; common pool parallelism %d)%n", n,
+                ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("%-44s %6d%n", "ConcurrentLongHashMap.reduceToLong sequential",
+                time(() -> primitive.reduceToLong(Long.MAX_VALUE, (k, v) -> k, 0, Long::sum)));
+        System.out.printf("%-44s %6d%n", "ConcurrentLongHashMap.reduceToLong parallel",
+                time(() -> primitive.reduceToLong(1, (k, v) -> k, 0, Long::sum)));
+        System.out.printf("%-44s %6d%n", "ConcurrentHashMap.reduceToLong sequential",
+                time(() -> boxed.reduceToLong(Long.MAX_VALUE, (k, v) -> k, 0, Long::sum)));
+        System.out.printf("%-44s %6d%n", "ConcurrentHashMap.reduceToLong parallel",
+                time(() -> boxed.reduceToLong(1, (k, v) -> k, 0, Long::sum)));
+        System.out.printf("%-44s %6d%n", "synchronizedMap keySet loop (holding lock)", time(() -> {
+            long sum = 0;
+            synchronized (synced) {
+                for (long k : synced.keySet()) {
+                    sum += k;
+                }
+            }
+            return sum;
+        }));
+    }
+
+    private static long time(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best / 1_000_000;
+    }
+}
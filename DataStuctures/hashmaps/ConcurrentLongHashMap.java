@@ -0,0 +1,556 @@
+// A concurrent open-addressing map from primitive long keys to values (ConcurrentHashMap<Long, V>
+// without boxed keys or per-entry nodes).
+// ✅ Striped: keys hash to one of N segments, each a linear-probing table behind its own StampedLock,
+//    so writers to different segments never contend
+// ✅ get/containsKey take no lock on the fast path: an optimistic read, validated afterwards
+// ✅ Parallel bulk operations in the style of ConcurrentHashMap: forEach/reduce/reduceToLong/search
+//    with a parallelism threshold, split by segment over the common ForkJoinPool
+// 🚫 null values are not allowed (null means "absent"); bulk operations are weakly consistent across
+//    segments (each segment is read at one point in time)
+//
+// Run (from DataStuctures/hashmaps/):  javac -d out ConcurrentLongHashMap.java
+//                                      java -cp out ConcurrentLongHashMap
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+
+public class ConcurrentLongHashMap<V> {
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public interface EntryFunction<V, R> {
+        R apply(long key, V value);
+    }
+
+    public interface EntryToLongFunction<V> {
+        long applyAsLong(long key, V value);
+    }
+
+    // One probe table; keys and values are swapped together on resize, so readers see a matching pair.
+    private static final class Table {
+        final long[] keys;
+        final Object[] values; // null marks a free slot, so every long (including 0) is a valid key
+        final int shift;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        }
+    }
+
+    private static final class Segment extends StampedLock {
+        private static final long serialVersionUID = 1L;
+
+        Table table;
+        volatile int size;
+        int resizeAt;
+
+        Segment(int capacity) {
+            table = new Table(capacity);
+            resizeAt = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final int segmentBits;
+
+    public ConcurrentLongHashMap() {
+        this(16, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public ConcurrentLongHashMap(int expectedSize, int concurrencyLevel) {
+        if (expectedSize < 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("expectedSize=" + expectedSize + ", concurrencyLevel=" + concurrencyLevel);
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        long perSegment = (long) Math.ceil(expectedSize / (double) segmentCount / LOAD_FACTOR);
+        int capacity = (int) Math.min(MAX_SEGMENT_CAPACITY,
+                Math.max(MIN_SEGMENT_CAPACITY, Long.highestOneBit(Math.max(1, perSegment - 1)) << 1));
+        this.segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+        this.segmentShift = 64 - segmentBits;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    // Fibonacci hashing: the top bits pick the segment, the bits below them pick the slot.
+    private static long hash(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[segmentBits == 0 ? 0 : (int) (hash >>> segmentShift)];
+    }
+
+    private int slot(long hash, Table table) {
+        return (int) ((hash << segmentBits) >>> table.shift);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        long stamp = segment.tryOptimisticRead();
+        if (stamp != 0) {
+            Object value = find(segment.table, h, key);
+            if (segment.validate(stamp)) {
+                return (V) value;
+            }
+        }
+        stamp = segment.readLock();
+        try {
+            return (V) find(segment.table, h, key);
+        } finally {
+            segment.unlockRead(stamp);
+        }
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    // Safe on a table that is being written: indexes are masked and the probe is bounded, and the
+    // caller throws the result away unless its stamp validates.
+    private Object find(Table table, long h, long key) {
+        long[] keys = table.keys;
+        Object[] values = table.values;
+        int mask = keys.length - 1;
+        int i = slot(h, table) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public V put(long key, V value) {
+        return doPut(key, value, false);
+    }
+
+    public V putIfAbsent(long key, V value) {
+        return doPut(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V doPut(long key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value, "value");
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        long stamp = segment.writeLock();
+        try {
+            Table table = segment.table;
+            int i = findSlot(table, h, key);
+            Object old = table.values[i];
+            if (old == null) {
+                insertAt(segment, i, key, value);
+            } else if (!onlyIfAbsent) {
+                table.values[i] = value;
+            }
+            return (V) old;
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    // The mapping function runs under the segment's write lock: keep it short and don't touch this map.
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        V present = get(key);
+        if (present != null) {
+            return present;
+        }
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        long stamp = segment.writeLock();
+        try {
+            Table table = segment.table;
+            int i = findSlot(table, h, key);
+            Object old = table.values[i];
+            if (old != null) {
+                return (V) old;
+            }
+            V value = mappingFunction.apply(key);
+            if (value != null) {
+                insertAt(segment, i, key, value);
+            }
+            return value;
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    // As Map.merge: stores value if absent, else remapping(old, value); a null result removes the key.
+    @SuppressWarnings("unchecked")
+    public V merge(long key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        Objects.requireNonNull(value, "value");
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        long stamp = segment.writeLock();
+        try {
+            Table table = segment.table;
+            int i = findSlot(table, h, key);
+            Object old = table.values[i];
+            if (old == null) {
+                insertAt(segment, i, key, value);
+                return value;
+            }
+            V merged = remapping.apply((V) old, value);
+            if (merged == null) {
+                removeAt(segment, table, i);
+            } else {
+                table.values[i] = merged;
+            }
+            return merged;
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        long stamp = segment.writeLock();
+        try {
+            Table table = segment.table;
+            int i = findSlot(table, h, key);
+            Object old = table.values[i];
+            if (old != null) {
+                removeAt(segment, table, i);
+            }
+            return (V) old;
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    // Sum of the segment sizes; exact only when no writes are in flight.
+    public int size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.size;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    public boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            long stamp = segment.writeLock();
+            try {
+                Arrays.fill(segment.table.values, null);
+                segment.size = 0;
+            } finally {
+                segment.unlockWrite(stamp);
+            }
+        }
+    }
+
+    public int segments() {
+        return segments.length;
+    }
+
+    // Index of the key's slot, or of the free slot where it would go. Caller holds the write lock.
+    private int findSlot(Table table, long h, long key) {
+        int mask = table.keys.length - 1;
+        int i = slot(h, table);
+        while (table.values[i] != null && table.keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insertAt(Segment segment, int i, long key, Object value) {
+        Table table = segment.table;
+        table.keys[i] = key;
+        table.values[i] = value;
+        if (++segment.size > segment.resizeAt) {
+            rehash(segment, table.keys.length * 2);
+        }
+    }
+
+    // Backward-shift deletion: no tombstones, so probe sequences stay short under heavy churn.
+    private void removeAt(Segment segment, Table table, int i) {
+        long[] keys = table.keys;
+        Object[] values = table.values;
+        int mask = keys.length - 1;
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                break;
+            }
+            int home = slot(hash(keys[j]), table);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        segment.size--;
+    }
+
+    private void rehash(Segment segment, int newCapacity) {
+        if (newCapacity > MAX_SEGMENT_CAPACITY) {
+            throw new IllegalStateException("Segment full: " + segment.size + " entries");
+        }
+        Table old = segment.table;
+        Table table = new Table(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.values[i] != null) {
+                long key = old.keys[i];
+                int j = slot(hash(key), table);
+                while (table.values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                table.keys[j] = key;
+                table.values[j] = old.values[i];
+            }
+        }
+        segment.table = table;
+        segment.resizeAt = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    // ---- bulk operations ----
+    // parallelismThreshold works as in ConcurrentHashMap: below that many entries the operation runs
+    // in the calling thread; Long.MAX_VALUE forces sequential, 1 allows maximal parallelism.
+    // Each segment is copied under its read lock and processed after unlocking, so callbacks may
+    // read and write this map.
+
+    public void forEach(long parallelismThreshold, EntryConsumer<? super V> action) {
+        Objects.requireNonNull(action);
+        bulk(parallelismThreshold, (SegmentVisitor<Void>) (keys, values, n) -> {
+            for (int i = 0; i < n; i++) {
+                action.accept(keys[i], cast(values[i]));
+            }
+            return null;
+        });
+    }
+
+    // Reduces transformer(key, value) over all entries whose transform is non-null; null if none.
+    public <U> U reduce(long parallelismThreshold, EntryFunction<? super V, ? extends U> transformer,
+                        BiFunction<? super U, ? super U, ? extends U> reducer) {
+        Objects.requireNonNull(transformer);
+        Objects.requireNonNull(reducer);
+        return bulk(parallelismThreshold, new SegmentVisitor<U>() {
+            @Override
+            public U visit(long[] keys, Object[] values, int n) {
+                U result = null;
+                for (int i = 0; i < n; i++) {
+                    U u = transformer.apply(keys[i], cast(values[i]));
+                    if (u != null) {
+                        result = result == null ? u : reducer.apply(result, u);
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public U combine(U left, U right) {
+                return left == null ? right : right == null ? left : reducer.apply(left, right);
+            }
+        });
+    }
+
+    // basis is the reducer's identity (0 for sum, Long.MIN_VALUE for max): every segment starts from it.
+    public long reduceToLong(long parallelismThreshold, EntryToLongFunction<? super V> transformer, long basis,
+                             LongBinaryOperator reducer) {
+        Objects.requireNonNull(transformer);
+        Objects.requireNonNull(reducer);
+        Long result = bulk(parallelismThreshold, new SegmentVisitor<Long>() {
+            @Override
+            public Long visit(long[] keys, Object[] values, int n) {
+                long r = basis;
+                for (int i = 0; i < n; i++) {
+                    r = reducer.applyAsLong(r, transformer.applyAsLong(keys[i], cast(values[i])));
+                }
+                return r;
+            }
+
+            @Override
+            public Long combine(Long left, Long right) {
+                return left == null ? right : right == null ? left : reducer.applyAsLong(left, right);
+            }
+        });
+        return result == null ? basis : result;
+    }
+
+    // Returns a non-null result of searchFunction for some entry, or null; stops all workers once found.
+    public <U> U search(long parallelismThreshold, EntryFunction<? super V, ? extends U> searchFunction) {
+        Objects.requireNonNull(searchFunction);
+        AtomicReference<U> found = new AtomicReference<>();
+        bulk(parallelismThreshold, new SegmentVisitor<Void>() {
+            @Override
+            public Void visit(long[] keys, Object[] values, int n) {
+                for (int i = 0; i < n && found.get() == null; i++) {
+                    U u = searchFunction.apply(keys[i], cast(values[i]));
+                    if (u != null) {
+                        found.compareAndSet(null, u);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean cancelled() {
+                return found.get() != null;
+            }
+        });
+        return found.get();
+    }
+
+    // Below the threshold the whole walk runs in the calling thread and never touches the pool.
+    private <R> R bulk(long parallelismThreshold, SegmentVisitor<R> visitor) {
+        int batch = batchFor(parallelismThreshold);
+        BulkTask<R> task = new BulkTask<>(segments, visitor, batch, 0, segments.length);
+        return batch <= 1 ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    // Number of leaf tasks to split the segments into: 1 (sequential) below the threshold.
+    private int batchFor(long parallelismThreshold) {
+        long n = size();
+        if (parallelismThreshold == Long.MAX_VALUE || n < parallelismThreshold || segments.length == 1) {
+            return 1;
+        }
+        int parallelism = ForkJoinPool.getCommonPoolParallelism() * 4;
+        long byThreshold = parallelismThreshold <= 1 ? Long.MAX_VALUE : n / parallelismThreshold;
+        return (int) Math.max(1, Math.min(Math.min(parallelism, byThreshold), segments.length));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    // The per-segment work of a bulk operation, and how the results of two halves combine.
+    private interface SegmentVisitor<R> {
+        R visit(long[] keys, Object[] values, int n);
+
+        default R combine(R left, R right) {
+            return null;
+        }
+
+        default boolean cancelled() {
+            return false;
+        }
+    }
+
+    // Splits [lo, hi) of the segments in halves until there are `batch` leaves; each leaf walks its
+    // segments one at a time from a private copy.
+    private static final class BulkTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Segment[] segments;
+        private final SegmentVisitor<R> visitor;
+        private final int batch;
+        private final int lo;
+        private final int hi;
+
+        BulkTask(Segment[] segments, SegmentVisitor<R> visitor, int batch, int lo, int hi) {
+            this.segments = segments;
+            this.visitor = visitor;
+            this.batch = batch;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected R compute() {
+            if (batch > 1 && hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                BulkTask<R> right = new BulkTask<>(segments, visitor, batch - batch / 2, mid, hi);
+                right.fork();
+                R left = new BulkTask<>(segments, visitor, batch / 2, lo, mid).compute();
+                return visitor.combine(left, right.join());
+            }
+            long[] keys = new long[0];
+            Object[] values = new Object[0];
+            R result = null;
+            for (int s = lo; s < hi && !visitor.cancelled(); s++) {
+                Segment segment = segments[s];
+                int n;
+                long stamp = segment.readLock();
+                try {
+                    Table table = segment.table;
+                    if (keys.length < segment.size) {
+                        keys = new long[segment.size];
+                        values = new Object[segment.size];
+                    }
+                    n = 0;
+                    for (int i = 0; i < table.keys.length; i++) {
+                        Object value = table.values[i];
+                        if (value != null) {
+                            keys[n] = table.keys[i];
+                            values[n++] = value;
+                        }
+                    }
+                } finally {
+                    segment.unlockRead(stamp);
+                }
+                R r = visitor.visit(keys, values, n);
+                result = s == lo ? r : visitor.combine(result, r);
+            }
+            return result;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentLongHashMap<String> sessions = new ConcurrentLongHashMap<>();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int id = t;
+            writers[t] = new Thread(() -> {
+                for (long userId = id; userId < 10_000; userId += writers.length) {
+                    sessions.put(userId, "session-" + userId);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        System.out.println(sessions.size()); // Output: 10000
+        System.out.println(sessions.get(42)); // Output: session-42
+        System.out.println(sessions.reduceToLong(1_000, (k, v) -> k, 0, Long::sum)); // Output: 49995000
+        String last = sessions.search(1_000, (k, v) -> k == 9_999 ? v : null);
+        System.out.println(last); // Output: session-9999
+    }
+}
@@ -0,0 +1,197 @@
+// An open-addressing map from objects to ints (HashMap<String, Integer> without boxed values or entry nodes).
+// ✅ Parallel K[] / int[] arrays with linear probing: no Map.Entry or Integer per mapping
+// ✅ addTo(key, delta) for counting without get/put round trips
+// ✅ O(1) put/get/remove; removal shifts entries back instead of leaving tombstones
+// 🚫 null keys are not allowed; get() returns a configurable "no entry" value instead of null
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+
+public class ObjectIntHashMap<K> {
+    private static final float DEFAULT_LOAD_FACTOR = 0.6f;
+
+    private final float loadFactor;
+    private final int noEntryValue;
+    private K[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeAt;
+
+    public ObjectIntHashMap() {
+        this(16);
+    }
+
+    public ObjectIntHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    public ObjectIntHashMap(int expectedSize, float loadFactor, int noEntryValue) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.noEntryValue = noEntryValue;
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / (double) loadFactor);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many entries: " + expectedSize);
+        }
+        allocate(Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    // Returns the previous value, or the no-entry value if the key was absent.
+    public int put(K key, int value) {
+        int slot = findSlot(key);
+        if (keys[slot] != null) {
+            int old = values[slot];
+            values[slot] = value;
+            return old;
+        }
+        insertAt(slot, key, value);
+        return noEntryValue;
+    }
+
+    // Adds delta to the current value (starting from 0 for new keys) and returns the new value.
+    public int addTo(K key, int delta) {
+        int slot = findSlot(key);
+        if (keys[slot] != null) {
+            return values[slot] += delta;
+        }
+        insertAt(slot, key, delta);
+        return delta;
+    }
+
+    public int get(K key) {
+        int slot = findSlot(key);
+        return keys[slot] != null ? values[slot] : noEntryValue;
+    }
+
+    public int getOrDefault(K key, int defaultValue) {
+        int slot = findSlot(key);
+        return keys[slot] != null ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(K key) {
+        return keys[findSlot(key)] != null;
+    }
+
+    public int remove(K key) {
+        int slot = findSlot(key);
+        if (keys[slot] == null) {
+            return noEntryValue;
+        }
+        int old = values[slot];
+        shiftBack(slot);
+        size--;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int noEntryValue() {
+        return noEntryValue;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    public void forEach(ObjIntConsumer<? super K> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    // Slot holding the key, or the empty slot where it would go.
+    private int findSlot(K key) {
+        Objects.requireNonNull(key, "key");
+        int slot = slot(key);
+        K current;
+        while ((current = keys[slot]) != null && !current.equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insertAt(int slot, K key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            K current = keys[slot];
+            if (current == null) {
+                break;
+            }
+            int home = slot(current);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = current;
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = null;
+    }
+
+    private int slot(Object key) {
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+
+    private void rehash(int newCapacity) {
+        K[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = (K[]) new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        resizeAt = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() == 1 ? "" : ", ").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
+        map.put("Alice", 25);
+        map.put("Bob", 30);
+
+        System.out.println(map.get("Alice")); // Output: 25
+        System.out.println(map.containsKey("Bob")); // Output: true
+    }
+}
@@ -0,0 +1,198 @@
+// An open-addressing long -> long hash map stored off-heap (a HashMap<Long, Long> the GC never sees).
+// ✅ Keys and values live in two OffHeapLongArray tables: 16 bytes per slot, no objects per entry
+// ✅ Resizes by rehashing into new off-heap tables and freeing the old ones immediately
+// ✅ Explicit lifecycle: close() releases all memory
+// 🚫 Fixed-width long keys and values only; not thread-safe
+//
+// Run (from DataStuctures/):  javac -d out Arrays/OffHeapLongArray.java hashmaps/OffHeapLongLongMap.java
+//                             java -cp out OffHeapLongLongMap
+
+public class OffHeapLongLongMap implements AutoCloseable {
+    private static final long EMPTY = 0; // 0 marks a free slot; key 0 itself is kept in zeroValue
+    private static final float LOAD_FACTOR = 0.6f;
+
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private final long noEntryValue;
+    private OffHeapLongArray keys;
+    private OffHeapLongArray values;
+    private long mask;
+    private int shift;
+    private long size;
+    private long resizeAt;
+    private boolean hasZero;
+    private long zeroValue;
+
+    public OffHeapLongLongMap(long expectedSize) {
+        this(expectedSize, 0);
+    }
+
+    public OffHeapLongLongMap(long expectedSize, long noEntryValue) {
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public long put(long key, long value) {
+        if (key == EMPTY) {
+            long old = hasZero ? zeroValue : noEntryValue;
+            hasZero = true;
+            zeroValue = value;
+            return old;
+        }
+        long slot = findSlot(key);
+        if (keys.get(slot) == key) {
+            long old = values.get(slot);
+            values.set(slot, value);
+            return old;
+        }
+        keys.set(slot, key);
+        values.set(slot, value);
+        if (++size > resizeAt) {
+            rehash(capacity() * 2);
+        }
+        return noEntryValue;
+    }
+
+    public long get(long key) {
+        if (key == EMPTY) {
+            return hasZero ? zeroValue : noEntryValue;
+        }
+        long slot = findSlot(key);
+        return keys.get(slot) == key ? values.get(slot) : noEntryValue;
+    }
+
+    public boolean containsKey(long key) {
+        return key == EMPTY ? hasZero : keys.get(findSlot(key)) == key;
+    }
+
+    public long remove(long key) {
+        if (key == EMPTY) {
+            long old = hasZero ? zeroValue : noEntryValue;
+            hasZero = false;
+            return old;
+        }
+        long slot = findSlot(key);
+        if (keys.get(slot) != key) {
+            return noEntryValue;
+        }
+        long old = values.get(slot);
+        shiftBack(slot);
+        size--;
+        return old;
+    }
+
+    public long size() {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    public long capacity() {
+        return mask + 1;
+    }
+
+    public long offHeapBytes() {
+        return keys.offHeapBytes() + values.offHeapBytes();
+    }
+
+    public void forEach(EntryConsumer action) {
+        if (hasZero) {
+            action.accept(0, zeroValue);
+        }
+        for (long i = 0; i <= mask; i++) {
+            long key = keys.get(i);
+            if (key != EMPTY) {
+                action.accept(key, values.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (keys != null) {
+            keys.close();
+            values.close();
+            keys = null;
+            values = null;
+        }
+    }
+
+    // Slot holding the key, or the empty slot where it would go.
+    private long findSlot(long key) {
+        if (keys == null) {
+            throw new IllegalStateException("map is closed");
+        }
+        long slot = slot(key);
+        long current;
+        while ((current = keys.get(slot)) != EMPTY && current != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void shiftBack(long hole) {
+        long slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long current = keys.get(slot);
+            if (current == EMPTY) {
+                break;
+            }
+            long home = slot(current);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys.set(hole, current);
+                values.set(hole, values.get(slot));
+                hole = slot;
+            }
+        }
+        keys.set(hole, EMPTY);
+    }
+
+    private long slot(long key) {
+        return (key * 0x9E3779B97F4A7C15L) >>> shift;
+    }
+
+    private void rehash(long newCapacity) {
+        OffHeapLongArray oldKeys = keys;
+        OffHeapLongArray oldValues = values;
+        long oldCapacity = capacity();
+        allocate(newCapacity);
+        for (long i = 0; i < oldCapacity; i++) {
+            long key = oldKeys.get(i);
+            if (key != EMPTY) {
+                long slot = slot(key);
+                while (keys.get(slot) != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys.set(slot, key);
+                values.set(slot, oldValues.get(i));
+            }
+        }
+        oldKeys.close();
+        oldValues.close();
+    }
+
+    private void allocate(long capacity) {
+        keys = OffHeapLongArray.ofLength(capacity);
+        values = OffHeapLongArray.ofLength(capacity);
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(capacity) + 1;
+        resizeAt = Math.min(capacity - 1, (long) (capacity * (double) LOAD_FACTOR));
+    }
+
+    private static long tableSizeFor(long expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 2) / (double) LOAD_FACTOR);
+        return Long.highestOneBit(needed - 1) << 1;
+    }
+
+    public static void main(String[] args) {
+        try (OffHeapLongLongMap map = new OffHeapLongLongMap(16)) {
+            map.put(25L, 2500L);
+            map.put(30L, 3000L);
+
+            System.out.println(map.get(25L)); // Output: 2500
+            System.out.println(map.containsKey(30L)); // Output: true
+            System.out.println(map.offHeapBytes() + " bytes off-heap");
+        }
+    }
+}
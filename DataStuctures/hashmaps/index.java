@@ -12,3 +12,7 @@ System.out.println(map.containsKey("Bob")); // Output: true
 // A fast key-value data structure for mapping unique keys to values.
 // ✅ O(1) lookup, insertion, and deletion
 // 🚫 Unordered storage
+// 🔹 Shared between threads with long keys: ConcurrentLongHashMap (striped open addressing,
+//    lock-free reads, parallel forEach/reduce/search) instead of Collections.synchronizedMap
+// 🔹 Per-key counts over huge streams: sketches/CountMinSketch (fixed memory, never undercounts,
+//    off by at most epsilon * total) instead of HashMap<K, Long>
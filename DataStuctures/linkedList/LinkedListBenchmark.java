@@ -0,0 +1,130 @@
+// UnrolledLinkedList vs java.util.LinkedList vs ArrayList: building, traversal, middle inserts and memory.
+//  - addLast n / addFirst n (ArrayList.add(0, e) is O(n), so its addFirst run uses n / 20 elements)
+//  - traversal: iterator loop and forEach, summing the elements
+//  - iterator inserts: walk the list with a ListIterator and add an element after every 8th one
+//    (ArrayList shifts the tail on every add, so its run uses n / 20 elements)
+//
+// Run (from DataStuctures/linkedList/):
+//   javac -d out UnrolledLinkedList.java LinkedListBenchmark.java
+//   java -Xmx4g -cp out LinkedListBenchmark [n]
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class LinkedListBenchmark {
+    private static final Integer[] VALUES = new Integer[1024]; // shared boxes, so only list memory is measured
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = i;
+        }
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        System.out.printf("%,d elements (ms, best of 5)%n", n);
+        System.out.printf("%-22s %9s %9s %9s %9s %11s %9s%n",
+                "list", "addLast", "addFirst", "iterate", "forEach", "iter. add", "B/elem");
+
+        row("LinkedList", n, n, n, LinkedList::new);
+        row("ArrayList", n, n / 20, n / 20, ArrayList::new);
+        row("UnrolledLinkedList", n, n, n, UnrolledLinkedList::new);
+    }
+
+    private static void row(String name, int n, int addFirstN, int insertN, Supplier<List<Integer>> factory) {
+        long addLast = best(() -> {
+            List<Integer> list = factory.get();
+            for (int i = 0; i < n; i++) {
+                list.add(VALUES[i & 1023]);
+            }
+            return list.size();
+        });
+        long addFirst = best(() -> {
+            List<Integer> list = factory.get();
+            for (int i = 0; i < addFirstN; i++) {
+                list.add(0, VALUES[i & 1023]);
+            }
+            return list.size();
+        });
+
+        List<Integer> filled = build(factory, n);
+        long iterate = best(() -> {
+            long sum = 0;
+            for (Integer v : filled) {
+                sum += v;
+            }
+            return sum;
+        });
+        long forEach = best(() -> {
+            long[] sum = {0};
+            filled.forEach(v -> sum[0] += v);
+            return sum[0];
+        });
+        long bytes = retainedBytes(size -> build(factory, size), n);
+
+        long inserts = best(() -> {
+            List<Integer> list = build(factory, insertN);
+            ListIterator<Integer> it = list.listIterator();
+            int i = 0;
+            while (it.hasNext()) {
+                it.next();
+                if ((++i & 7) == 0) {
+                    it.add(VALUES[i & 1023]);
+                }
+            }
+            return list.size();
+        });
+
+        System.out.printf("%-22s %9d %9s %9d %9d %11s %9.1f%n", name, addLast,
+                addFirstN == n ? Long.toString(addFirst) : addFirst + "*", iterate, forEach,
+                insertN == n ? Long.toString(inserts) : inserts + "*", (double) bytes / n);
+        if (addFirstN != n) {
+            System.out.printf("%-22s * measured on %,d elements%n", "", addFirstN);
+        }
+    }
+
+    private static List<Integer> build(Supplier<List<Integer>> factory, int n) {
+        List<Integer> list = factory.get();
+        for (int i = 0; i < n; i++) {
+            list.add(VALUES[i & 1023]);
+        }
+        return list;
+    }
+
+    private static long best(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == Long.MIN_VALUE) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best / 1_000_000;
+    }
+
+    private static long retainedBytes(IntFunction<List<Integer>> build, int n) {
+        long before = usedHeap();
+        List<Integer> list = build.apply(n);
+        long bytes = usedHeap() - before;
+        if (System.identityHashCode(list) == 42) {
+            System.out.print(""); // keep the list reachable until after the measurement
+        }
+        return bytes;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
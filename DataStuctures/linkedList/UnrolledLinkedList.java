@@ -0,0 +1,605 @@
+// An unrolled linked list: a doubly linked list of small arrays instead of one node per element.
+// ✅ Same List + Deque API as LinkedList, O(1) amortized addFirst/addLast/pollFirst/pollLast
+// ✅ ListIterator.add/remove in the middle cost O(node capacity): shift within one chunk, split a
+//    full chunk in two, merge sparse neighbours
+// ✅ Traversal reads consecutive array slots (a 64-element chunk is a few cache lines), and memory is
+//    ~4-8 bytes of overhead per element instead of a 24-32 byte node
+// 🚫 get(i)/set(i) still walk the chunks (O(n / capacity)); not thread-safe
+
+import java.util.AbstractSequentialList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class UnrolledLinkedList<E> extends AbstractSequentialList<E> implements Deque<E> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    // Elements live in items[lo, hi); free space on either side makes both ends cheap to extend.
+    private static final class Node<E> {
+        final Object[] items;
+        int lo;
+        int hi;
+        Node<E> prev;
+        Node<E> next;
+
+        Node(int capacity, int start) {
+            items = new Object[capacity];
+            lo = start;
+            hi = start;
+        }
+
+        int count() {
+            return hi - lo;
+        }
+    }
+
+    // A position between two elements: before items[index] of node.
+    private static final class Cursor<E> {
+        Node<E> node;
+        int index;
+
+        void set(Node<E> node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+    }
+
+    private final int nodeCapacity;
+    private Node<E> head;
+    private Node<E> tail;
+    private int size;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("nodeCapacity must be >= 4: " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index == 0) {
+            addFirst(element);
+        } else if (index == size) {
+            addLast(element);
+        } else {
+            super.add(index, element);
+        }
+    }
+
+    @Override
+    public void addFirst(E e) {
+        if (head == null || head.lo == 0) {
+            // new chunks for front insertion fill from the right, so later addFirst calls stay O(1)
+            Node<E> node = new Node<>(nodeCapacity, nodeCapacity);
+            linkBefore(node, head);
+        }
+        head.items[--head.lo] = e;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void addLast(E e) {
+        if (tail == null || tail.hi == nodeCapacity) {
+            Node<E> node = new Node<>(nodeCapacity, 0);
+            linkAfter(node, tail);
+        }
+        tail.items[tail.hi++] = e;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollFirst() {
+        if (head == null) {
+            return null;
+        }
+        Node<E> node = head;
+        E e = (E) node.items[node.lo];
+        node.items[node.lo++] = null;
+        if (node.lo == node.hi) {
+            unlink(node);
+        }
+        size--;
+        modCount++;
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollLast() {
+        if (tail == null) {
+            return null;
+        }
+        Node<E> node = tail;
+        E e = (E) node.items[--node.hi];
+        node.items[node.hi] = null;
+        if (node.lo == node.hi) {
+            unlink(node);
+        }
+        size--;
+        modCount++;
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return head == null ? null : (E) head.items[head.lo];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return tail == null ? null : (E) tail.items[tail.hi - 1];
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst() {
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        return pollFirst();
+    }
+
+    @Override
+    public E removeLast() {
+        if (tail == null) {
+            throw new NoSuchElementException();
+        }
+        return pollLast();
+    }
+
+    @Override
+    public E getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        return peekFirst();
+    }
+
+    @Override
+    public E getLast() {
+        if (tail == null) {
+            throw new NoSuchElementException();
+        }
+        return peekLast();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        ListIterator<E> it = listIterator(size);
+        while (it.hasPrevious()) {
+            if (Objects.equals(o, it.previous())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        ListIterator<E> it = listIterator(size);
+        return new Iterator<E>() {
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            public E next() {
+                return it.previous();
+            }
+
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        Cursor<E> at = locate(index);
+        return (E) at.node.items[at.index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size);
+        Cursor<E> at = locate(index);
+        E old = (E) at.node.items[at.index];
+        at.node.items[at.index] = element;
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        int expected = modCount;
+        for (Node<E> node = head; node != null; node = node.next) {
+            Object[] items = node.items;
+            for (int i = node.lo, hi = node.hi; i < hi; i++) {
+                action.accept((E) items[i]);
+            }
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    public int nodeCount() {
+        int count = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Itr(index);
+    }
+
+    // Position before element `index`, walking from whichever end is closer (index may equal size).
+    private Cursor<E> locate(int index) {
+        Cursor<E> at = new Cursor<>();
+        if (head == null) {
+            return at;
+        }
+        if (index < size / 2) {
+            Node<E> node = head;
+            int remaining = index;
+            while (remaining >= node.count() && node.next != null) {
+                remaining -= node.count();
+                node = node.next;
+            }
+            at.set(node, node.lo + remaining);
+        } else {
+            Node<E> node = tail;
+            int after = size - index;
+            while (after > node.count()) {
+                after -= node.count();
+                node = node.prev;
+            }
+            at.set(node, node.hi - after);
+        }
+        return at;
+    }
+
+    // Inserts e at the cursor and leaves the cursor on the inserted element.
+    private void insert(Cursor<E> at, E e) {
+        Node<E> node = at.node;
+        int i = at.index;
+        if (node.count() == nodeCapacity) {
+            // split the full chunk: the upper half moves to a new chunk after it
+            int mid = node.lo + nodeCapacity / 2;
+            Node<E> right = new Node<>(nodeCapacity, 0);
+            int moved = node.hi - mid;
+            System.arraycopy(node.items, mid, right.items, 0, moved);
+            Arrays.fill(node.items, mid, node.hi, null);
+            right.hi = moved;
+            node.hi = mid;
+            linkAfter(right, node);
+            if (i > mid) {
+                node = right;
+                i -= mid;
+            }
+        }
+        Object[] items = node.items;
+        if (i == node.hi && node.hi < nodeCapacity) {
+            items[node.hi++] = e;
+        } else if (i == node.lo && node.lo > 0) {
+            i = --node.lo;
+            items[i] = e;
+        } else if (node.hi < nodeCapacity && (node.lo == 0 || node.hi - i <= i - node.lo)) {
+            System.arraycopy(items, i, items, i + 1, node.hi - i);
+            items[i] = e;
+            node.hi++;
+        } else {
+            System.arraycopy(items, node.lo, items, node.lo - 1, i - node.lo);
+            node.lo--;
+            items[--i] = e;
+        }
+        at.set(node, i);
+        size++;
+        modCount++;
+    }
+
+    // Removes the element at the cursor and leaves the cursor where it was (before the next element).
+    private void removeAt(Cursor<E> at) {
+        Node<E> node = at.node;
+        int i = at.index;
+        Object[] items = node.items;
+        if (i - node.lo < node.hi - 1 - i) {
+            System.arraycopy(items, node.lo, items, node.lo + 1, i - node.lo);
+            items[node.lo++] = null;
+            i++;
+        } else {
+            System.arraycopy(items, i + 1, items, i, node.hi - 1 - i);
+            items[--node.hi] = null;
+        }
+        size--;
+        modCount++;
+
+        if (node.lo == node.hi) {
+            Node<E> next = node.next;
+            Node<E> prev = node.prev;
+            unlink(node);
+            if (next != null) {
+                at.set(next, next.lo);
+            } else if (prev != null) {
+                at.set(prev, prev.hi);
+            } else {
+                at.set(null, 0);
+            }
+            return;
+        }
+        Node<E> next = node.next;
+        if (next != null && node.count() < nodeCapacity / 4 && node.count() + next.count() <= nodeCapacity / 2) {
+            // merge a sparse chunk with its neighbour so removals don't leave a trail of near-empty chunks
+            int shift = node.lo;
+            System.arraycopy(items, node.lo, items, 0, node.count());
+            node.hi -= shift;
+            Arrays.fill(items, node.hi, node.hi + shift, null);
+            node.lo = 0;
+            System.arraycopy(next.items, next.lo, items, node.hi, next.count());
+            node.hi += next.count();
+            unlink(next);
+            i -= shift;
+        }
+        at.set(node, i);
+    }
+
+    private void linkBefore(Node<E> node, Node<E> successor) {
+        node.next = successor;
+        if (successor == null) {
+            node.prev = tail;
+            if (tail != null) {
+                tail.next = node;
+            }
+            tail = node;
+        } else {
+            node.prev = successor.prev;
+            if (successor.prev != null) {
+                successor.prev.next = node;
+            }
+            successor.prev = node;
+        }
+        if (node.prev == null) {
+            head = node;
+        }
+    }
+
+    private void linkAfter(Node<E> node, Node<E> predecessor) {
+        if (predecessor == null) {
+            linkBefore(node, head);
+            return;
+        }
+        linkBefore(node, predecessor.next);
+    }
+
+    private void unlink(Node<E> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private final class Itr implements ListIterator<E> {
+        private final Cursor<E> cursor;
+        private final Cursor<E> last = new Cursor<>(); // last returned element, node == null if none
+        private boolean lastWasNext;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        Itr(int index) {
+            cursor = locate(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (nextIndex >= size) {
+                throw new NoSuchElementException();
+            }
+            if (cursor.index == cursor.node.hi) {
+                cursor.set(cursor.node.next, cursor.node.next.lo);
+            }
+            last.set(cursor.node, cursor.index++);
+            lastWasNext = true;
+            nextIndex++;
+            return (E) last.node.items[last.index];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkForComodification();
+            if (nextIndex <= 0) {
+                throw new NoSuchElementException();
+            }
+            if (cursor.index == cursor.node.lo) {
+                cursor.set(cursor.node.prev, cursor.node.prev.hi);
+            }
+            last.set(cursor.node, --cursor.index);
+            lastWasNext = false;
+            nextIndex--;
+            return (E) last.node.items[last.index];
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (last.node == null) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            cursor.set(last.node, last.index);
+            if (lastWasNext) {
+                nextIndex--;
+            }
+            last.set(null, 0);
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            checkForComodification();
+            if (last.node == null) {
+                throw new IllegalStateException();
+            }
+            last.node.items[last.index] = e;
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            if (cursor.node == null) {
+                addLast(e);
+                cursor.set(tail, tail.hi);
+            } else {
+                insert(cursor, e);
+                cursor.index++;
+            }
+            nextIndex++;
+            last.set(null, 0);
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        list.add(10);
+        list.add(20);
+        list.addFirst(5); // Add at the beginning
+
+        ListIterator<Integer> it = list.listIterator(2);
+        it.add(15); // insert in the middle through the iterator
+
+        System.out.println(list); // Output: [5, 10, 15, 20]
+    }
+}
@@ -1,6 +1,8 @@
 // A doubly linked list in Java's LinkedList class.
 // ✅ Fast insertion/deletion (O(1))
 // 🚫 Slow random access (O(n))
+// 🔹 Each element costs a 24-byte node and traversal chases pointers: UnrolledLinkedList keeps the
+//    same API with array chunks per node
 
 import java.util.LinkedList;
 
@@ -0,0 +1,234 @@
+// An indexed d-ary min-heap over long priorities (a PriorityQueue with decrease-key and remove by handle).
+// ✅ insert() returns an int handle; decreaseKey/changePriority/remove(handle) are O(log_d n)
+//    (PriorityQueue.remove(Object) is a linear scan)
+// ✅ 4 children per node by default: a shallower tree, and the children's priorities sit next to each
+//    other in one long[], so a sift-down compares one or two cache lines per level
+// ✅ Priorities are primitive longs kept in heap order: no boxing, no comparator calls
+// 🚫 Not thread-safe (see RelaxedPriorityQueue); a handle is valid only until its element leaves
+//    the heap, after which it may be reused for a new element
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IndexedDaryHeap<E> {
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private long[] priorities; // heap order
+    private int[] handles;     // heap order: handle stored at each heap position
+    private int[] positions;   // by handle: heap position, or -1 if the handle is free
+    private Object[] values;   // by handle
+    private int[] freeHandles;
+    private int freeCount;
+    private int nextHandle;
+    private int size;
+
+    public IndexedDaryHeap() {
+        this(DEFAULT_ARITY, 16);
+    }
+
+    public IndexedDaryHeap(int arity, int initialCapacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be >= 2: " + arity);
+        }
+        this.arity = arity;
+        int capacity = Math.max(initialCapacity, 2);
+        this.priorities = new long[capacity];
+        this.handles = new int[capacity];
+        this.positions = new int[capacity];
+        this.values = new Object[capacity];
+        this.freeHandles = new int[capacity];
+    }
+
+    // Adds the value with the given priority (smaller = sooner) and returns its handle.
+    public int insert(E value, long priority) {
+        if (size == priorities.length) {
+            grow();
+        }
+        int handle = freeCount > 0 ? freeHandles[--freeCount] : nextHandle++;
+        values[handle] = value;
+        siftUp(size++, priority, handle);
+        return handle;
+    }
+
+    public long peekPriority() {
+        checkNotEmpty();
+        return priorities[0];
+    }
+
+    public int peekHandle() {
+        checkNotEmpty();
+        return handles[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return size == 0 ? null : (E) values[handles[0]];
+    }
+
+    // Removes and returns the value with the smallest priority, or null if the heap is empty.
+    public E poll() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    public void decreaseKey(int handle, long newPriority) {
+        int position = positionOf(handle);
+        if (newPriority > priorities[position]) {
+            throw new IllegalArgumentException("new priority " + newPriority + " is greater than current "
+                    + priorities[position]);
+        }
+        siftUp(position, newPriority, handle);
+    }
+
+    // Moves the element up or down as needed.
+    public void changePriority(int handle, long newPriority) {
+        int position = positionOf(handle);
+        if (newPriority < priorities[position]) {
+            siftUp(position, newPriority, handle);
+        } else {
+            siftDown(position, newPriority, handle);
+        }
+    }
+
+    public E remove(int handle) {
+        return removeAt(positionOf(handle));
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nextHandle && positions[handle] >= 0;
+    }
+
+    public long priority(int handle) {
+        return priorities[positionOf(handle)];
+    }
+
+    @SuppressWarnings("unchecked")
+    public E value(int handle) {
+        positionOf(handle);
+        return (E) values[handle];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int arity() {
+        return arity;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0, nextHandle, null);
+        size = 0;
+        freeCount = 0;
+        nextHandle = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeAt(int position) {
+        int handle = handles[position];
+        E value = (E) values[handle];
+        values[handle] = null;
+        positions[handle] = -1;
+        freeHandles[freeCount++] = handle;
+
+        int last = --size;
+        if (position != last) {
+            // move the last element into the hole, then restore order in whichever direction it needs
+            long lastPriority = priorities[last];
+            int lastHandle = handles[last];
+            if (position > 0 && lastPriority < priorities[(position - 1) / arity]) {
+                siftUp(position, lastPriority, lastHandle);
+            } else {
+                siftDown(position, lastPriority, lastHandle);
+            }
+        }
+        return value;
+    }
+
+    // Places (priority, handle) at or above `position`, moving larger parents down.
+    private void siftUp(int position, long priority, int handle) {
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+        place(position, priority, handle);
+    }
+
+    // Places (priority, handle) at or below `position`, moving smaller children up.
+    private void siftDown(int position, long priority, int handle) {
+        while (true) {
+            int first = position * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int end = Math.min(first + arity, size);
+            int best = first;
+            long bestPriority = priorities[first];
+            for (int child = first + 1; child < end; child++) {
+                if (priorities[child] < bestPriority) {
+                    best = child;
+                    bestPriority = priorities[child];
+                }
+            }
+            if (bestPriority >= priority) {
+                break;
+            }
+            move(best, position);
+            position = best;
+        }
+        place(position, priority, handle);
+    }
+
+    private void move(int from, int to) {
+        priorities[to] = priorities[from];
+        handles[to] = handles[from];
+        positions[handles[to]] = to;
+    }
+
+    private void place(int position, long priority, int handle) {
+        priorities[position] = priority;
+        handles[position] = handle;
+        positions[handle] = position;
+    }
+
+    private int positionOf(int handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("No element for handle " + handle);
+        }
+        return positions[handle];
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+    }
+
+    private void grow() {
+        int capacity = priorities.length + (priorities.length >> 1);
+        priorities = Arrays.copyOf(priorities, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        values = Arrays.copyOf(values, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+    }
+
+    public static void main(String[] args) {
+        IndexedDaryHeap<String> heap = new IndexedDaryHeap<>();
+        heap.insert("backup", 50);
+        int report = heap.insert("report", 30);
+        heap.insert("email", 10);
+
+        heap.decreaseKey(report, 5); // the report became urgent
+        System.out.println(heap.poll()); // Output: report
+        System.out.println(heap.poll()); // Output: email
+    }
+}
@@ -0,0 +1,145 @@
+// A bounded multi-producer / multi-consumer ring buffer (Dmitry Vyukov's bounded MPMC queue).
+// ✅ Every slot carries a sequence number that says whose turn it is: producers and consumers each
+//    claim with one CAS on their own padded index and never wait on a lock
+// ✅ A slow thread only delays its own slot, not the whole queue
+// ✅ If fill()'s supplier throws (or returns null), the slot it had claimed is published as a tombstone
+//    that consumers skip, so the queue never stalls on it
+// 🚫 fill()/drain() still claim one slot per element (a batch saves the call overhead, not the CASes)
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class MpmcRingQueue<E> implements RingQueue<E> {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final Object SKIP = new Object(); // a claimed slot fill() could not supply an item for
+
+    private final Object[] buffer;
+    private final long[] sequences; // slot i is free for index t when sequence == t, full when t + 1
+    private final int mask;
+    private final PaddedSequence tail = new PaddedSequence(0);
+    private final PaddedSequence head = new PaddedSequence(0);
+
+    public MpmcRingQueue(int capacity) {
+        int size = RingQueue.capacityFor(capacity);
+        this.buffer = new Object[size];
+        this.sequences = new long[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            SEQUENCE.setRelease(sequences, i, (long) i);
+        }
+    }
+
+    @Override
+    public boolean offer(E item) {
+        Objects.requireNonNull(item, "item");
+        long t = claimTail();
+        if (t < 0) {
+            return false;
+        }
+        publish(t, item);
+        return true;
+    }
+
+    // Claims the next free slot for writing; returns its index, or -1 if the queue is full.
+    private long claimTail() {
+        long t = tail.get();
+        while (true) {
+            long sequence = (long) SEQUENCE.getAcquire(sequences, (int) t & mask);
+            long diff = sequence - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    return t;
+                }
+                t = tail.get();
+            } else if (diff < 0) {
+                return -1; // the slot still holds the element from one lap ago
+            } else {
+                t = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    private void publish(long t, Object item) {
+        int index = (int) t & mask;
+        buffer[index] = item;
+        SEQUENCE.setRelease(sequences, index, t + 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        while (true) {
+            int index = (int) h & mask;
+            long sequence = (long) SEQUENCE.getAcquire(sequences, index);
+            long diff = sequence - (h + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(h, h + 1)) {
+                    Object item = buffer[index];
+                    buffer[index] = null;
+                    SEQUENCE.setRelease(sequences, index, h + buffer.length); // free for the next lap
+                    if (item != SKIP) {
+                        return (E) item;
+                    }
+                }
+                h = head.get();
+            } else if (diff < 0) {
+                return null; // not written yet
+            } else {
+                h = head.get();
+            }
+        }
+    }
+
+    @Override
+    public int fill(Supplier<? extends E> supplier, int limit) {
+        int n = 0;
+        long t;
+        while (n < limit && (t = claimTail()) >= 0) {
+            Object item = SKIP;
+            try {
+                item = Objects.requireNonNull(supplier.get(), "supplied item");
+            } finally {
+                publish(t, item); // the slot is claimed either way; left unpublished it would wedge the queue
+            }
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int drain(Consumer<? super E> sink, int limit) {
+        int n = 0;
+        E item;
+        while (n < limit && (item = poll()) != null) {
+            sink.accept(item);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        long h = head.get();
+        long size = tail.get() - h;
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public static void main(String[] args) {
+        MpmcRingQueue<String> queue = new MpmcRingQueue<>(4);
+        queue.offer("Alice");
+        queue.offer("Bob");
+        queue.offer("Charlie");
+
+        System.out.println(queue.poll()); // Output: Alice (removes first element)
+        System.out.println(queue.size()); // Output: 2
+    }
+}
@@ -0,0 +1,165 @@
+// A bounded multi-producer / single-consumer ring buffer.
+// ✅ Producers claim a slot with one CAS on the tail, then publish the element with a release store;
+//    the consumer never CASes
+// ✅ Producers check capacity against a cached limit and only read the consumer index when it runs out
+// ✅ fill() claims the whole batch with a single CAS; if its supplier throws (or returns null) midway,
+//    the claimed slots it didn't fill are published as tombstones the consumer skips
+// 🚫 Exactly one thread may poll/drain
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class MpscRingQueue<E> implements RingQueue<E> {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object SKIP = new Object(); // a claimed slot fill() could not supply an item for
+
+    private final Object[] buffer;
+    private final int mask;
+    private final PaddedSequence tail = new PaddedSequence(0);
+    private final PaddedSequence producerLimit; // head + capacity as last seen by any producer
+    private final PaddedSequence head = new PaddedSequence(0);
+
+    public MpscRingQueue(int capacity) {
+        this.buffer = new Object[RingQueue.capacityFor(capacity)];
+        this.mask = buffer.length - 1;
+        this.producerLimit = new PaddedSequence(buffer.length);
+    }
+
+    @Override
+    public boolean offer(E item) {
+        Objects.requireNonNull(item, "item");
+        long t = claim(1);
+        if (t < 0) {
+            return false;
+        }
+        SLOT.setRelease(buffer, (int) t & mask, item);
+        return true;
+    }
+
+    // Claims n slots (all or nothing); returns the first index, or -1 if there is no room.
+    private long claim(int n) {
+        long limit = producerLimit.get();
+        long t;
+        do {
+            t = tail.get();
+            if (t + n > limit) {
+                limit = head.getAcquire() + buffer.length;
+                if (t + n > limit) {
+                    return -1;
+                }
+                producerLimit.setRelease(limit);
+            }
+        } while (!tail.compareAndSet(t, t + n));
+        return t;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.getPlain();
+        while (true) {
+            int index = (int) h & mask;
+            Object item = SLOT.getAcquire(buffer, index);
+            if (item == null) {
+                if (h == tail.getAcquire()) {
+                    return null;
+                }
+                // a producer has claimed this slot but not written it yet; it is a few instructions away
+                do {
+                    Thread.onSpinWait();
+                    item = SLOT.getAcquire(buffer, index);
+                } while (item == null);
+            }
+            buffer[index] = null;
+            head.setRelease(++h);
+            if (item != SKIP) {
+                return (E) item;
+            }
+        }
+    }
+
+    @Override
+    public int fill(Supplier<? extends E> supplier, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        // claim as much of the batch as fits, shrinking the request when the queue is nearly full
+        int n = Math.min(limit, buffer.length);
+        long t;
+        while ((t = claim(n)) < 0) {
+            long free = buffer.length - (tail.get() - head.getAcquire());
+            if (free <= 0) {
+                return 0;
+            }
+            n = (int) Math.min(n, free);
+        }
+        int filled = 0;
+        try {
+            for (; filled < n; filled++) {
+                SLOT.setRelease(buffer, (int) (t + filled) & mask,
+                        Objects.requireNonNull(supplier.get(), "supplied item"));
+            }
+        } finally {
+            // the slots are claimed either way; an unpublished one would stall the consumer forever
+            for (int i = filled; i < n; i++) {
+                SLOT.setRelease(buffer, (int) (t + i) & mask, SKIP);
+            }
+        }
+        return n;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> sink, int limit) {
+        long h = head.getPlain();
+        int n = 0;
+        try {
+            while (n < limit) {
+                int index = (int) h & mask;
+                Object item = SLOT.getAcquire(buffer, index);
+                if (item == null) {
+                    break; // empty, or the next producer hasn't published yet: stop the batch here
+                }
+                buffer[index] = null;
+                h++;
+                if (item != SKIP) {
+                    sink.accept((E) item);
+                    n++;
+                }
+            }
+        } finally {
+            head.setRelease(h); // also when the sink throws: the slots up to h are already cleared
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        long h = head.get();
+        long size = tail.get() - h;
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        MpscRingQueue<String> queue = new MpscRingQueue<>(1024);
+        Thread[] producers = new Thread[3];
+        for (int p = 0; p < producers.length; p++) {
+            String name = "producer-" + p;
+            producers[p] = new Thread(() -> queue.offer(name));
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        System.out.println(queue.size()); // Output: 3
+        queue.drain(System.out::println, 10); // the three names, in claim order
+    }
+}
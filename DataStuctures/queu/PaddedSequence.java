@@ -0,0 +1,77 @@
+// A long counter padded on both sides so it sits alone on its cache line(s).
+// Producer and consumer indexes of a ring queue are written by different threads; without padding
+// they (or a neighbouring object) share a 64-byte line and every write invalidates the other core's
+// copy ("false sharing"). The superclass/subclass padding trick keeps the JVM from reordering the
+// pad fields away, the same layout Disruptor and JCTools use.
+//
+// `cache` is a plain field next to the value for the owning thread: e.g. the producer keeps its
+// last seen consumer index there, so it only reads the contended counter when the queue looks full.
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+abstract class SequenceLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07, p08;
+    long p09, p10, p11, p12, p13, p14, p15, p16;
+}
+
+abstract class SequenceValue extends SequenceLhsPadding {
+    volatile long value;
+    long cache;
+}
+
+abstract class SequenceRhsPadding extends SequenceValue {
+    long p17, p18, p19, p20, p21, p22, p23, p24;
+    long p25, p26, p27, p28, p29, p30, p31, p32;
+}
+
+public final class PaddedSequence extends SequenceRhsPadding {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public PaddedSequence(long initial) {
+        VALUE.setRelease(this, initial);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    // Read by the owning thread only, so no ordering is needed.
+    public long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    public long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    // Publishes everything written before it (the slot contents) to threads that getAcquire().
+    public void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    public long cache() {
+        return cache;
+    }
+
+    public void cache(long value) {
+        cache = value;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
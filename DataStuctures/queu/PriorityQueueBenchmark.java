@@ -0,0 +1,272 @@
+// IndexedDaryHeap and RelaxedPriorityQueue vs java.util.PriorityQueue / PriorityBlockingQueue.
+//  1. insert n random priorities, then poll them all (heap sort): PriorityQueue<Long>, PriorityQueue<Task>
+//     with a comparator, and IndexedDaryHeap with 2, 4 and 8 children per node
+//  2. scheduler workload: n queued tasks, 4n random decrease-key updates, then drain.
+//     PriorityQueue has no decrease-key, so it is measured with the two usual workarounds:
+//     remove(Object) + add (O(n) per update, run on fewer tasks) and lazy deletion (add a duplicate,
+//     skip stale entries when polling)
+//  3. concurrent mixed add/poll: PriorityBlockingQueue vs a locked IndexedDaryHeap vs RelaxedPriorityQueue
+//
+// Run (from DataStuctures/queu/):
+//   javac -d out IndexedDaryHeap.java RelaxedPriorityQueue.java PriorityQueueBenchmark.java
+//   java -cp out PriorityQueueBenchmark [n]
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class PriorityQueueBenchmark {
+
+    static final class Task {
+        final int id;
+        long priority;
+        boolean done;
+
+        Task(int id, long priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    // A queued priority for the lazy-deletion workaround: stale when it no longer matches the task.
+    static final class Entry {
+        final Task task;
+        final long priority;
+
+        Entry(Task task, long priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+    }
+
+    interface Mixed {
+        void add(long priority);
+
+        void poll();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long[] priorities = new Random(42).longs(n, 0, Long.MAX_VALUE / 2).toArray();
+
+        System.out.printf("== insert + poll %,d elements (ms, best of 5)%n", n);
+        time("PriorityQueue<Long>", () -> {
+            PriorityQueue<Long> pq = new PriorityQueue<>();
+            for (long p : priorities) {
+                pq.add(p);
+            }
+            long sum = 0;
+            while (!pq.isEmpty()) {
+                sum += pq.poll();
+            }
+            return sum;
+        });
+        time("PriorityQueue<Task>", () -> {
+            PriorityQueue<Task> pq = new PriorityQueue<>(Comparator.comparingLong((Task t) -> t.priority));
+            for (int i = 0; i < n; i++) {
+                pq.add(new Task(i, priorities[i]));
+            }
+            long sum = 0;
+            while (!pq.isEmpty()) {
+                sum += pq.poll().priority;
+            }
+            return sum;
+        });
+        for (int arity : new int[]{2, 4, 8}) {
+            time("IndexedDaryHeap d=" + arity, () -> {
+                IndexedDaryHeap<Task> heap = new IndexedDaryHeap<>(arity, 16);
+                for (int i = 0; i < n; i++) {
+                    heap.insert(new Task(i, priorities[i]), priorities[i]);
+                }
+                long sum = 0;
+                while (!heap.isEmpty()) {
+                    sum += heap.poll().priority;
+                }
+                return sum;
+            });
+        }
+
+        int tasks = Math.max(1, n / 10);
+        int slowTasks = Math.min(tasks, 20_000); // remove(Object) is O(n), so that run is kept small
+        System.out.printf("%n== scheduler: %,d tasks, %,d decrease-keys, then drain (ms, best of 5)%n",
+                tasks, 4L * tasks);
+        time(String.format("PQ remove+add (%,d tasks)", slowTasks), () -> {
+            Task[] all = tasks(slowTasks, priorities);
+            PriorityQueue<Task> pq = new PriorityQueue<>(Comparator.comparingLong((Task t) -> t.priority));
+            for (Task t : all) {
+                pq.add(t);
+            }
+            Random random = new Random(7);
+            for (int i = 0; i < 4 * slowTasks; i++) {
+                Task t = all[random.nextInt(slowTasks)];
+                pq.remove(t);
+                t.priority -= random.nextInt(1_000_000);
+                pq.add(t);
+            }
+            long sum = 0;
+            while (!pq.isEmpty()) {
+                sum += pq.poll().priority;
+            }
+            return sum;
+        });
+        time("PQ lazy deletion", () -> {
+            Task[] all = tasks(tasks, priorities);
+            PriorityQueue<Entry> pq = new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.priority));
+            for (Task t : all) {
+                pq.add(new Entry(t, t.priority));
+            }
+            Random random = new Random(7);
+            for (int i = 0; i < 4 * tasks; i++) {
+                Task t = all[random.nextInt(tasks)];
+                t.priority -= random.nextInt(1_000_000);
+                pq.add(new Entry(t, t.priority));
+            }
+            long sum = 0;
+            while (!pq.isEmpty()) {
+                Entry e = pq.poll();
+                if (!e.task.done && e.priority == e.task.priority) {
+                    e.task.done = true;
+                    sum += e.priority;
+                }
+            }
+            return sum;
+        });
+        time("IndexedDaryHeap decreaseKey", () -> {
+            Task[] all = tasks(tasks, priorities);
+            IndexedDaryHeap<Task> heap = new IndexedDaryHeap<>();
+            int[] handles = new int[tasks];
+            for (int i = 0; i < tasks; i++) {
+                handles[i] = heap.insert(all[i], all[i].priority);
+            }
+            Random random = new Random(7);
+            for (int i = 0; i < 4 * tasks; i++) {
+                int id = random.nextInt(tasks);
+                Task t = all[id];
+                t.priority -= random.nextInt(1_000_000);
+                heap.decreaseKey(handles[id], t.priority);
+            }
+            long sum = 0;
+            while (!heap.isEmpty()) {
+                sum += heap.poll().priority;
+            }
+            return sum;
+        });
+
+        System.out.printf("%n== concurrent add/poll, %,d queued (Mops/s)%n", tasks);
+        System.out.printf("%-28s", "threads:");
+        int[] threadCounts = {1, 2, 4, 8, 16};
+        for (int threads : threadCounts) {
+            System.out.printf("%8d", threads);
+        }
+        System.out.println();
+        concurrentRow("PriorityBlockingQueue", threadCounts, tasks, () -> {
+            PriorityBlockingQueue<Long> pq = new PriorityBlockingQueue<>();
+            return new Mixed() {
+                public void add(long priority) {
+                    pq.add(priority);
+                }
+
+                public void poll() {
+                    pq.poll();
+                }
+            };
+        });
+        concurrentRow("synchronized IndexedDaryHeap", threadCounts, tasks, () -> {
+            IndexedDaryHeap<Object> heap = new IndexedDaryHeap<>();
+            return new Mixed() {
+                public synchronized void add(long priority) {
+                    heap.insert(heap, priority);
+                }
+
+                public synchronized void poll() {
+                    heap.poll();
+                }
+            };
+        });
+        concurrentRow("RelaxedPriorityQueue", threadCounts, tasks, () -> {
+            RelaxedPriorityQueue<Object> pq = new RelaxedPriorityQueue<>(threadCounts[threadCounts.length - 1]);
+            return new Mixed() {
+                public void add(long priority) {
+                    pq.add(pq, priority);
+                }
+
+                public void poll() {
+                    pq.poll();
+                }
+            };
+        });
+    }
+
+    private static Task[] tasks(int count, long[] priorities) {
+        Task[] all = new Task[count];
+        for (int i = 0; i < count; i++) {
+            all[i] = new Task(i, priorities[i]);
+        }
+        return all;
+    }
+
+    private static void time(String name, LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum = run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        System.out.printf("%-34s %8d ms   (checksum %d)%n", name, best / 1_000_000, checksum);
+    }
+
+    private static void concurrentRow(String name, int[] threadCounts, int queued,
+                                      Supplier<Mixed> factory) throws InterruptedException {
+        System.out.printf("%-28s", name);
+        for (int threads : threadCounts) {
+            double best = 0;
+            for (int round = 0; round < 3; round++) {
+                Mixed queue = factory.get();
+                for (int i = 0; i < queued; i++) {
+                    queue.add(ThreadLocalRandom.current().nextLong(1_000_000_000L));
+                }
+                best = Math.max(best, measure(queue, threads));
+            }
+            System.out.printf("%8.1f", best);
+        }
+        System.out.println();
+    }
+
+    // Each thread alternates add and poll, so the queue size stays roughly constant.
+    private static double measure(Mixed queue, int threads) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long local = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 128; i++) {
+                        queue.add(random.nextLong(1_000_000_000L));
+                        queue.poll();
+                    }
+                    local += 256;
+                }
+                ops.add(local);
+            }));
+        }
+        long t0 = System.nanoTime();
+        workers.forEach(Thread::start);
+        Thread.sleep(500);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() / ((System.nanoTime() - t0) / 1e9) / 1e6;
+    }
+}
@@ -0,0 +1,131 @@
+// A concurrent, relaxed priority queue (a "MultiQueue": Rihani, Sanders & Dementiev, SPAA 2015).
+// ✅ c * threads small heaps, each behind its own lock: add() locks one random heap, poll() looks at
+//    the tops of two random heaps and takes the smaller, so threads rarely meet on the same lock
+// ✅ Scales where PriorityBlockingQueue's single lock serializes every operation
+// 🚫 Relaxed: poll() returns one of the smallest elements (rank error ~ number of heaps), not always
+//    the minimum; fine for schedulers and best-first search, not for strict ordering
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class RelaxedPriorityQueue<E> {
+    private static final int QUEUES_PER_THREAD = 2;
+
+    private static final class Shard<E> {
+        final ReentrantLock lock = new ReentrantLock();
+        final IndexedDaryHeap<E> heap = new IndexedDaryHeap<>();
+        volatile long top = Long.MAX_VALUE; // smallest priority, readable without the lock
+
+        void updateTop() {
+            top = heap.isEmpty() ? Long.MAX_VALUE : heap.peekPriority();
+        }
+    }
+
+    private final Shard<E>[] shards;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public RelaxedPriorityQueue() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RelaxedPriorityQueue(int expectedThreads) {
+        int count = Math.max(2, expectedThreads * QUEUES_PER_THREAD);
+        shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard<>();
+        }
+    }
+
+    public void add(E value, long priority) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Shard<E> shard = shards[random.nextInt(shards.length)];
+            if (shard.lock.tryLock()) { // busy shard: pick another instead of waiting
+                try {
+                    shard.heap.insert(value, priority);
+                    shard.updateTop();
+                } finally {
+                    shard.lock.unlock();
+                }
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    // One of the smallest elements, or null if the queue is empty.
+    public E poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < shards.length; attempt++) {
+            if (size.get() == 0) {
+                return null;
+            }
+            Shard<E> a = shards[random.nextInt(shards.length)];
+            Shard<E> b = shards[random.nextInt(shards.length)];
+            Shard<E> best = b.top < a.top ? b : a;
+            if (best.top == Long.MAX_VALUE || !best.lock.tryLock()) {
+                continue;
+            }
+            try {
+                E value = best.heap.poll();
+                best.updateTop();
+                if (value != null) {
+                    size.decrementAndGet();
+                    return value;
+                }
+            } finally {
+                best.lock.unlock();
+            }
+        }
+        return pollAnyShard(); // random picks kept missing: sweep every shard once
+    }
+
+    private E pollAnyShard() {
+        for (Shard<E> shard : shards) {
+            if (shard.top == Long.MAX_VALUE) {
+                continue;
+            }
+            shard.lock.lock();
+            try {
+                E value = shard.heap.poll();
+                shard.updateTop();
+                if (value != null) {
+                    size.decrementAndGet();
+                    return value;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        RelaxedPriorityQueue<String> queue = new RelaxedPriorityQueue<>(4);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int id = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    queue.add("task-" + id + "-" + i, i);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        System.out.println(queue.size()); // Output: 4000
+        System.out.println(queue.poll()); // one of the priority-0 tasks (or close to it)
+    }
+}
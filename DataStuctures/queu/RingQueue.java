@@ -0,0 +1,92 @@
+// Common API of the bounded ring-buffer queues (SpscRingQueue, MpscRingQueue, MpmcRingQueue).
+// ✅ offer/poll never block and never allocate; put/take wait using a pluggable WaitStrategy
+// ✅ fill/drain move a batch per call, paying for the shared counters once per batch
+// 🚫 null elements are not allowed (null means "empty" to poll)
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public interface RingQueue<E> {
+
+    // false if the queue is full
+    boolean offer(E item);
+
+    // null if the queue is empty
+    E poll();
+
+    // Offers up to `limit` items from the supplier; returns how many were added.
+    int fill(Supplier<? extends E> supplier, int limit);
+
+    // Passes up to `limit` items to the sink; returns how many were removed.
+    int drain(Consumer<? super E> sink, int limit);
+
+    // Approximate when other threads are active.
+    int size();
+
+    int capacity();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    default void put(E item, WaitStrategy wait) throws InterruptedException {
+        for (int attempt = 0; !offer(item); attempt++) {
+            wait.idle(attempt);
+        }
+    }
+
+    default E take(WaitStrategy wait) throws InterruptedException {
+        E item;
+        for (int attempt = 0; (item = poll()) == null; attempt++) {
+            wait.idle(attempt);
+        }
+        return item;
+    }
+
+    // What a thread does while the queue is full (producer) or empty (consumer).
+    // `attempt` counts consecutive failures, so strategies can escalate.
+    interface WaitStrategy {
+        void idle(int attempt) throws InterruptedException;
+
+        // Lowest latency, burns a core: only when each waiting thread has a core to itself.
+        static WaitStrategy spinning() {
+            return attempt -> Thread.onSpinWait();
+        }
+
+        // Gives the core to other runnable threads but never sleeps.
+        static WaitStrategy yielding() {
+            return attempt -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            };
+        }
+
+        // Spin, then yield, then park with exponential backoff up to maxParkNanos: idle threads
+        // cost almost no CPU, at the price of up to maxParkNanos extra latency after a quiet period.
+        static WaitStrategy parking(long maxParkNanos) {
+            return attempt -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else if (attempt < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(Math.min(maxParkNanos, 1_000L << Math.min(attempt - 200, 20)));
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            };
+        }
+    }
+
+    static int capacityFor(int requested) {
+        if (requested < 2 || requested > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be in [2, 2^30]: " + requested);
+        }
+        return Integer.highestOneBit(requested - 1) << 1;
+    }
+}
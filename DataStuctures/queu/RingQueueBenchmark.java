@@ -0,0 +1,180 @@
+// Throughput of the ring queues vs ArrayBlockingQueue and LinkedBlockingQueue.
+// Each configuration (1P/1C, 4P/1C, 4P/4C) pushes the same number of messages through every queue,
+// element by element and in batches of 64 (fill/drain for ring queues, drainTo for the JDK ones).
+// All threads use the same parking wait strategy when the queue is full or empty.
+//
+// Run (from DataStuctures/queu/):
+//   javac -d out PaddedSequence.java RingQueue.java SpscRingQueue.java MpscRingQueue.java \
+//         MpmcRingQueue.java RingQueueBenchmark.java
+//   java -cp out RingQueueBenchmark [messages]
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class RingQueueBenchmark {
+    private static final int CAPACITY = 1 << 14;
+    private static final int BATCH = 64;
+    private static final Integer MESSAGE = 42; // one shared element, so the run measures the queue only
+    private static final RingQueue.WaitStrategy WAIT = RingQueue.WaitStrategy.parking(50_000);
+
+    public static void main(String[] args) throws InterruptedException {
+        long messages = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        System.out.printf("%,d messages, capacity %,d, batch %d; Mmsg/s (best of 3)%n%n", messages, CAPACITY, BATCH);
+        System.out.printf("%-10s %-22s %10s %10s%n", "threads", "queue", "single", "batch");
+
+        int[][] configs = {{1, 1}, {4, 1}, {4, 4}};
+        for (int[] config : configs) {
+            int producers = config[0];
+            int consumers = config[1];
+            String threads = producers + "P/" + consumers + "C";
+            RingQueue<Integer> ring;
+            String ringName;
+            if (producers == 1 && consumers == 1) {
+                ringName = "SpscRingQueue";
+            } else if (consumers == 1) {
+                ringName = "MpscRingQueue";
+            } else {
+                ringName = "MpmcRingQueue";
+            }
+            report(threads, ringName, messages, producers, consumers, () -> {
+                switch (ringName) {
+                    case "SpscRingQueue":
+                        return new SpscRingQueue<>(CAPACITY);
+                    case "MpscRingQueue":
+                        return new MpscRingQueue<>(CAPACITY);
+                    default:
+                        return new MpmcRingQueue<>(CAPACITY);
+                }
+            });
+            report(threads, "ArrayBlockingQueue", messages, producers, consumers,
+                    () -> adapt(new ArrayBlockingQueue<>(CAPACITY)));
+            report(threads, "LinkedBlockingQueue", messages, producers, consumers,
+                    () -> adapt(new LinkedBlockingQueue<>(CAPACITY)));
+            System.out.println();
+        }
+    }
+
+    private static void report(String threads, String name, long messages, int producers, int consumers,
+                               Supplier<RingQueue<Integer>> factory) throws InterruptedException {
+        double single = 0;
+        double batch = 0;
+        for (int round = 0; round < 3; round++) {
+            single = Math.max(single, run(factory.get(), messages, producers, consumers, 1));
+            batch = Math.max(batch, run(factory.get(), messages, producers, consumers, BATCH));
+        }
+        System.out.printf("%-10s %-22s %10.1f %10.1f%n", threads, name, single, batch);
+    }
+
+    private static double run(RingQueue<Integer> queue, long messages, int producers, int consumers, int batch)
+            throws InterruptedException {
+        long perProducer = messages / producers;
+        long total = perProducer * producers;
+        AtomicLong consumed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            threads.add(new Thread(() -> {
+                Supplier<Integer> supplier = () -> MESSAGE;
+                long sent = 0;
+                int idle = 0;
+                while (sent < perProducer) {
+                    int n = batch == 1
+                            ? (queue.offer(MESSAGE) ? 1 : 0)
+                            : queue.fill(supplier, (int) Math.min(batch, perProducer - sent));
+                    if (n > 0) {
+                        sent += n;
+                        idle = 0;
+                    } else if (!idle(idle++)) {
+                        return;
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                Consumer<Integer> sink = item -> { };
+                long local = 0;
+                int idle = 0;
+                while (true) {
+                    int n = batch == 1
+                            ? (queue.poll() != null ? 1 : 0)
+                            : queue.drain(sink, batch);
+                    if (n > 0) {
+                        local += n;
+                        idle = 0;
+                        continue;
+                    }
+                    // publish our count only when idle, so the shared counter isn't hit per message
+                    if (consumed.addAndGet(local) >= total) {
+                        return;
+                    }
+                    local = 0;
+                    if (!idle(idle++)) {
+                        return;
+                    }
+                }
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return total / ((System.nanoTime() - t0) / 1e9) / 1e6;
+    }
+
+    private static boolean idle(int attempt) {
+        try {
+            WAIT.idle(attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // A JDK BlockingQueue behind the RingQueue interface; drainTo is its batch operation.
+    private static <E> RingQueue<E> adapt(BlockingQueue<E> queue) {
+        return new RingQueue<E>() {
+            public boolean offer(E item) {
+                return queue.offer(item);
+            }
+
+            public E poll() {
+                return queue.poll();
+            }
+
+            public int fill(Supplier<? extends E> supplier, int limit) {
+                int n = 0;
+                while (n < limit && queue.remainingCapacity() > 0 && queue.offer(supplier.get())) {
+                    n++;
+                }
+                return n;
+            }
+
+            public int drain(Consumer<? super E> sink, int limit) {
+                List<E> batch = new ArrayList<>(limit);
+                int n = queue.drainTo(batch, limit);
+                batch.forEach(sink);
+                return n;
+            }
+
+            public int size() {
+                return queue.size();
+            }
+
+            public int capacity() {
+                return queue.size() + queue.remainingCapacity();
+            }
+        };
+    }
+}
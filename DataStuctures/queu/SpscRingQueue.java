@@ -0,0 +1,134 @@
+// A bounded single-producer / single-consumer ring buffer (Lamport queue with cached indexes).
+// ✅ No CAS at all: each index has exactly one writer, published with a release store
+// ✅ Each side caches the other's index, so it touches the shared cache line only when the queue
+//    looks full (producer) or empty (consumer)
+// 🚫 Exactly one thread may offer/fill and exactly one thread may poll/drain
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class SpscRingQueue<E> implements RingQueue<E> {
+    private final Object[] buffer;
+    private final int mask;
+    private final PaddedSequence tail = new PaddedSequence(0); // producer's; cache = last seen head
+    private final PaddedSequence head = new PaddedSequence(0); // consumer's; cache = last seen tail
+
+    public SpscRingQueue(int capacity) {
+        this.buffer = new Object[RingQueue.capacityFor(capacity)];
+        this.mask = buffer.length - 1;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        Objects.requireNonNull(item, "item");
+        long t = tail.getPlain();
+        if (t - tail.cache() >= buffer.length) {
+            tail.cache(head.getAcquire());
+            if (t - tail.cache() >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = item;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.getPlain();
+        if (h >= head.cache()) {
+            head.cache(tail.getAcquire());
+            if (h >= head.cache()) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E item = (E) buffer[index];
+        buffer[index] = null;
+        head.setRelease(h + 1);
+        return item;
+    }
+
+    @Override
+    public int fill(Supplier<? extends E> supplier, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        long t = tail.getPlain();
+        long free = buffer.length - (t - tail.cache());
+        if (free < limit) {
+            tail.cache(head.getAcquire());
+            free = buffer.length - (t - tail.cache());
+        }
+        int n = (int) Math.min(limit, free);
+        int filled = 0;
+        try {
+            for (; filled < n; filled++) {
+                buffer[(int) (t + filled) & mask] = Objects.requireNonNull(supplier.get(), "supplied item");
+            }
+        } finally {
+            tail.setRelease(t + filled); // one publish for the whole batch, even if the supplier threw
+        }
+        return n;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> sink, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        long h = head.getPlain();
+        long available = head.cache() - h;
+        if (available < limit) {
+            head.cache(tail.getAcquire());
+            available = head.cache() - h;
+        }
+        int n = (int) Math.min(limit, available);
+        int consumed = 0;
+        try {
+            while (consumed < n) {
+                int index = (int) (h + consumed) & mask;
+                E item = (E) buffer[index];
+                buffer[index] = null;
+                consumed++; // the item is handed over, so it counts even if the sink throws
+                sink.accept(item);
+            }
+        } finally {
+            head.setRelease(h + consumed); // cleared slots must never sit behind head
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        long h = head.get();
+        long size = tail.get() - h;
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        SpscRingQueue<String> queue = new SpscRingQueue<>(1024);
+        Thread producer = new Thread(() -> {
+            try {
+                for (String name : new String[]{"Alice", "Bob", "Charlie"}) {
+                    queue.put(name, RingQueue.WaitStrategy.yielding());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        System.out.println(queue.take(RingQueue.WaitStrategy.yielding())); // Output: Alice
+        System.out.println(queue.take(RingQueue.WaitStrategy.yielding())); // Output: Bob
+        producer.join();
+    }
+}
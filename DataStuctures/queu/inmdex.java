@@ -13,4 +13,5 @@ System.out.println(queue.poll()); // Output: Alice (removes first element)
 System.out.println(queue.peek()); // Output: Bob (next element)
 
 // ✅ Fast enqueue/dequeue (O(1))
-// 🚫 Slower random access
\ No newline at end of file
+// 🚫 Slower random access
+// 🔹 Bounded queues shared between threads: SpscRingQueue, MpscRingQueue, MpmcRingQueue
@@ -0,0 +1,21 @@
+// Priority queue with decrease-key, using IndexedDaryHeap (4-ary heap over long priorities).
+// ✅ poll() returns the smallest priority first: O(log n)
+// ✅ decreaseKey/remove by handle: O(log n) (java.util.PriorityQueue has no decrease-key and
+//    remove(Object) is O(n))
+// 🚫 Not thread-safe: use RelaxedPriorityQueue (or PriorityBlockingQueue for strict order)
+
+public class prorityQue {
+    public static void main(String[] args) {
+        IndexedDaryHeap<String> tasks = new IndexedDaryHeap<>();
+        int backup = tasks.insert("backup", 50);
+        int report = tasks.insert("report", 30);
+        tasks.insert("email", 10);
+
+        tasks.decreaseKey(report, 5); // deadline moved up
+        tasks.remove(backup);         // cancelled
+
+        System.out.println(tasks.poll()); // Output: report
+        System.out.println(tasks.peek()); // Output: email (next element)
+        System.out.println(tasks.size()); // Output: 1
+    }
+}
@@ -0,0 +1,170 @@
+// A cache-friendly Bloom filter ("split block" layout, as in Impala/Parquet; Putze, Sanders & Singler 2007).
+// Each key maps to one 512-bit block (one 64-byte cache line) and sets one bit in each of its 8 words.
+// ✅ One cache miss per add/query instead of k: several times faster than BloomFilter on big filters
+// ✅ Branch-free query over 8 words; the block is picked by multiply-shift, so no division
+// ✅ Same API as BloomFilter: sized by expected keys and FPP, mergeable, serializable
+// 🚫 Keys crowd unevenly into blocks, so it needs more bits than BloomFilter for the same FPP:
+//    +5% at 1%, +23% at 0.01% (create() sizes it from the Poisson block-load model)
+//
+// Run (from DataStuctures/sketches/):  javac -d out Hashing.java BlockedBloomFilter.java
+//                                      java -cp out BlockedBloomFilter
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class BlockedBloomFilter {
+    private static final int MAGIC = 0x424C4B31; // "BLK1"
+    private static final int WORDS_PER_BLOCK = 8;
+    // odd multipliers that pick a different bit (the top 6 bits of the product) in each word
+    private static final int[] SALTS = {
+            0x47B6137B, 0x44974D91, 0x8824AD5B, 0xA2B7289D, 0x705495C7, 0x2DF1424B, 0x9EFC4947, 0x5C6BFB31};
+
+    private final long[] words;
+    private final long blocks;
+
+    private BlockedBloomFilter(long[] words) {
+        this.words = words;
+        this.blocks = words.length / WORDS_PER_BLOCK;
+    }
+
+    public static BlockedBloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || !(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("expectedInsertions=" + expectedInsertions + ", fpp=" + fpp);
+        }
+        long maxBlocks = (Integer.MAX_VALUE - 8) / WORDS_PER_BLOCK;
+        long hi = 1;
+        while (fppFor(expectedInsertions, hi) > fpp) {
+            if (hi == maxBlocks) {
+                throw new IllegalArgumentException("Filter too large for fpp " + fpp);
+            }
+            hi = Math.min(maxBlocks, hi * 2);
+        }
+        long lo = hi / 2 + 1; // smallest block count that meets the target
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (fppFor(expectedInsertions, mid) > fpp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return new BlockedBloomFilter(new long[(int) (hi * WORDS_PER_BLOCK)]);
+    }
+
+    // FPP with n keys over the given blocks: a block holding j keys has each word's probed bit set
+    // with probability 1 - (63/64)^j; j is Poisson with mean n / blocks.
+    static double fppFor(long n, long blocks) {
+        double mean = (double) n / blocks;
+        int limit = (int) (mean + 12 * Math.sqrt(mean) + 24);
+        double fpp = 0;
+        double logPoisson = -mean; // log P(j = 0)
+        for (int j = 0; j <= limit; j++) {
+            if (j > 0) {
+                logPoisson += Math.log(mean) - Math.log(j);
+            }
+            fpp += Math.exp(logPoisson) * Math.pow(1 - Math.pow(63.0 / 64, j), WORDS_PER_BLOCK);
+        }
+        return fpp;
+    }
+
+    public boolean add(long key) {
+        return addHash(Hashing.mix64(key));
+    }
+
+    public boolean add(CharSequence key) {
+        return addHash(Hashing.hash(key));
+    }
+
+    public boolean mightContain(long key) {
+        return containsHash(Hashing.mix64(key));
+    }
+
+    public boolean mightContain(CharSequence key) {
+        return containsHash(Hashing.hash(key));
+    }
+
+    // The high 32 bits pick the block ((h * blocks) >> 32, Lemire's fast range reduction);
+    // the low 32 bits, times a salt per word, pick one bit in each word.
+    private int blockBase(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32) * WORDS_PER_BLOCK;
+    }
+
+    private boolean addHash(long hash) {
+        int base = blockBase(hash);
+        int low = (int) hash;
+        boolean changed = false;
+        for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+            long mask = 1L << ((low * SALTS[i]) >>> 26);
+            changed |= (words[base + i] & mask) == 0;
+            words[base + i] |= mask;
+        }
+        return changed;
+    }
+
+    private boolean containsHash(long hash) {
+        int base = blockBase(hash);
+        int low = (int) hash;
+        long missing = 0;
+        for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+            long mask = 1L << ((low * SALTS[i]) >>> 26);
+            missing |= ~words[base + i] & mask;
+        }
+        return missing == 0;
+    }
+
+    public void merge(BlockedBloomFilter other) {
+        if (other.words.length != words.length) {
+            throw new IllegalArgumentException("Incompatible filters: " + 64L * words.length + " vs "
+                    + 64L * other.words.length + " bits");
+        }
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    public long bitSize() {
+        return 64L * words.length;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buf = ByteBuffer.allocate(8 + 8 * words.length);
+        buf.putInt(MAGIC).putInt(words.length);
+        buf.asLongBuffer().put(words);
+        return buf.array();
+    }
+
+    public static BlockedBloomFilter fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized BlockedBloomFilter");
+        }
+        long[] words = new long[buf.getInt()];
+        buf.asLongBuffer().get(words);
+        return new BlockedBloomFilter(words);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BlockedBloomFilter && Arrays.equals(((BlockedBloomFilter) o).words, words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    public static void main(String[] args) {
+        BlockedBloomFilter seen = BlockedBloomFilter.create(1_000_000, 0.01);
+        for (long id = 0; id < 1_000_000; id++) {
+            seen.add(id);
+        }
+        long falsePositives = 0;
+        for (long id = 1_000_000; id < 2_000_000; id++) {
+            falsePositives += seen.mightContain(id) ? 1 : 0;
+        }
+
+        System.out.println(seen.mightContain(42)); // Output: true
+        System.out.println(seen.bitSize() / 1_000_000.0 + " bits/key"); // Output: 10.099712 bits/key
+        System.out.printf("fpp %.4f%n", falsePositives / 1e6); // Output: fpp 0.0100 (approximately)
+    }
+}
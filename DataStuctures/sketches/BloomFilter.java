@@ -0,0 +1,180 @@
+// A Bloom filter: "definitely not seen" or "probably seen" in a few bits per key, whatever the key size.
+// ✅ Sized from the expected number of keys and a target false-positive probability (FPP):
+//    m = -n ln(p) / ln(2)^2 bits and k = (m / n) ln(2) hash positions, e.g. ~9.6 bits/key at 1%
+// ✅ No false negatives; merge() ORs filters of the same shape (union of the key sets)
+// ✅ toByteArray()/fromBytes() for storing or shipping a filter
+// 🚫 No removal, and the FPP climbs past the target once more keys than expected are added
+// 🚫 k scattered bit reads per query (k cache misses on large filters): see BlockedBloomFilter
+//
+// Run (from DataStuctures/sketches/):  javac -d out Hashing.java BloomFilter.java
+//                                      java -cp out BloomFilter
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class BloomFilter {
+    private static final int MAGIC = 0x424C4F32; // "BLO2": 64-bit probe positions ("BLO1" used 32-bit halves)
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this(new long[(int) ((bits + 63) >>> 6)], bits, hashes);
+    }
+
+    private BloomFilter(long[] words, long bits, int hashes) {
+        this.words = words;
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || !(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("expectedInsertions=" + expectedInsertions + ", fpp=" + fpp);
+        }
+        long bits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        if (bits > 64L * (Integer.MAX_VALUE - 8)) {
+            throw new IllegalArgumentException("Filter too large: " + bits + " bits");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    // Returns true if the filter changed (the key was definitely not present before).
+    public boolean add(long key) {
+        return addHash(Hashing.mix64(key));
+    }
+
+    public boolean add(CharSequence key) {
+        return addHash(Hashing.hash(key));
+    }
+
+    public boolean mightContain(long key) {
+        return containsHash(Hashing.mix64(key));
+    }
+
+    public boolean mightContain(CharSequence key) {
+        return containsHash(Hashing.hash(key));
+    }
+
+    // Kirsch-Mitzenmacher: the k positions are h1 + i * h2. Both are full 64-bit values (h2 is a second
+    // mix of the hash, as Guava's 128-bit strategy uses both halves of a 128-bit hash): with two 32-bit
+    // halves the positions never got past about (i + 1) * 2^32, so filters over ~4e9 bits crowded
+    // their probes into the low end and missed the target FPP.
+    private boolean addHash(long hash) {
+        long step = Hashing.mix64(hash);
+        long combined = hash;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bits;
+            long mask = 1L << bit;
+            int w = (int) (bit >>> 6);
+            changed |= (words[w] & mask) == 0;
+            words[w] |= mask;
+            combined += step;
+        }
+        return changed;
+    }
+
+    private boolean containsHash(long hash) {
+        long step = Hashing.mix64(hash);
+        long combined = hash;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += step;
+        }
+        return true;
+    }
+
+    public void merge(BloomFilter other) {
+        if (other.bits != bits || other.hashes != hashes) {
+            throw new IllegalArgumentException("Incompatible filters: " + bits + "/" + hashes + " bits/hashes vs "
+                    + other.bits + "/" + other.hashes);
+        }
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    // FPP implied by the bits set so far: (fraction of bits set)^k.
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / bits, hashes);
+    }
+
+    // Estimated number of distinct keys added (Swamidass & Baldi): -m/k * ln(1 - bits set / m).
+    public long approximateElementCount() {
+        double fractionSet = (double) bitCount() / bits;
+        return Math.round(-bits / (double) hashes * Math.log1p(-fractionSet));
+    }
+
+    private long bitCount() {
+        long set = 0;
+        for (long word : words) {
+            set += Long.bitCount(word);
+        }
+        return set;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashFunctions() {
+        return hashes;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buf = ByteBuffer.allocate(16 + 8 * words.length);
+        buf.putInt(MAGIC).putInt(hashes).putLong(bits);
+        buf.asLongBuffer().put(words);
+        return buf.array();
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int magic = buf.getInt();
+        if (magic == 0x424C4F31) {
+            // same bits, different probe positions: reading it would turn members into false negatives
+            throw new IllegalArgumentException("BloomFilter from an older format (BLO1); rebuild it from the keys");
+        }
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized BloomFilter");
+        }
+        int hashes = buf.getInt();
+        long bits = buf.getLong();
+        long[] words = new long[(int) ((bits + 63) >>> 6)];
+        buf.asLongBuffer().get(words);
+        return new BloomFilter(words, bits, hashes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BloomFilter && ((BloomFilter) o).bits == bits && ((BloomFilter) o).hashes == hashes
+                && Arrays.equals(((BloomFilter) o).words, words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words) * 31 + hashes;
+    }
+
+    public static void main(String[] args) {
+        BloomFilter seen = BloomFilter.create(1_000_000, 0.01);
+        for (long id = 0; id < 1_000_000; id++) {
+            seen.add(id);
+        }
+        long falsePositives = 0;
+        for (long id = 1_000_000; id < 2_000_000; id++) {
+            falsePositives += seen.mightContain(id) ? 1 : 0;
+        }
+
+        System.out.println(seen.mightContain(42)); // Output: true
+        System.out.println(seen.bitSize() / 1_000_000.0 + " bits/key, k=" + seen.hashFunctions()); // Output: 9.585059 bits/key, k=7
+        System.out.printf("fpp %.4f%n", falsePositives / 1e6); // Output: fpp 0.0100 (approximately)
+        System.out.println(BloomFilter.fromBytes(seen.toByteArray()).equals(seen)); // Output: true
+    }
+}
@@ -0,0 +1,180 @@
+// Count-Min sketch: approximate per-key counts in fixed memory (Cormode & Muthukrishnan 2005).
+// depth rows of width counters; a key adds to one counter per row and reads back the row minimum.
+// ✅ estimate >= true count always, and <= true count + epsilon * total with probability 1 - delta,
+//    for width = ceil(e / epsilon) and depth = ceil(ln(1 / delta))
+// ✅ Conservative update (optional) only raises the counters that hold the minimum: much smaller
+//    overestimates on skewed streams
+// ✅ merge() adds counters (plain mode only), toByteArray()/fromBytes() for shipping sketches
+// 🚫 Small counts are swamped by heavy hitters' noise; no key listing (pair with a heap for top-k)
+//
+// Run (from DataStuctures/sketches/):  javac -d out Hashing.java CountMinSketch.java
+//                                      java -cp out CountMinSketch
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class CountMinSketch {
+    private static final int MAGIC = 0x434D5331; // "CMS1"
+
+    private final int width;
+    private final int depth;
+    private final boolean conservative;
+    private final long[] counters; // depth rows of width, row-major
+    private long total;
+
+    public CountMinSketch(int width, int depth, boolean conservative) {
+        if (width <= 0 || depth <= 0 || (long) width * depth > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("width=" + width + ", depth=" + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.conservative = conservative;
+        this.counters = new long[width * depth];
+    }
+
+    // Overestimates by at most epsilon * total with probability at least confidence.
+    public static CountMinSketch create(double epsilon, double confidence, boolean conservative) {
+        if (!(epsilon > 0 && epsilon < 1) || !(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("epsilon=" + epsilon + ", confidence=" + confidence);
+        }
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(Math.log(1 / (1 - confidence)));
+        return new CountMinSketch(width, depth, conservative);
+    }
+
+    public void add(long key) {
+        add(key, 1);
+    }
+
+    public void add(long key, long count) {
+        addHash(Hashing.mix64(key), count);
+    }
+
+    public void add(CharSequence key, long count) {
+        addHash(Hashing.hash(key), count);
+    }
+
+    public long estimateCount(long key) {
+        return estimateHash(Hashing.mix64(key));
+    }
+
+    public long estimateCount(CharSequence key) {
+        return estimateHash(Hashing.hash(key));
+    }
+
+    // Row i uses column (h1 + i * h2) mod width, from the two halves of one 64-bit hash.
+    private int index(int row, long h1, long h2) {
+        return row * width + (int) ((h1 + row * h2) % width);
+    }
+
+    private void addHash(long hash, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative count: " + count);
+        }
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        total += count;
+        if (!conservative) {
+            for (int row = 0; row < depth; row++) {
+                counters[index(row, h1, h2)] += count;
+            }
+            return;
+        }
+        long target = estimate(h1, h2) + count;
+        for (int row = 0; row < depth; row++) {
+            int i = index(row, h1, h2);
+            if (counters[i] < target) {
+                counters[i] = target;
+            }
+        }
+    }
+
+    private long estimateHash(long hash) {
+        return estimate(hash & 0xFFFFFFFFL, (hash >>> 32) | 1);
+    }
+
+    private long estimate(long h1, long h2) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(row, h1, h2)]);
+        }
+        return min;
+    }
+
+    // Counter-wise sum. Conservative sketches are not additive (their sum can underestimate), so
+    // only plain sketches merge.
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Shape mismatch: " + width + "x" + depth + " vs "
+                    + other.width + "x" + other.depth);
+        }
+        if (conservative || other.conservative) {
+            throw new IllegalStateException("Conservative-update sketches cannot be merged");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    public long totalCount() {
+        return total;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public long sizeInBytes() {
+        return 8L * counters.length;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buf = ByteBuffer.allocate(24 + 8 * counters.length);
+        buf.putInt(MAGIC).putInt(width).putInt(depth).putInt(conservative ? 1 : 0).putLong(total);
+        buf.asLongBuffer().put(counters);
+        return buf.array();
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized CountMinSketch");
+        }
+        CountMinSketch sketch = new CountMinSketch(buf.getInt(), buf.getInt(), buf.getInt() != 0);
+        sketch.total = buf.getLong();
+        buf.asLongBuffer().get(sketch.counters);
+        return sketch;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CountMinSketch)) {
+            return false;
+        }
+        CountMinSketch other = (CountMinSketch) o;
+        return width == other.width && depth == other.depth && conservative == other.conservative
+                && total == other.total && Arrays.equals(counters, other.counters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counters);
+    }
+
+    public static void main(String[] args) {
+        CountMinSketch clicks = CountMinSketch.create(0.001, 0.99, false);
+        for (int i = 0; i < 1_000_000; i++) {
+            clicks.add(i % 100 == 0 ? 7 : i); // page 7 gets 1% of the traffic
+        }
+
+        System.out.println(clicks.width() + "x" + clicks.depth()); // Output: 2719x5
+        System.out.println(clicks.estimateCount(7)); // Output: ~10000 (never below the true 10000)
+        System.out.println(clicks.estimateCount(123_456) <= 1 + 0.001 * clicks.totalCount()); // Output: true
+        System.out.println(CountMinSketch.fromBytes(clicks.toByteArray()).equals(clicks)); // Output: true
+    }
+}
@@ -0,0 +1,43 @@
+// 64-bit hashes shared by the sketches: every sketch reduces its input to one well-mixed long and
+// derives all the positions it needs from that.
+// ✅ mix64 is a bijection (SplitMix64 finalizer), so distinct long keys never collide before reduction
+// ✅ Strings and byte arrays are hashed with a 64-bit multiply-xorshift over 8-byte blocks
+// 🚫 Not a cryptographic hash: adversarial inputs can be crafted to collide
+
+import java.nio.charset.StandardCharsets;
+
+final class Hashing {
+    private static final long C1 = 0xBF58476D1CE4E5B9L;
+    private static final long C2 = 0x94D049BB133111EBL;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private Hashing() {
+    }
+
+    static long mix64(long key) {
+        long z = key + GOLDEN;
+        z = (z ^ (z >>> 30)) * C1;
+        z = (z ^ (z >>> 27)) * C2;
+        return z ^ (z >>> 31);
+    }
+
+    static long hash(CharSequence s) {
+        return hash(s.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long hash(byte[] bytes) {
+        long h = bytes.length * GOLDEN;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long block = (bytes[i] & 0xFFL) | (bytes[i + 1] & 0xFFL) << 8 | (bytes[i + 2] & 0xFFL) << 16
+                    | (bytes[i + 3] & 0xFFL) << 24 | (bytes[i + 4] & 0xFFL) << 32 | (bytes[i + 5] & 0xFFL) << 40
+                    | (bytes[i + 6] & 0xFFL) << 48 | (bytes[i + 7] & 0xFFL) << 56;
+            h = (h ^ mix64(block)) * C1;
+        }
+        long tail = 0;
+        for (int shift = 0; i < bytes.length; i++, shift += 8) {
+            tail |= (bytes[i] & 0xFFL) << shift;
+        }
+        return mix64(h ^ mix64(tail ^ C2));
+    }
+}
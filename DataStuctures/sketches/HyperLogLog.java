@@ -0,0 +1,162 @@
+// HyperLogLog: counts distinct keys in a fixed few KB, however many keys there are
+// (Flajolet, Fusy, Gandouet & Meunier 2007, with the 64-bit hash of Heule, Nunkesser & Hall 2013).
+// ✅ 2^p one-byte registers; standard error ≈ 1.04 / sqrt(2^p): p = 14 is 16 KB for ±0.8%
+// ✅ Ertl's improved estimator: accurate from 0 upwards, no linear-counting switch or bias tables
+// ✅ merge() takes the register-wise max: the sketch of a union, e.g. per-shard or per-day sketches
+// 🚫 Estimates only; cannot list or remove keys
+//
+// Run (from DataStuctures/sketches/):  javac -d out Hashing.java HyperLogLog.java
+//                                      java -cp out HyperLogLog
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class HyperLogLog {
+    private static final int MAGIC = 0x484C4C31; // "HLL1"
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be in [4, 18]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    // The smallest precision whose standard error is at most relativeError.
+    public static HyperLogLog withError(double relativeError) {
+        int p = (int) Math.ceil(2 * Math.log(1.04 / relativeError) / Math.log(2));
+        return new HyperLogLog(Math.max(4, Math.min(18, p)));
+    }
+
+    public void add(long key) {
+        addHash(Hashing.mix64(key));
+    }
+
+    public void add(CharSequence key) {
+        addHash(Hashing.hash(key));
+    }
+
+    // The top p bits pick the register; it keeps the longest run of leading zeros seen in the rest.
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long rest = (hash << precision) | (1L << (precision - 1)); // sentinel caps the rank at 64 - p + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    // Ertl's improved estimator ("New cardinality estimation algorithms for HyperLogLog sketches",
+    // 2017): works from the register histogram and needs neither linear counting nor bias tables,
+    // so there is no bias bump where the classic estimator switches over at ~2.5m.
+    public long cardinality() {
+        int m = registers.length;
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        for (byte r : registers) {
+            histogram[r]++;
+        }
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m * m / (2 * Math.log(2) * z));
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Precision mismatch: " + precision + " vs " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    public int sizeInBytes() {
+        return registers.length;
+    }
+
+    public byte[] toByteArray() {
+        return ByteBuffer.allocate(8 + registers.length).putInt(MAGIC).putInt(precision).put(registers).array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized HyperLogLog");
+        }
+        HyperLogLog hll = new HyperLogLog(buf.getInt());
+        buf.get(hll.registers);
+        return hll;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HyperLogLog && Arrays.equals(((HyperLogLog) o).registers, registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    public static void main(String[] args) {
+        HyperLogLog monday = new HyperLogLog(14);
+        HyperLogLog tuesday = new HyperLogLog(14);
+        for (long user = 0; user < 1_000_000; user++) {
+            monday.add(user);
+            tuesday.add(user + 500_000); // half of Tuesday's users also came on Monday
+        }
+        monday.merge(tuesday);
+
+        System.out.println(tuesday.sizeInBytes()); // Output: 16384
+        System.out.println(monday.cardinality()); // Output: 1529367 (true 1500000; standard error 0.8%)
+        System.out.println(HyperLogLog.fromBytes(monday.toByteArray()).equals(monday)); // Output: true
+    }
+}
@@ -0,0 +1,322 @@
+// Accuracy, memory and throughput of the sketches against the exact HashSet<Long> / HashMap<Long, Long>
+// they replace:
+//   bloom - BloomFilter and BlockedBloomFilter at 1% and 0.1% target FPP for 1M and 10M keys:
+//           measured FPP over 1M absent keys, bits/key, build and 1M-query times (ms, best of 3)
+//   hll   - HyperLogLog (p = 14, 16 KB) relative error over 5 streams each of 1e3 .. 1e7 distinct keys
+//   cms   - CountMinSketch (epsilon 1e-4, 99%) on a Zipf(1.1) stream of 10M items over 1M keys:
+//           overestimate on the top keys and across all keys, plain vs conservative update
+//   merge - sketches built on two halves and merged must equal the sketch of the whole stream, and
+//           every sketch must survive toByteArray()/fromBytes()
+// HashSet/HashMap sizes are retained heap (heap with the structure minus heap once it is dropped).
+//
+// Run (from DataStuctures/sketches/):
+//   javac -d out *.java
+//   java -Xmx3g -cp out SketchBenchmark
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class SketchBenchmark {
+    private static final int PROBES = 1_000_000;
+    private static final int HASH_SET_LIMIT = 1_000_000;
+
+    public static void main(String[] args) {
+        bloom();
+        hyperLogLog();
+        countMin();
+        mergeAndSerialize();
+        System.out.println("merge and serialization round trips: OK");
+    }
+
+    private static void bloom() {
+        System.out.printf("%-6s %-8s %-20s %9s %9s %9s %9s%n", "keys", "target", "structure", "fpp", "bits/key",
+                "build", "query");
+        for (int n : new int[]{1_000_000, 10_000_000}) {
+            long[] keys = new SplittableRandom(n).longs(n).toArray();
+            // inserted keys are even and absent keys odd, so the two never overlap
+            for (int i = 0; i < n; i++) {
+                keys[i] &= ~1L;
+            }
+            long[] absent = new SplittableRandom(-n).longs(PROBES).map(k -> k | 1).toArray();
+            long[] probes = new long[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                probes[i] = i % 2 == 0 ? keys[i % n] : absent[i];
+            }
+
+            for (double fpp : new double[]{0.01, 0.001}) {
+                Supplier<BloomFilter> standard = () -> {
+                    BloomFilter filter = BloomFilter.create(n, fpp);
+                    for (long k : keys) {
+                        filter.add(k);
+                    }
+                    return filter;
+                };
+                BloomFilter bf = standard.get();
+                long bfFalse = 0;
+                for (long k : absent) {
+                    bfFalse += bf.mightContain(k) ? 1 : 0;
+                }
+                report(n, fpp, "BloomFilter", (double) bfFalse / PROBES, (double) bf.bitSize() / n,
+                        time(() -> standard.get().bitSize()),
+                        time(() -> {
+                            long hits = 0;
+                            for (long p : probes) {
+                                hits += bf.mightContain(p) ? 1 : 0;
+                            }
+                            return hits;
+                        }));
+
+                Supplier<BlockedBloomFilter> blocked = () -> {
+                    BlockedBloomFilter filter = BlockedBloomFilter.create(n, fpp);
+                    for (long k : keys) {
+                        filter.add(k);
+                    }
+                    return filter;
+                };
+                BlockedBloomFilter bbf = blocked.get();
+                long bbfFalse = 0;
+                for (long k : absent) {
+                    bbfFalse += bbf.mightContain(k) ? 1 : 0;
+                }
+                report(n, fpp, "BlockedBloomFilter", (double) bbfFalse / PROBES, (double) bbf.bitSize() / n,
+                        time(() -> blocked.get().bitSize()),
+                        time(() -> {
+                            long hits = 0;
+                            for (long p : probes) {
+                                hits += bbf.mightContain(p) ? 1 : 0;
+                            }
+                            return hits;
+                        }));
+            }
+
+            if (n > HASH_SET_LIMIT) {
+                System.out.printf("%-6s %-8s %-20s %9s%n", label(n), "exact", "HashSet<Long>", "(skipped)");
+                continue;
+            }
+            Supplier<HashSet<Long>> exact = () -> {
+                HashSet<Long> set = new HashSet<>();
+                for (long k : keys) {
+                    set.add(k);
+                }
+                return set;
+            };
+            HashSet<Long> set = exact.get();
+            report(n, 0, "HashSet<Long>", 0, 8.0 * bytes(exact) / n,
+                    time(() -> exact.get().size()),
+                    time(() -> {
+                        long hits = 0;
+                        for (long p : probes) {
+                            hits += set.contains(p) ? 1 : 0;
+                        }
+                        return hits;
+                    }));
+        }
+        System.out.println();
+    }
+
+    private static void hyperLogLog() {
+        System.out.printf("%-6s %12s %12s %10s %10s %12s%n", "keys", "mean |err|", "max |err|", "std err",
+                "HLL KB", "HashSet MB");
+        SplittableRandom random = new SplittableRandom(14);
+        for (int n = 1_000; n <= 10_000_000; n *= 10) {
+            double sumError = 0;
+            double maxError = 0;
+            HyperLogLog hll = null;
+            for (int stream = 0; stream < 5; stream++) {
+                hll = new HyperLogLog(14);
+                long start = random.nextLong();
+                for (long i = 0; i < n; i++) {
+                    hll.add(start + i); // consecutive ids: the hash must spread them by itself
+                }
+                double error = Math.abs(hll.cardinality() - n) / (double) n;
+                sumError += error;
+                maxError = Math.max(maxError, error);
+            }
+            int size = n;
+            String exact = n > HASH_SET_LIMIT ? "-" : String.format("%.1f", bytes(() -> {
+                HashSet<Long> set = new HashSet<>();
+                for (long i = 0; i < size; i++) {
+                    set.add(i);
+                }
+                return set;
+            }) / 1e6);
+            System.out.printf("%-6s %11.2f%% %11.2f%% %9.2f%% %10.1f %12s%n", label(n), 100 * sumError / 5,
+                    100 * maxError, 100 * hll.standardError(), hll.sizeInBytes() / 1024.0, exact);
+        }
+        System.out.println();
+    }
+
+    private static void countMin() {
+        int keys = 1_000_000;
+        int items = 10_000_000;
+        long[] stream = zipf(keys, 1.1, items, new SplittableRandom(7));
+        HashMap<Long, Long> exact = new HashMap<>();
+        for (long k : stream) {
+            exact.merge(k, 1L, Long::sum);
+        }
+        long[] top = exact.entrySet().stream()
+                .sorted((x, y) -> Long.compare(y.getValue(), x.getValue()))
+                .limit(10).mapToLong(e -> e.getKey()).toArray();
+
+        System.out.printf("%-14s %8s %10s %14s %14s %12s %10s%n", "update", "width", "MB", "top-10 err",
+                "mean over", "within eps*N", "add");
+        for (boolean conservative : new boolean[]{false, true}) {
+            Supplier<CountMinSketch> build = () -> {
+                CountMinSketch sketch = CountMinSketch.create(1e-4, 0.99, conservative);
+                for (long k : stream) {
+                    sketch.add(k);
+                }
+                return sketch;
+            };
+            CountMinSketch cms = build.get();
+            double topError = 0;
+            for (long k : top) {
+                topError += (double) (cms.estimateCount(k) - exact.get(k)) / exact.get(k);
+            }
+            long over = 0;
+            long within = 0;
+            long bound = (long) (1e-4 * cms.totalCount());
+            for (var e : exact.entrySet()) {
+                long diff = cms.estimateCount(e.getKey()) - e.getValue();
+                if (diff < 0) {
+                    throw new AssertionError("Count-Min underestimated key " + e.getKey());
+                }
+                over += diff;
+                within += diff <= bound ? 1 : 0;
+            }
+            System.out.printf("%-14s %8d %10.1f %13.4f%% %14.1f %11.2f%% %10d%n",
+                    conservative ? "conservative" : "plain", cms.width(), cms.sizeInBytes() / 1e6,
+                    100 * topError / top.length, (double) over / exact.size(), 100.0 * within / exact.size(),
+                    time(() -> build.get().totalCount()));
+        }
+        System.out.printf("exact HashMap<Long, Long>: %d keys, %.1f MB%n%n", exact.size(), bytes(() -> {
+            HashMap<Long, Long> map = new HashMap<>();
+            for (long k : stream) {
+                map.merge(k, 1L, Long::sum);
+            }
+            return map;
+        }) / 1e6);
+    }
+
+    // Zipf(s) over ranks 0..n-1 by inverting the cumulative distribution; ranks are scrambled into
+    // keys so the popular keys are not simply the small ones.
+    private static long[] zipf(int n, double s, int count, SplittableRandom random) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, s);
+            cdf[i] = sum;
+        }
+        long[] out = new long[count];
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            out[i] = (rank < 0 ? -rank - 1 : rank) * 0x9E3779B97F4A7C15L;
+        }
+        return out;
+    }
+
+    private static void mergeAndSerialize() {
+        long[] keys = new SplittableRandom(45).longs(200_000).toArray();
+        int half = keys.length / 2;
+
+        BloomFilter bfWhole = BloomFilter.create(keys.length, 0.01);
+        BloomFilter bfLeft = BloomFilter.create(keys.length, 0.01);
+        BloomFilter bfRight = BloomFilter.create(keys.length, 0.01);
+        BlockedBloomFilter bbfWhole = BlockedBloomFilter.create(keys.length, 0.01);
+        BlockedBloomFilter bbfLeft = BlockedBloomFilter.create(keys.length, 0.01);
+        BlockedBloomFilter bbfRight = BlockedBloomFilter.create(keys.length, 0.01);
+        HyperLogLog hllWhole = new HyperLogLog(12);
+        HyperLogLog hllLeft = new HyperLogLog(12);
+        HyperLogLog hllRight = new HyperLogLog(12);
+        CountMinSketch cmsWhole = CountMinSketch.create(1e-3, 0.99, false);
+        CountMinSketch cmsLeft = CountMinSketch.create(1e-3, 0.99, false);
+        CountMinSketch cmsRight = CountMinSketch.create(1e-3, 0.99, false);
+        for (int i = 0; i < keys.length; i++) {
+            long k = keys[i];
+            String s = Long.toHexString(k);
+            bfWhole.add(k);
+            bbfWhole.add(s);
+            hllWhole.add(k);
+            cmsWhole.add(s, 1 + (i & 3));
+            if (i < half) {
+                bfLeft.add(k);
+                bbfLeft.add(s);
+                hllLeft.add(k);
+                cmsLeft.add(s, 1 + (i & 3));
+            } else {
+                bfRight.add(k);
+                bbfRight.add(s);
+                hllRight.add(k);
+                cmsRight.add(s, 1 + (i & 3));
+            }
+        }
+        bfLeft.merge(bfRight);
+        bbfLeft.merge(bbfRight);
+        hllLeft.merge(hllRight);
+        cmsLeft.merge(cmsRight);
+
+        check("BloomFilter merge", bfLeft.equals(bfWhole));
+        check("BlockedBloomFilter merge", bbfLeft.equals(bbfWhole));
+        check("HyperLogLog merge", hllLeft.equals(hllWhole));
+        check("CountMinSketch merge", cmsLeft.equals(cmsWhole));
+        check("BloomFilter round trip", BloomFilter.fromBytes(bfWhole.toByteArray()).equals(bfWhole));
+        check("BlockedBloomFilter round trip",
+                BlockedBloomFilter.fromBytes(bbfWhole.toByteArray()).equals(bbfWhole));
+        check("HyperLogLog round trip", HyperLogLog.fromBytes(hllWhole.toByteArray()).equals(hllWhole));
+        check("CountMinSketch round trip", CountMinSketch.fromBytes(cmsWhole.toByteArray()).equals(cmsWhole));
+        for (long k : keys) {
+            check("BloomFilter false negative", bfWhole.mightContain(k));
+            check("BlockedBloomFilter false negative", bbfWhole.mightContain(Long.toHexString(k)));
+        }
+    }
+
+    private static void check(String what, boolean ok) {
+        if (!ok) {
+            throw new AssertionError(what + " failed");
+        }
+    }
+
+    private static void report(int n, double target, String name, double fpp, double bitsPerKey, long build,
+                               long query) {
+        System.out.printf("%-6s %-8s %-20s %8.3f%% %9.2f %9d %9d%n", label(n),
+                target == 0 ? "exact" : target * 100 + "%", name, 100 * fpp, bitsPerKey, build, query);
+    }
+
+    private static String label(long n) {
+        return n >= 1_000_000 ? n / 1_000_000 + "M" : n / 1_000 + "K";
+    }
+
+    private static long time(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best / 1_000_000;
+    }
+
+    // Heap with the structure minus heap once it is dropped: immune to garbage left by earlier runs.
+    private static long bytes(Supplier<?> build) {
+        Object[] holder = {build.get()};
+        long with = usedHeap();
+        holder[0] = null;
+        return with - usedHeap();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,73 @@
+// A single-threaded stack backed by ArrayDeque (java.util.Stack without Vector's locking).
+// ✅ push/pop/peek are O(1) and unsynchronized; elements sit in one array, not in nodes
+// ✅ Same empty-stack behavior as java.util.Stack (EmptyStackException)
+// 🚫 Not thread-safe: confine it to one thread, or use LockFreeStack for shared access
+
+import java.util.ArrayDeque;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+
+public class ArrayStack<E> implements Iterable<E> {
+    private final ArrayDeque<E> elements;
+
+    public ArrayStack() {
+        this.elements = new ArrayDeque<>();
+    }
+
+    public ArrayStack(int expectedSize) {
+        this.elements = new ArrayDeque<>(expectedSize);
+    }
+
+    public void push(E item) {
+        elements.addFirst(item); // rejects null, like every Deque
+    }
+
+    public E pop() {
+        E item = elements.pollFirst();
+        if (item == null) {
+            throw new EmptyStackException();
+        }
+        return item;
+    }
+
+    public E peek() {
+        E item = elements.peekFirst();
+        if (item == null) {
+            throw new EmptyStackException();
+        }
+        return item;
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public void clear() {
+        elements.clear();
+    }
+
+    // Top to bottom, i.e. in pop order.
+    @Override
+    public Iterator<E> iterator() {
+        return elements.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return elements.toString();
+    }
+
+    public static void main(String[] args) {
+        ArrayStack<Integer> stack = new ArrayStack<>();
+        stack.push(10);
+        stack.push(20);
+        stack.push(30);
+
+        System.out.println(stack.pop()); // Output: 30
+        System.out.println(stack.peek()); // Output: 20 (top element)
+    }
+}
@@ -0,0 +1,162 @@
+// A lock-free stack (Treiber stack) with an elimination array for high contention.
+// ✅ push/pop are a single CAS on the head; no thread ever blocks another
+// ✅ When the CAS fails, the thread tries to meet an opposite operation in the elimination array:
+//    a push and a pop that meet cancel out without touching the head at all
+// ✅ pop()/peek() return null when empty, like ConcurrentLinkedDeque.poll()
+// 🚫 null elements are not allowed; size() is O(n) and only a snapshot
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+public class LockFreeStack<E> {
+    private static final Object POP = new Object(); // what a pop offers in the elimination array
+    private static final Object TIMEOUT = new Object();
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next; // written before the publishing CAS, never changed after
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final AtomicReference<Node<E>> head = new AtomicReference<>();
+    private final Exchanger[] elimination;
+    private final long eliminationNanos;
+
+    // Elimination width of half the cores, each waiting at most a few microseconds for a partner.
+    public LockFreeStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 2_000);
+    }
+
+    // eliminationWidth 0 gives a plain Treiber stack with no elimination.
+    public LockFreeStack(int eliminationWidth, long eliminationNanos) {
+        if (eliminationWidth < 0) {
+            throw new IllegalArgumentException("eliminationWidth must be >= 0: " + eliminationWidth);
+        }
+        this.elimination = new Exchanger[eliminationWidth];
+        for (int i = 0; i < eliminationWidth; i++) {
+            elimination[i] = new Exchanger();
+        }
+        this.eliminationNanos = eliminationNanos;
+    }
+
+    public void push(E item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        Node<E> node = new Node<>(item);
+        while (true) {
+            Node<E> top = head.get();
+            node.next = top;
+            if (head.compareAndSet(top, node)) {
+                return;
+            }
+            if (eliminate(item) == POP) {
+                return; // handed straight to a concurrent pop
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        while (true) {
+            Node<E> top = head.get();
+            if (top == null) {
+                return null;
+            }
+            if (head.compareAndSet(top, top.next)) {
+                return top.item;
+            }
+            Object other = eliminate(POP);
+            if (other != POP && other != TIMEOUT) {
+                return (E) other; // taken straight from a concurrent push
+            }
+        }
+    }
+
+    public E peek() {
+        Node<E> top = head.get();
+        return top == null ? null : top.item;
+    }
+
+    public boolean isEmpty() {
+        return head.get() == null;
+    }
+
+    public int size() {
+        int count = 0;
+        for (Node<E> node = head.get(); node != null; node = node.next) {
+            count++;
+        }
+        return count;
+    }
+
+    // Meets another thread at a random slot; returns its offer, or TIMEOUT when nobody came.
+    private Object eliminate(Object offer) {
+        if (elimination.length == 0) {
+            return TIMEOUT;
+        }
+        Exchanger slot = elimination[ThreadLocalRandom.current().nextInt(elimination.length)];
+        return slot.exchange(offer, eliminationNanos);
+    }
+
+    // A lock-free one-slot exchanger (Herlihy & Shavit, "The Art of Multiprocessor Programming", 11.4).
+    private static final class Exchanger {
+        private static final int EMPTY = 0;
+        private static final int WAITING = 1;
+        private static final int BUSY = 2;
+
+        private final AtomicStampedReference<Object> slot = new AtomicStampedReference<>(null, EMPTY);
+
+        Object exchange(Object mine, long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            int[] state = new int[1];
+            while (System.nanoTime() < deadline) {
+                Object theirs = slot.get(state);
+                switch (state[0]) {
+                    case EMPTY:
+                        if (slot.compareAndSet(theirs, mine, EMPTY, WAITING)) {
+                            while (System.nanoTime() < deadline) {
+                                theirs = slot.get(state);
+                                if (state[0] == BUSY) {
+                                    slot.set(null, EMPTY);
+                                    return theirs;
+                                }
+                                Thread.onSpinWait();
+                            }
+                            if (slot.compareAndSet(mine, null, WAITING, EMPTY)) {
+                                return TIMEOUT;
+                            }
+                            // a partner arrived just before we gave up
+                            theirs = slot.getReference();
+                            slot.set(null, EMPTY);
+                            return theirs;
+                        }
+                        break;
+                    case WAITING:
+                        if (slot.compareAndSet(theirs, mine, WAITING, BUSY)) {
+                            return theirs;
+                        }
+                        break;
+                    default: // BUSY: two other threads are mid-exchange
+                        Thread.onSpinWait();
+                        break;
+                }
+            }
+            return TIMEOUT;
+        }
+    }
+
+    public static void main(String[] args) {
+        LockFreeStack<Integer> stack = new LockFreeStack<>();
+        stack.push(10);
+        stack.push(20);
+        stack.push(30);
+
+        System.out.println(stack.pop()); // Output: 30
+        System.out.println(stack.peek()); // Output: 20 (top element)
+    }
+}
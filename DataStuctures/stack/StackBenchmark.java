@@ -0,0 +1,135 @@
+// Throughput of java.util.Stack vs ConcurrentLinkedDeque vs LockFreeStack (with and without elimination)
+// from 1 to 64 threads, plus ArrayStack on a single thread.
+// Every thread runs push/pop pairs against one shared stack for a fixed time; the table shows
+// million operations per second summed over all threads (best of 3 runs).
+//
+// Run (from DataStuctures/stack/):
+//   javac -d out ArrayStack.java LockFreeStack.java StackBenchmark.java
+//   java -cp out StackBenchmark            (or: java -cp out StackBenchmark 1 4 16 64)
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class StackBenchmark {
+    private static final long RUN_MILLIS = 1_000;
+    private static final int PREFILL = 1_000;
+
+    // The operations one benchmark thread performs: push then pop.
+    interface SharedStack {
+        void push(Integer item);
+
+        Integer pop();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] threadCounts = args.length == 0 ? new int[]{1, 2, 4, 8, 16, 32, 64} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            threadCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.printf("%-24s", "Mops/s  threads:");
+        for (int threads : threadCounts) {
+            System.out.printf("%9d", threads);
+        }
+        System.out.println();
+
+        row("java.util.Stack", threadCounts, () -> {
+            Stack<Integer> stack = new Stack<>();
+            return adapt(stack::push, () -> stack.isEmpty() ? null : stack.pop());
+        });
+        row("ConcurrentLinkedDeque", threadCounts, () -> {
+            ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+            return adapt(deque::push, deque::pollFirst);
+        });
+        row("LockFreeStack (Treiber)", threadCounts, () -> {
+            LockFreeStack<Integer> stack = new LockFreeStack<>(0, 0);
+            return adapt(stack::push, stack::pop);
+        });
+        row("LockFreeStack (elim.)", threadCounts, () -> {
+            LockFreeStack<Integer> stack = new LockFreeStack<>();
+            return adapt(stack::push, stack::pop);
+        });
+        row("ArrayStack (1 thread)", new int[]{1}, () -> {
+            ArrayStack<Integer> stack = new ArrayStack<>();
+            return adapt(stack::push, () -> stack.isEmpty() ? null : stack.pop());
+        });
+    }
+
+    private static SharedStack adapt(Consumer<Integer> push, Supplier<Integer> pop) {
+        return new SharedStack() {
+            public void push(Integer item) {
+                push.accept(item);
+            }
+
+            public Integer pop() {
+                return pop.get();
+            }
+        };
+    }
+
+    private static void row(String name, int[] threadCounts, Supplier<SharedStack> factory)
+            throws InterruptedException {
+        System.out.printf("%-24s", name);
+        for (int threads : threadCounts) {
+            double best = 0;
+            for (int round = 0; round < 3; round++) {
+                best = Math.max(best, measure(factory.get(), threads));
+            }
+            System.out.printf("%9.1f", best);
+        }
+        System.out.println();
+    }
+
+    private static double measure(SharedStack stack, int threads) throws InterruptedException {
+        for (int i = 0; i < PREFILL; i++) {
+            stack.push(i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Integer item = t; // boxed once so the loop measures the stack, not allocation of Integers
+            Thread worker = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long local = 0;
+                long misses = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 256; i++) {
+                        stack.push(item);
+                        if (stack.pop() == null) {
+                            misses++;
+                        }
+                    }
+                    local += 512;
+                }
+                ops.add(local - misses);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        ready.await();
+        long t0 = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        return ops.sum() / seconds / 1e6;
+    }
+}
@@ -1,8 +1,10 @@
 // Uses Stack class in Java (java.util.Stack).
 // ✅ Push/pop operations are O(1)
 // 🚫 Not efficient for large-scale data (use Deque instead)
+// 🔹 Every push/pop/peek locks (Stack extends Vector): see ArrayStack for single-threaded use
+//    and LockFreeStack for stacks shared between threads
 
-import java.utils.Stack;
+import java.util.Stack;
 public class stack{
     public static void main(String[] args){
    
@@ -0,0 +1,251 @@
+// LongBPlusTreeMap / LongBPlusTreeSet vs TreeMap<Long, V> / TreeSet<Long>.
+// Reports random-order build, bulk load from sorted keys, point lookups (half hits, half misses),
+// short range scans (1,000 ranges of ~100 keys), a full in-order scan and retained heap per entry.
+// Map values are one shared object, so only the structures' own memory is counted.
+//
+// Run (from DataStuctures/treeSet/):
+//   javac -d out LongBPlusTreeMap.java LongBPlusTreeSet.java BPlusTreeBenchmark.java
+//   java -Xmx4g -cp out BPlusTreeBenchmark [n]
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class BPlusTreeBenchmark {
+    private static final Object VALUE = new Object();
+    private static final int RANGES = 1_000;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        long[] keys = random.longs(n, 0, 4L * n).distinct().toArray();
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        long[] probes = new long[2 * n];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i % 2 == 0 ? keys[random.nextInt(keys.length)] : random.nextLong(4L * n);
+        }
+        long[] rangeStarts = random.longs(RANGES, 0, 4L * n).toArray();
+        long rangeWidth = 400; // ~100 keys at a density of 1 key per 4 values
+
+        System.out.printf("%,d distinct keys (ms, best of 5)%n", keys.length);
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %9s%n",
+                "structure", "build", "bulk", "lookups", "ranges", "scan", "B/entry");
+
+        TreeMap<Long, Object> treeMap = new TreeMap<>();
+        for (long k : keys) {
+            treeMap.put(k, VALUE);
+        }
+        report("TreeMap<Long,Object>",
+                time(() -> {
+                    TreeMap<Long, Object> m = new TreeMap<>();
+                    for (long k : keys) {
+                        m.put(k, VALUE);
+                    }
+                    return m.size();
+                }),
+                -1,
+                time(() -> {
+                    long hits = 0;
+                    for (long p : probes) {
+                        hits += treeMap.get(p) != null ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> {
+                    long sum = 0;
+                    for (long from : rangeStarts) {
+                        for (Map.Entry<Long, Object> e : treeMap.subMap(from, from + rangeWidth).entrySet()) {
+                            sum += e.getKey();
+                        }
+                    }
+                    return sum;
+                }),
+                time(() -> {
+                    long sum = 0;
+                    for (long k : treeMap.keySet()) {
+                        sum += k;
+                    }
+                    return sum;
+                }),
+                bytesPerEntry(() -> {
+                    TreeMap<Long, Object> m = new TreeMap<>();
+                    for (long k : keys) {
+                        m.put(k, VALUE);
+                    }
+                    return m;
+                }, keys.length));
+
+        LongBPlusTreeMap<Object> bTree = LongBPlusTreeMap.bulkLoad(sorted, null);
+        for (long k : keys) {
+            bTree.put(k, VALUE);
+        }
+        report("LongBPlusTreeMap",
+                time(() -> {
+                    LongBPlusTreeMap<Object> m = new LongBPlusTreeMap<>();
+                    for (long k : keys) {
+                        m.put(k, VALUE);
+                    }
+                    return m.size();
+                }),
+                time(() -> {
+                    Object[] values = new Object[sorted.length];
+                    Arrays.fill(values, VALUE);
+                    return LongBPlusTreeMap.bulkLoad(sorted, values).size();
+                }),
+                time(() -> {
+                    long hits = 0;
+                    for (long p : probes) {
+                        hits += bTree.get(p) != null ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> {
+                    long[] sum = {0};
+                    for (long from : rangeStarts) {
+                        bTree.forEachInRange(from, from + rangeWidth, (k, v) -> sum[0] += k);
+                    }
+                    return sum[0];
+                }),
+                time(() -> {
+                    long sum = 0;
+                    LongBPlusTreeMap.Cursor<Object> cursor = bTree.cursor();
+                    while (cursor.next()) {
+                        sum += cursor.key();
+                    }
+                    return sum;
+                }),
+                bytesPerEntry(() -> {
+                    LongBPlusTreeMap<Object> m = new LongBPlusTreeMap<>();
+                    for (long k : keys) {
+                        m.put(k, VALUE);
+                    }
+                    return m;
+                }, keys.length));
+
+        TreeSet<Long> treeSet = new TreeSet<>();
+        for (long k : keys) {
+            treeSet.add(k);
+        }
+        report("TreeSet<Long>",
+                time(() -> {
+                    TreeSet<Long> s = new TreeSet<>();
+                    for (long k : keys) {
+                        s.add(k);
+                    }
+                    return s.size();
+                }),
+                -1,
+                time(() -> {
+                    long hits = 0;
+                    for (long p : probes) {
+                        hits += treeSet.contains(p) ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> {
+                    long sum = 0;
+                    for (long from : rangeStarts) {
+                        for (long k : treeSet.subSet(from, from + rangeWidth)) {
+                            sum += k;
+                        }
+                    }
+                    return sum;
+                }),
+                time(() -> {
+                    long sum = 0;
+                    for (long k : treeSet) {
+                        sum += k;
+                    }
+                    return sum;
+                }),
+                bytesPerEntry(() -> {
+                    TreeSet<Long> s = new TreeSet<>();
+                    for (long k : keys) {
+                        s.add(k);
+                    }
+                    return s;
+                }, keys.length));
+
+        LongBPlusTreeSet bSet = LongBPlusTreeSet.bulkLoad(sorted);
+        report("LongBPlusTreeSet",
+                time(() -> {
+                    LongBPlusTreeSet s = new LongBPlusTreeSet();
+                    for (long k : keys) {
+                        s.add(k);
+                    }
+                    return s.size();
+                }),
+                time(() -> LongBPlusTreeSet.bulkLoad(sorted).size()),
+                time(() -> {
+                    long hits = 0;
+                    for (long p : probes) {
+                        hits += bSet.contains(p) ? 1 : 0;
+                    }
+                    return hits;
+                }),
+                time(() -> {
+                    long[] sum = {0};
+                    for (long from : rangeStarts) {
+                        bSet.forEachInRange(from, from + rangeWidth, k -> sum[0] += k);
+                    }
+                    return sum[0];
+                }),
+                time(() -> {
+                    long[] sum = {0};
+                    bSet.forEach(k -> sum[0] += k);
+                    return sum[0];
+                }),
+                bytesPerEntry(() -> {
+                    LongBPlusTreeSet s = new LongBPlusTreeSet();
+                    for (long k : keys) {
+                        s.add(k);
+                    }
+                    return s;
+                }, keys.length));
+        System.out.printf("%nbulk-loaded set: %.1f B/entry%n", bytesPerEntry(() -> LongBPlusTreeSet.bulkLoad(sorted),
+                keys.length));
+    }
+
+    private static void report(String name, long build, long bulk, long lookups, long ranges, long scan,
+                               double bytes) {
+        System.out.printf("%-22s %9d %9s %9d %9d %9d %9.1f%n", name, build, bulk < 0 ? "-" : Long.toString(bulk),
+                lookups, ranges, scan, bytes);
+    }
+
+    private static long time(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best / 1_000_000;
+    }
+
+    private static double bytesPerEntry(Supplier<Object> build, int n) {
+        long before = usedHeap();
+        Object structure = build.get();
+        long bytes = usedHeap() - before;
+        if (System.identityHashCode(structure) == 42) {
+            System.out.print(""); // keep the structure reachable until after the measurement
+        }
+        return (double) bytes / n;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
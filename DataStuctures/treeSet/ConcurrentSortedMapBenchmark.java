@@ -0,0 +1,189 @@
+// Throughput of LongConcurrentSkipListMap vs ConcurrentSkipListMap<Long, V> vs a synchronized TreeMap
+// from 1 to 16 threads, on a map prefilled with half of a 1M-key universe.
+// "mixed": 80% get, 10% put, 10% remove on random keys (million operations per second).
+// "scans": 90% range scans of ~100 entries, 10% put/remove (thousand scans per second).
+// Every thread runs against one shared map for a fixed time; best of 3 runs.
+//
+// Run (from DataStuctures/treeSet/):
+//   javac -d out LongBPlusTreeMap.java LongConcurrentSkipListMap.java ConcurrentSortedMapBenchmark.java
+//   java -cp out ConcurrentSortedMapBenchmark            (or: java -cp out ConcurrentSortedMapBenchmark 1 4 16)
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class ConcurrentSortedMapBenchmark {
+    private static final long RUN_MILLIS = 1_000;
+    private static final int UNIVERSE = 1 << 20;
+    private static final int SCAN_WIDTH = 200; // ~100 entries at half density
+    private static final Object VALUE = new Object();
+
+    // The operations one benchmark thread performs.
+    interface SharedMap {
+        boolean get(long key);
+
+        void put(long key);
+
+        void remove(long key);
+
+        long scan(long fromInclusive, long toExclusive);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] threadCounts = args.length == 0 ? new int[]{1, 2, 4, 8, 16} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            threadCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        for (boolean scans : new boolean[]{false, true}) {
+            System.out.printf("%-28s", (scans ? "scans: Kscans/s" : "mixed: Mops/s") + "  threads:");
+            for (int threads : threadCounts) {
+                System.out.printf("%9d", threads);
+            }
+            System.out.println();
+
+            row("LongConcurrentSkipListMap", threadCounts, scans, () -> {
+                LongConcurrentSkipListMap<Object> map = new LongConcurrentSkipListMap<>();
+                return new SharedMap() {
+                    public boolean get(long key) {
+                        return map.get(key) != null;
+                    }
+
+                    public void put(long key) {
+                        map.put(key, VALUE);
+                    }
+
+                    public void remove(long key) {
+                        map.remove(key);
+                    }
+
+                    public long scan(long fromInclusive, long toExclusive) {
+                        long[] sum = {0};
+                        map.forEachInRange(fromInclusive, toExclusive, (k, v) -> sum[0] += k);
+                        return sum[0];
+                    }
+                };
+            });
+            row("ConcurrentSkipListMap", threadCounts, scans, () -> adapt(new ConcurrentSkipListMap<>()));
+            row("synchronized TreeMap", threadCounts, scans,
+                    () -> adapt(Collections.synchronizedNavigableMap(new TreeMap<>())));
+            System.out.println();
+        }
+    }
+
+    // A synchronized map's views must be iterated while holding the map's lock, as its javadoc says.
+    private static SharedMap adapt(NavigableMap<Long, Object> map) {
+        boolean synchronizedMap = !(map instanceof ConcurrentSkipListMap);
+        return new SharedMap() {
+            public boolean get(long key) {
+                return map.get(key) != null;
+            }
+
+            public void put(long key) {
+                map.put(key, VALUE);
+            }
+
+            public void remove(long key) {
+                map.remove(key);
+            }
+
+            public long scan(long fromInclusive, long toExclusive) {
+                if (synchronizedMap) {
+                    synchronized (map) {
+                        return sum(map.subMap(fromInclusive, toExclusive));
+                    }
+                }
+                return sum(map.subMap(fromInclusive, toExclusive));
+            }
+
+            private long sum(Map<Long, Object> range) {
+                long sum = 0;
+                for (long k : range.keySet()) {
+                    sum += k;
+                }
+                return sum;
+            }
+        };
+    }
+
+    private static void row(String name, int[] threadCounts, boolean scans, Supplier<SharedMap> factory)
+            throws InterruptedException {
+        System.out.printf("%-28s", name);
+        for (int threads : threadCounts) {
+            double best = 0;
+            for (int round = 0; round < 3; round++) {
+                best = Math.max(best, measure(factory.get(), threads, scans));
+            }
+            System.out.printf(scans ? "%9.0f" : "%9.2f", best);
+        }
+        System.out.println();
+    }
+
+    private static double measure(SharedMap map, int threads, boolean scans) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < UNIVERSE / 2; i++) {
+            map.put(random.nextInt(UNIVERSE));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        LongAdder checksum = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long local = 0;
+                long sum = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 64; i++) {
+                        long key = rnd.nextInt(UNIVERSE);
+                        int op = rnd.nextInt(10);
+                        if (op == 0) {
+                            map.put(key);
+                        } else if (op == 1) {
+                            map.remove(key);
+                        } else if (scans) {
+                            sum += map.scan(key, key + SCAN_WIDTH);
+                        } else if (map.get(key)) {
+                            sum++;
+                        }
+                    }
+                    local += 64;
+                }
+                ops.add(local);
+                checksum.add(sum);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        ready.await();
+        long t0 = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        if (checksum.sum() == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return ops.sum() / seconds / (scans ? 1e3 : 1e6);
+    }
+}
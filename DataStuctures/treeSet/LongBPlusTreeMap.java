@@ -0,0 +1,628 @@
+// An in-memory B+-tree from primitive long keys to values (a TreeMap<Long, V> without per-entry nodes).
+// ✅ Up to 64 keys per node in a long[]: a lookup does ~3-4 small binary searches over contiguous
+//    memory instead of ~20 pointer hops through red-black nodes
+// ✅ Leaves are linked, so range scans and full iteration walk arrays in order
+// ✅ firstKey/lastKey/floorKey/ceilingKey/higherKey/lowerKey, cursors, bulk load from sorted input
+// ✅ ~12-20 bytes per entry vs ~40 (+16 per boxed Long) for TreeMap; values[] is only allocated for
+//    leaves that hold a non-null value, so LongBPlusTreeSet pays for keys only
+// 🚫 Not thread-safe; cursors are invalidated by modification
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+public class LongBPlusTreeMap<V> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private abstract static class Node {
+        int count; // keys in a leaf, children in an inner node
+    }
+
+    private static final class Leaf extends Node {
+        final long[] keys;
+        Object[] values; // null while every value in this leaf is null
+        Leaf prev;
+        Leaf next;
+
+        Leaf(int capacity) {
+            keys = new long[capacity];
+        }
+
+        Object value(int i) {
+            return values == null ? null : values[i];
+        }
+
+        void setValue(int i, Object value) {
+            if (values == null) {
+                if (value == null) {
+                    return;
+                }
+                values = new Object[keys.length];
+            }
+            values[i] = value;
+        }
+
+        void insert(int i, long key, Object value) {
+            System.arraycopy(keys, i, keys, i + 1, count - i);
+            keys[i] = key;
+            if (values != null) {
+                System.arraycopy(values, i, values, i + 1, count - i);
+                values[i] = null;
+            }
+            count++;
+            setValue(i, value);
+        }
+
+        void remove(int i) {
+            System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+            if (values != null) {
+                System.arraycopy(values, i + 1, values, i, count - i - 1);
+                values[count - 1] = null;
+            }
+            count--;
+        }
+
+        // Appends keys[from, count) to dst and drops them from this leaf.
+        void moveTail(int from, Leaf dst) {
+            int n = count - from;
+            System.arraycopy(keys, from, dst.keys, dst.count, n);
+            if (values != null) {
+                if (dst.values == null) {
+                    dst.values = new Object[dst.keys.length];
+                }
+                System.arraycopy(values, from, dst.values, dst.count, n);
+                Arrays.fill(values, from, count, null);
+            }
+            dst.count += n;
+            count = from;
+        }
+    }
+
+    // children[i] holds keys < keys[i] <= keys in children[i + 1]
+    private static final class Inner extends Node {
+        final long[] keys;
+        final Node[] children;
+
+        Inner(int capacity) {
+            keys = new long[capacity - 1];
+            children = new Node[capacity];
+        }
+
+        int childIndex(long key) {
+            int i = Arrays.binarySearch(keys, 0, count - 1, key);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+
+        void removeChild(int index) { // removes children[index] and the separator to its left
+            System.arraycopy(keys, index, keys, index - 1, count - 1 - index);
+            System.arraycopy(children, index + 1, children, index, count - index - 1);
+            children[--count] = null;
+        }
+    }
+
+    private final int capacity;
+    private final int minFill;
+    private Node root;
+    private Leaf first;
+    private Leaf last;
+    private int size;
+
+    // results of the last recursive insert/delete (avoids allocating a result object per call)
+    private long splitKey;
+    private Node splitNode;
+    private Object oldValue;
+    private boolean found;
+
+    public LongBPlusTreeMap() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public LongBPlusTreeMap(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("nodeCapacity must be >= 4: " + nodeCapacity);
+        }
+        this.capacity = nodeCapacity;
+        this.minFill = nodeCapacity / 2;
+        clear();
+    }
+
+    // Builds a tree from strictly increasing keys, packing nodes full instead of splitting them.
+    // values may be null (all values null, as in a set).
+    public static <V> LongBPlusTreeMap<V> bulkLoad(long[] sortedKeys, V[] values) {
+        return bulkLoad(DEFAULT_NODE_CAPACITY, sortedKeys, values);
+    }
+
+    public static <V> LongBPlusTreeMap<V> bulkLoad(int nodeCapacity, long[] sortedKeys, V[] values) {
+        if (values != null && values.length != sortedKeys.length) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("keys are not strictly increasing at index " + i);
+            }
+        }
+        LongBPlusTreeMap<V> map = new LongBPlusTreeMap<>(nodeCapacity);
+        int n = sortedKeys.length;
+        if (n == 0) {
+            return map;
+        }
+        // leaves: spread n keys evenly so no leaf ends up under-filled
+        int leafCount = (n + nodeCapacity - 1) / nodeCapacity;
+        Node[] level = new Node[leafCount];
+        long[] levelMin = new long[leafCount];
+        Leaf prev = null;
+        for (int l = 0, start = 0; l < leafCount; l++) {
+            int take = n / leafCount + (l < n % leafCount ? 1 : 0);
+            Leaf leaf = new Leaf(nodeCapacity);
+            System.arraycopy(sortedKeys, start, leaf.keys, 0, take);
+            if (values != null) {
+                for (int i = 0; i < take; i++) {
+                    leaf.setValue(i, values[start + i]);
+                }
+            }
+            leaf.count = take;
+            leaf.prev = prev;
+            if (prev != null) {
+                prev.next = leaf;
+            }
+            prev = leaf;
+            level[l] = leaf;
+            levelMin[l] = leaf.keys[0];
+            start += take;
+        }
+        map.first = (Leaf) level[0];
+        map.last = prev;
+        // inner levels, the same way, until one node is left
+        while (level.length > 1) {
+            int parents = (level.length + nodeCapacity - 1) / nodeCapacity;
+            Node[] up = new Node[parents];
+            long[] upMin = new long[parents];
+            for (int p = 0, start = 0; p < parents; p++) {
+                int take = level.length / parents + (p < level.length % parents ? 1 : 0);
+                Inner inner = new Inner(nodeCapacity);
+                System.arraycopy(level, start, inner.children, 0, take);
+                System.arraycopy(levelMin, start + 1, inner.keys, 0, take - 1);
+                inner.count = take;
+                up[p] = inner;
+                upMin[p] = levelMin[start];
+                start += take;
+            }
+            level = up;
+            levelMin = upMin;
+        }
+        map.root = level[0];
+        map.size = n;
+        return map;
+    }
+
+    // Returns the previous value (null if the key was absent or mapped to null).
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        oldValue = null;
+        if (insert(root, key, value)) {
+            Inner newRoot = new Inner(capacity);
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.keys[0] = splitKey;
+            newRoot.count = 2;
+            root = newRoot;
+        }
+        splitNode = null;
+        return (V) oldValue;
+    }
+
+    // Adds the key if absent (value null); true if it was added.
+    boolean addKey(long key) {
+        int before = size;
+        put(key, null);
+        return size != before;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Leaf leaf = leafFor(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        return i >= 0 ? (V) leaf.value(i) : null;
+    }
+
+    public boolean containsKey(long key) {
+        Leaf leaf = leafFor(key);
+        return Arrays.binarySearch(leaf.keys, 0, leaf.count, key) >= 0;
+    }
+
+    // Returns the removed value (null if absent or mapped to null).
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        removeKey(key);
+        return (V) oldValue;
+    }
+
+    // true if the key was present.
+    boolean removeKey(long key) {
+        oldValue = null;
+        found = false;
+        delete(root, key);
+        if (root instanceof Inner && root.count == 1) {
+            root = ((Inner) root).children[0];
+        }
+        return found;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Leaf leaf = new Leaf(capacity);
+        root = leaf;
+        first = leaf;
+        last = leaf;
+        size = 0;
+    }
+
+    public long firstKey() {
+        checkNotEmpty();
+        return first.keys[0];
+    }
+
+    public long lastKey() {
+        checkNotEmpty();
+        return last.keys[last.count - 1];
+    }
+
+    // Greatest key <= key.
+    public OptionalLong floorKey(long key) {
+        Leaf leaf = leafFor(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        return i >= 0 ? OptionalLong.of(key) : before(leaf, -i - 1);
+    }
+
+    // Smallest key >= key.
+    public OptionalLong ceilingKey(long key) {
+        Leaf leaf = leafFor(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        return i >= 0 ? OptionalLong.of(key) : atOrAfter(leaf, -i - 1);
+    }
+
+    // Smallest key > key.
+    public OptionalLong higherKey(long key) {
+        Leaf leaf = leafFor(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        return atOrAfter(leaf, i >= 0 ? i + 1 : -i - 1);
+    }
+
+    // Greatest key < key.
+    public OptionalLong lowerKey(long key) {
+        Leaf leaf = leafFor(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        return before(leaf, i >= 0 ? i : -i - 1);
+    }
+
+    // The key just before position i of the leaf, looking into the previous leaf if needed.
+    private static OptionalLong before(Leaf leaf, int i) {
+        if (i > 0) {
+            return OptionalLong.of(leaf.keys[i - 1]);
+        }
+        Leaf prev = leaf.prev;
+        return prev == null ? OptionalLong.empty() : OptionalLong.of(prev.keys[prev.count - 1]);
+    }
+
+    private static OptionalLong atOrAfter(Leaf leaf, int i) {
+        if (i < leaf.count) {
+            return OptionalLong.of(leaf.keys[i]);
+        }
+        Leaf next = leaf.next;
+        return next == null ? OptionalLong.empty() : OptionalLong.of(next.keys[0]);
+    }
+
+    // Calls action for every entry with fromInclusive <= key < toExclusive, in key order.
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(long fromInclusive, long toExclusive, EntryConsumer<? super V> action) {
+        Leaf leaf = leafFor(fromInclusive);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, fromInclusive);
+        i = i >= 0 ? i : -i - 1;
+        while (leaf != null) {
+            long[] keys = leaf.keys;
+            for (int n = leaf.count; i < n; i++) {
+                if (keys[i] >= toExclusive) {
+                    return;
+                }
+                action.accept(keys[i], (V) leaf.value(i));
+            }
+            leaf = leaf.next;
+            i = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (Leaf leaf = first; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                action.accept(leaf.keys[i], (V) leaf.value(i));
+            }
+        }
+    }
+
+    // A cursor over keys in [fromInclusive, toExclusive): while (c.next()) { c.key(); c.value(); }
+    public Cursor<V> cursor(long fromInclusive, long toExclusive) {
+        Leaf leaf = leafFor(fromInclusive);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, fromInclusive);
+        return new Cursor<>(leaf, i >= 0 ? i : -i - 1, toExclusive);
+    }
+
+    public Cursor<V> cursor() {
+        return new Cursor<V>(first, 0, Long.MAX_VALUE).includingMax();
+    }
+
+    public static final class Cursor<V> {
+        private Leaf leaf;
+        private int index;
+        private final long toExclusive;
+        private boolean includeMax;
+        private long key;
+        private Object value;
+
+        private Cursor(Leaf leaf, int index, long toExclusive) {
+            this.leaf = leaf;
+            this.index = index;
+            this.toExclusive = toExclusive;
+        }
+
+        private Cursor<V> includingMax() { // a full scan must also return Long.MAX_VALUE itself
+            includeMax = true;
+            return this;
+        }
+
+        public boolean next() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if (leaf == null) {
+                return false;
+            }
+            long k = leaf.keys[index];
+            if (k >= toExclusive && !includeMax) {
+                leaf = null;
+                return false;
+            }
+            key = k;
+            value = leaf.value(index++);
+            return true;
+        }
+
+        public long key() {
+            return key;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            return (V) value;
+        }
+    }
+
+    public int height() {
+        int height = 1;
+        for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    private Leaf leafFor(long key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.childIndex(key)];
+        }
+        return (Leaf) node;
+    }
+
+    // Inserts into the subtree; returns true if `node` split (splitKey/splitNode describe the new right half).
+    private boolean insert(Node node, long key, Object value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+            if (i >= 0) {
+                oldValue = leaf.value(i);
+                leaf.setValue(i, value);
+                return false;
+            }
+            i = -i - 1;
+            size++;
+            if (leaf.count < capacity) {
+                leaf.insert(i, key, value);
+                return false;
+            }
+            Leaf right = new Leaf(capacity);
+            if (i == leaf.count && leaf.next == null) {
+                right.insert(0, key, value); // appending in order: keep the left leaf full
+            } else {
+                int mid = capacity / 2;
+                leaf.moveTail(mid, right);
+                if (i <= mid) {
+                    leaf.insert(i, key, value);
+                } else {
+                    right.insert(i - mid, key, value);
+                }
+            }
+            right.prev = leaf;
+            right.next = leaf.next;
+            if (leaf.next != null) {
+                leaf.next.prev = right;
+            } else {
+                last = right;
+            }
+            leaf.next = right;
+            splitKey = right.keys[0];
+            splitNode = right;
+            return true;
+        }
+
+        Inner inner = (Inner) node;
+        int c = inner.childIndex(key);
+        if (!insert(inner.children[c], key, value)) {
+            return false;
+        }
+        if (inner.count < capacity) {
+            System.arraycopy(inner.keys, c, inner.keys, c + 1, inner.count - 1 - c);
+            inner.keys[c] = splitKey;
+            System.arraycopy(inner.children, c + 1, inner.children, c + 2, inner.count - 1 - c);
+            inner.children[c + 1] = splitNode;
+            inner.count++;
+            return false;
+        }
+        // full inner node: lay out all capacity + 1 children, keep the left half, promote the middle key
+        long[] keys = new long[capacity];
+        Node[] children = new Node[capacity + 1];
+        System.arraycopy(inner.keys, 0, keys, 0, c);
+        keys[c] = splitKey;
+        System.arraycopy(inner.keys, c, keys, c + 1, capacity - 1 - c);
+        System.arraycopy(inner.children, 0, children, 0, c + 1);
+        children[c + 1] = splitNode;
+        System.arraycopy(inner.children, c + 1, children, c + 2, capacity - 1 - c);
+
+        int leftCount = (capacity + 1) / 2;
+        Inner right = new Inner(capacity);
+        right.count = capacity + 1 - leftCount;
+        System.arraycopy(children, leftCount, right.children, 0, right.count);
+        System.arraycopy(keys, leftCount, right.keys, 0, right.count - 1);
+        System.arraycopy(children, 0, inner.children, 0, leftCount);
+        Arrays.fill(inner.children, leftCount, capacity, null);
+        System.arraycopy(keys, 0, inner.keys, 0, leftCount - 1);
+        inner.count = leftCount;
+        splitKey = keys[leftCount - 1];
+        splitNode = right;
+        return true;
+    }
+
+    private void delete(Node node, long key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+            if (i >= 0) {
+                oldValue = leaf.value(i);
+                leaf.remove(i);
+                found = true;
+                size--;
+            }
+            return;
+        }
+        Inner inner = (Inner) node;
+        int c = inner.childIndex(key);
+        delete(inner.children[c], key);
+        if (found && inner.children[c].count < minFill) {
+            rebalance(inner, c);
+        }
+    }
+
+    // Child c of parent is under-filled: borrow from a sibling that can spare an entry, else merge.
+    private void rebalance(Inner parent, int c) {
+        Node left = c > 0 ? parent.children[c - 1] : null;
+        Node right = c + 1 < parent.count ? parent.children[c + 1] : null;
+
+        if (parent.children[c] instanceof Leaf) {
+            Leaf child = (Leaf) parent.children[c];
+            if (left != null && left.count > minFill) {
+                Leaf from = (Leaf) left;
+                int lastIndex = from.count - 1;
+                child.insert(0, from.keys[lastIndex], from.value(lastIndex));
+                from.remove(lastIndex);
+                parent.keys[c - 1] = child.keys[0];
+            } else if (right != null && right.count > minFill) {
+                Leaf from = (Leaf) right;
+                child.insert(child.count, from.keys[0], from.value(0));
+                from.remove(0);
+                parent.keys[c] = from.keys[0];
+            } else if (left != null) {
+                child.moveTail(0, (Leaf) left);
+                unlink(child);
+                parent.removeChild(c);
+            } else if (right != null) {
+                ((Leaf) right).moveTail(0, child);
+                unlink((Leaf) right);
+                parent.removeChild(c + 1);
+            }
+            return;
+        }
+
+        Inner child = (Inner) parent.children[c];
+        if (left != null && left.count > minFill) {
+            Inner from = (Inner) left;
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count - 1);
+            System.arraycopy(child.children, 0, child.children, 1, child.count);
+            child.keys[0] = parent.keys[c - 1];
+            child.children[0] = from.children[from.count - 1];
+            child.count++;
+            parent.keys[c - 1] = from.keys[from.count - 2];
+            from.children[--from.count] = null;
+        } else if (right != null && right.count > minFill) {
+            Inner from = (Inner) right;
+            child.keys[child.count - 1] = parent.keys[c];
+            child.children[child.count++] = from.children[0];
+            parent.keys[c] = from.keys[0];
+            System.arraycopy(from.keys, 1, from.keys, 0, from.count - 2);
+            System.arraycopy(from.children, 1, from.children, 0, from.count - 1);
+            from.children[--from.count] = null;
+        } else if (left != null) {
+            merge((Inner) left, parent.keys[c - 1], child);
+            parent.removeChild(c);
+        } else if (right != null) {
+            merge(child, parent.keys[c], (Inner) right);
+            parent.removeChild(c + 1);
+        }
+    }
+
+    // Appends separator + all of right's keys/children to left.
+    private static void merge(Inner left, long separator, Inner right) {
+        left.keys[left.count - 1] = separator;
+        System.arraycopy(right.keys, 0, left.keys, left.count, right.count - 1);
+        System.arraycopy(right.children, 0, left.children, left.count, right.count);
+        left.count += right.count;
+    }
+
+    private void unlink(Leaf leaf) {
+        if (leaf.prev != null) {
+            leaf.prev.next = leaf.next;
+        } else {
+            first = leaf.next;
+        }
+        if (leaf.next != null) {
+            leaf.next.prev = leaf.prev;
+        } else {
+            last = leaf.prev;
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("map is empty");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() == 1 ? "" : ", ").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+
+    public static void main(String[] args) {
+        LongBPlusTreeMap<String> map = new LongBPlusTreeMap<>();
+        map.put(40, "forty");
+        map.put(10, "ten");
+        map.put(30, "thirty");
+
+        System.out.println(map); // Output: {10=ten, 30=thirty, 40=forty} (Sorted)
+        System.out.println(map.floorKey(35).getAsLong()); // Output: 30
+        map.forEachInRange(10, 40, (k, v) -> System.out.println(k + " -> " + v)); // 10 and 30
+    }
+}
@@ -0,0 +1,136 @@
+// A sorted set of primitive longs on a B+-tree (TreeSet<Long> without nodes or boxing).
+// ✅ ~9-12 bytes per element (keys only: LongBPlusTreeMap never allocates values[] for a set)
+// ✅ O(log n) add/contains/remove with 3-4 cache-friendly node visits; linked leaves for range scans
+// ✅ first/last/floor/ceiling/higher/lower, bulk load from sorted input
+// 🚫 Not thread-safe
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+public class LongBPlusTreeSet {
+    private final LongBPlusTreeMap<Object> map;
+
+    public LongBPlusTreeSet() {
+        this.map = new LongBPlusTreeMap<>();
+    }
+
+    private LongBPlusTreeSet(LongBPlusTreeMap<Object> map) {
+        this.map = map;
+    }
+
+    // sortedValues must be strictly increasing.
+    public static LongBPlusTreeSet bulkLoad(long[] sortedValues) {
+        return new LongBPlusTreeSet(LongBPlusTreeMap.bulkLoad(sortedValues, null));
+    }
+
+    public boolean add(long value) {
+        return map.addKey(value);
+    }
+
+    public boolean contains(long value) {
+        return map.containsKey(value);
+    }
+
+    public boolean remove(long value) {
+        return map.removeKey(value);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public long first() {
+        return map.firstKey();
+    }
+
+    public long last() {
+        return map.lastKey();
+    }
+
+    public OptionalLong floor(long value) {
+        return map.floorKey(value);
+    }
+
+    public OptionalLong ceiling(long value) {
+        return map.ceilingKey(value);
+    }
+
+    public OptionalLong higher(long value) {
+        return map.higherKey(value);
+    }
+
+    public OptionalLong lower(long value) {
+        return map.lowerKey(value);
+    }
+
+    // Values in [fromInclusive, toExclusive), ascending.
+    public void forEachInRange(long fromInclusive, long toExclusive, LongConsumer action) {
+        map.forEachInRange(fromInclusive, toExclusive, (k, v) -> action.accept(k));
+    }
+
+    public void forEach(LongConsumer action) {
+        map.forEach((k, v) -> action.accept(k));
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return iterator(map.cursor());
+    }
+
+    public PrimitiveIterator.OfLong iterator(long fromInclusive, long toExclusive) {
+        return iterator(map.cursor(fromInclusive, toExclusive));
+    }
+
+    private static PrimitiveIterator.OfLong iterator(LongBPlusTreeMap.Cursor<Object> cursor) {
+        return new PrimitiveIterator.OfLong() {
+            private boolean ready;
+            private boolean more;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    more = cursor.next();
+                    ready = true;
+                }
+                return more;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return cursor.key();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(v -> sb.append(sb.length() == 1 ? "" : ", ").append(v));
+        return sb.append(']').toString();
+    }
+
+    public static void main(String[] args) {
+        LongBPlusTreeSet treeSet = new LongBPlusTreeSet();
+        treeSet.add(40);
+        treeSet.add(10);
+        treeSet.add(30);
+
+        System.out.println(treeSet); // Output: [10, 30, 40] (Sorted)
+        System.out.println(treeSet.first()); // Output: 10
+        System.out.println(treeSet.last()); // Output: 40
+        System.out.println(treeSet.ceiling(15).getAsLong()); // Output: 30
+    }
+}
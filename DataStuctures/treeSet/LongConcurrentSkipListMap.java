@@ -0,0 +1,1056 @@
+// A concurrent sorted map from primitive long keys to values: an optimistic ("lazy") skip list
+// (Herlihy, Lev, Luchangco & Shavit, "A Simple Optimistic Skiplist Algorithm", 2007).
+// ✅ get/containsKey, floor/ceiling and range scans never lock and never write shared memory
+// ✅ put on an existing key is a single CAS on the value; inserts and removes lock only the
+//    predecessors they relink, so writers on different key ranges don't touch each other
+// ✅ Range iteration is weakly consistent (like ConcurrentSkipListMap): never throws
+//    ConcurrentModificationException, sees every entry that is present for the whole scan
+// ✅ snapshot() is a point-in-time copy (as a LongBPlusTreeMap); asNavigableMap() is a
+//    NavigableMap<Long, V> view with sub/head/tail/descending views
+// 🚫 null values are not allowed (null means "absent", as in ConcurrentSkipListMap); size() is exact
+//    only when no writes are in flight
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class LongConcurrentSkipListMap<V> {
+    private static final int MAX_LEVEL = 16; // p = 1/4 per level: enough for ~4^16 keys
+
+    private static final VarHandle VALUE;
+    private static final VarHandle LOCK;
+    private static final VarHandle TOP_LEVEL;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            VALUE = lookup.findVarHandle(Node.class, "value", Object.class);
+            LOCK = lookup.findVarHandle(Node.class, "lock", int.class);
+            TOP_LEVEL = lookup.findVarHandle(LongConcurrentSkipListMap.class, "topLevel", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    // Generic arrays can't be created directly: every Node<V>[] is made here.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Node<V>[] newNodeArray(int length) {
+        return (Node<V>[]) new Node[length];
+    }
+
+    private static final class Node<V> {
+        final long key;
+        volatile Object value;        // null once the entry is removed
+        volatile Node<V> next;        // level 0 lives in the node: scans touch one object per entry
+        final Node<V>[] up;           // levels 1.., read with getAcquire; null for 3 in 4 nodes
+        volatile boolean marked;      // logically deleted (set under the node's lock)
+        volatile boolean fullyLinked; // linked at every level
+        volatile int lock;
+
+        Node(long key, Object value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.up = levels == 1 ? null : newNodeArray(levels - 1);
+        }
+
+        int levels() {
+            return up == null ? 1 : up.length + 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<V> next(int level) {
+            return level == 0 ? next : (Node<V>) NEXT.getAcquire(up, level - 1);
+        }
+
+        void setNext(int level, Node<V> node) {
+            if (level == 0) {
+                next = node;
+            } else {
+                NEXT.setRelease(up, level - 1, node);
+            }
+        }
+
+        // Locks are held for a few instructions, so a spin lock beats a ReentrantLock per node.
+        void lock() {
+            for (int spins = 0; !LOCK.compareAndSet(this, 0, 1); spins++) {
+                if (spins < 64) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        void unlock() {
+            LOCK.setRelease(this, 0);
+        }
+    }
+
+    private final Node<V> head = new Node<>(0, null, MAX_LEVEL); // key unused: head is below every key
+    private final LongAdder size = new LongAdder();
+    private volatile int topLevel; // highest level any node was linked at; only grows
+
+    // snapshot support: writers count themselves in and out; a snapshot is valid if none overlapped it
+    private final LongAdder writesBegun = new LongAdder();
+    private final LongAdder writesEnded = new LongAdder();
+    private volatile boolean snapshotPending;
+    private final Object snapshotLock = new Object();
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Node<V> node = findNode(key);
+        return node == null ? null : (V) node.value;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public V put(long key, V value) {
+        return doPut(key, value, false);
+    }
+
+    public V putIfAbsent(long key, V value) {
+        return doPut(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V doPut(long key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value, "value");
+        Node<V>[] preds = newNodeArray(MAX_LEVEL);
+        Node<V>[] succs = newNodeArray(MAX_LEVEL);
+        int levels = randomLevels();
+        raiseTopLevel(levels - 1);
+        beginWrite();
+        try {
+            while (true) {
+                int found = find(key, preds, succs);
+                if (found >= 0) {
+                    Node<V> node = succs[found];
+                    if (!node.marked) {
+                        while (!node.fullyLinked) {
+                            Thread.onSpinWait();
+                        }
+                        Object old;
+                        while ((old = node.value) != null) {
+                            if (onlyIfAbsent || VALUE.compareAndSet(node, old, value)) {
+                                return (V) old;
+                            }
+                        }
+                    }
+                    Thread.onSpinWait(); // being removed: retry once it is unlinked
+                    continue;
+                }
+                Node<V> lockedUpTo = null;
+                int highestLocked = -1;
+                try {
+                    boolean valid = true;
+                    for (int level = 0; valid && level < levels; level++) {
+                        Node<V> pred = preds[level];
+                        Node<V> succ = succs[level];
+                        if (pred != lockedUpTo) {
+                            pred.lock();
+                            highestLocked = level;
+                            lockedUpTo = pred;
+                        }
+                        valid = !pred.marked && (succ == null || !succ.marked) && pred.next(level) == succ;
+                    }
+                    if (!valid) {
+                        continue;
+                    }
+                    Node<V> node = new Node<>(key, value, levels);
+                    for (int level = 0; level < levels; level++) {
+                        node.setNext(level, succs[level]);
+                    }
+                    for (int level = 0; level < levels; level++) {
+                        preds[level].setNext(level, node); // level 0 first: that is when the key appears
+                    }
+                    node.fullyLinked = true;
+                    size.increment();
+                    return null;
+                } finally {
+                    unlockPreds(preds, highestLocked);
+                }
+            }
+        } finally {
+            endWrite();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        Node<V>[] preds = newNodeArray(MAX_LEVEL);
+        Node<V>[] succs = newNodeArray(MAX_LEVEL);
+        Node<V> victim = null;
+        Object removed = null;
+        boolean isMarked = false;
+        beginWrite();
+        try {
+            while (true) {
+                int found = find(key, preds, succs);
+                if (!isMarked) {
+                    if (found < 0) {
+                        return null;
+                    }
+                    victim = succs[found];
+                    if (!victim.fullyLinked || found != victim.levels() - 1) {
+                        Thread.onSpinWait(); // still being inserted: wait for it to be complete
+                        continue;
+                    }
+                    if (victim.marked) {
+                        return null;
+                    }
+                    victim.lock();
+                    if (victim.marked) {
+                        victim.unlock();
+                        return null;
+                    }
+                    victim.marked = true;
+                    removed = VALUE.getAndSet(victim, null);
+                    isMarked = true;
+                }
+                Node<V> lockedUpTo = null;
+                int highestLocked = -1;
+                try {
+                    boolean valid = true;
+                    for (int level = 0; valid && level < victim.levels(); level++) {
+                        Node<V> pred = preds[level];
+                        if (pred != lockedUpTo) {
+                            pred.lock();
+                            highestLocked = level;
+                            lockedUpTo = pred;
+                        }
+                        valid = !pred.marked && pred.next(level) == victim;
+                    }
+                    if (!valid) {
+                        continue;
+                    }
+                    for (int level = victim.levels() - 1; level >= 0; level--) {
+                        preds[level].setNext(level, victim.next(level)); // victim keeps its links for scans
+                    }
+                    victim.unlock();
+                    size.decrement();
+                    return (V) removed;
+                } finally {
+                    unlockPreds(preds, highestLocked);
+                }
+            }
+        } finally {
+            endWrite();
+        }
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+
+    public boolean isEmpty() {
+        return ceilingNode(Long.MIN_VALUE, true) == null;
+    }
+
+    public long firstKey() {
+        Node<V> node = ceilingNode(Long.MIN_VALUE, true);
+        if (node == null) {
+            throw new NoSuchElementException("map is empty");
+        }
+        return node.key;
+    }
+
+    public long lastKey() {
+        Node<V> node = lowerNode(0, true, true);
+        if (node == null) {
+            throw new NoSuchElementException("map is empty");
+        }
+        return node.key;
+    }
+
+    public OptionalLong floorKey(long key) {
+        return keyOf(lowerNode(key, true, false));
+    }
+
+    public OptionalLong lowerKey(long key) {
+        return keyOf(lowerNode(key, false, false));
+    }
+
+    public OptionalLong ceilingKey(long key) {
+        return keyOf(ceilingNode(key, true));
+    }
+
+    public OptionalLong higherKey(long key) {
+        return keyOf(ceilingNode(key, false));
+    }
+
+    private static OptionalLong keyOf(Node<?> node) {
+        return node == null ? OptionalLong.empty() : OptionalLong.of(node.key);
+    }
+
+    // Weakly consistent scan of fromInclusive <= key < toExclusive, in key order, without locking.
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(long fromInclusive, long toExclusive, EntryConsumer<? super V> action) {
+        for (Node<V> node = ceilingNode(fromInclusive, true); node != null && node.key < toExclusive;
+             node = node.next(0)) {
+            Object value = node.value;
+            if (value != null) {
+                action.accept(node.key, (V) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (Node<V> node = head.next(0); node != null; node = node.next(0)) {
+            Object value = node.value;
+            if (value != null) {
+                action.accept(node.key, (V) value);
+            }
+        }
+    }
+
+    // A point-in-time copy. Scans optimistically and checks that no write overlapped the scan; if
+    // writers keep interfering, new writes are held back briefly while one final scan runs.
+    @SuppressWarnings("unchecked")
+    public LongBPlusTreeMap<V> snapshot() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long ended = writesEnded.sum();
+            LongBPlusTreeMap<V> copy = copy();
+            if (writesBegun.sum() == ended) {
+                return copy;
+            }
+        }
+        synchronized (snapshotLock) {
+            snapshotPending = true;
+            try {
+                for (int spins = 0; ; spins++) {
+                    long ended = writesEnded.sum();
+                    if (writesBegun.sum() == ended) {
+                        break;
+                    }
+                    backOff(spins);
+                }
+                return copy();
+            } finally {
+                snapshotPending = false;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private LongBPlusTreeMap<V> copy() {
+        long[] keys = new long[16];
+        Object[] values = new Object[16];
+        int n = 0;
+        for (Node<V> node = head.next(0); node != null; node = node.next(0)) {
+            Object value = node.value;
+            if (value != null) {
+                if (n == keys.length) {
+                    keys = Arrays.copyOf(keys, n * 2);
+                    values = Arrays.copyOf(values, n * 2);
+                }
+                keys[n] = node.key;
+                values[n++] = value;
+            }
+        }
+        return LongBPlusTreeMap.bulkLoad(Arrays.copyOf(keys, n), (V[]) Arrays.copyOf(values, n));
+    }
+
+    private void beginWrite() {
+        while (true) {
+            writesBegun.increment();
+            if (!snapshotPending) {
+                return;
+            }
+            writesEnded.increment(); // step aside until the snapshot is taken
+            for (int spins = 0; snapshotPending; spins++) {
+                backOff(spins);
+            }
+        }
+    }
+
+    private void endWrite() {
+        writesEnded.increment();
+    }
+
+    private static void backOff(int spins) {
+        if (spins < 100) {
+            Thread.onSpinWait();
+        } else if (spins < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    // A NavigableMap<Long, V> view backed by this map (boxing keys, as any Map<Long, V> must).
+    public NavigableMap<Long, V> asNavigableMap() {
+        return new View(false, 0, false, false, 0, false, false);
+    }
+
+    // Fills preds/succs for every level; returns the highest level where the key was found, or -1.
+    private int find(long key, Node<V>[] preds, Node<V>[] succs) {
+        int found = -1;
+        Node<V> pred = head;
+        for (int level = topLevel; level >= 0; level--) {
+            Node<V> curr = pred.next(level);
+            while (curr != null && curr.key < key) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+            if (found < 0 && curr != null && curr.key == key) {
+                found = level;
+            }
+            preds[level] = pred;
+            succs[level] = curr;
+        }
+        return found;
+    }
+
+    private Node<V> findNode(long key) {
+        Node<V> pred = head;
+        for (int level = topLevel; level >= 0; level--) {
+            Node<V> curr = pred.next(level);
+            while (curr != null && curr.key < key) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+            if (curr != null && curr.key == key) {
+                return curr;
+            }
+        }
+        return null;
+    }
+
+    // First live node with key >= bound (or > bound).
+    private Node<V> ceilingNode(long bound, boolean inclusive) {
+        Node<V> pred = head;
+        Node<V> curr = null;
+        for (int level = topLevel; level >= 0; level--) {
+            curr = pred.next(level);
+            while (curr != null && (curr.key < bound || (!inclusive && curr.key == bound))) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+        }
+        while (curr != null && curr.value == null) {
+            curr = curr.next(0);
+        }
+        return curr;
+    }
+
+    // Last live node with key < bound (or <= bound); the last node overall if unbounded.
+    private Node<V> lowerNode(long bound, boolean inclusive, boolean unbounded) {
+        while (true) {
+            Node<V> pred = head;
+            for (int level = topLevel; level >= 0; level--) {
+                Node<V> curr = pred.next(level);
+                while (curr != null && (unbounded || curr.key < bound || (inclusive && curr.key == bound))) {
+                    pred = curr;
+                    curr = pred.next(level);
+                }
+            }
+            if (pred == head) {
+                return null;
+            }
+            if (pred.value != null) {
+                return pred;
+            }
+            bound = pred.key; // removed while we looked: search strictly below it
+            inclusive = false;
+            unbounded = false;
+        }
+    }
+
+    private static <V> void unlockPreds(Node<V>[] preds, int highestLocked) {
+        Node<V> previous = null;
+        for (int level = 0; level <= highestLocked; level++) {
+            if (preds[level] != previous) {
+                preds[level].unlock();
+                previous = preds[level];
+            }
+        }
+    }
+
+    // Raised before a node is linked, so searches starting at topLevel never miss a level in use.
+    private void raiseTopLevel(int level) {
+        int current;
+        while ((current = topLevel) < level) {
+            if (TOP_LEVEL.compareAndSet(this, current, level)) {
+                return;
+            }
+        }
+    }
+
+    private static int randomLevels() {
+        int random = ThreadLocalRandom.current().nextInt();
+        int levels = 1;
+        while ((random & 3) == 0 && levels < MAX_LEVEL) {
+            levels++;
+            random >>>= 2;
+        }
+        return levels;
+    }
+
+    // A bounded, optionally descending NavigableMap view. Bounds are absolute (ascending) key limits.
+    private final class View extends AbstractMap<Long, V> implements NavigableMap<Long, V> {
+        private final boolean hasLo;
+        private final long lo;
+        private final boolean loInclusive;
+        private final boolean hasHi;
+        private final long hi;
+        private final boolean hiInclusive;
+        private final boolean descending;
+
+        View(boolean hasLo, long lo, boolean loInclusive, boolean hasHi, long hi, boolean hiInclusive,
+             boolean descending) {
+            if (hasLo && hasHi && lo > hi) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            this.hasLo = hasLo;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.hasHi = hasHi;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+            this.descending = descending;
+        }
+
+        private boolean tooLow(long key) {
+            return hasLo && (key < lo || (key == lo && !loInclusive));
+        }
+
+        private boolean tooHigh(long key) {
+            return hasHi && (key > hi || (key == hi && !hiInclusive));
+        }
+
+        private boolean inRange(long key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private Node<V> checkHigh(Node<V> node) {
+            return node == null || tooHigh(node.key) ? null : node;
+        }
+
+        private Node<V> checkLow(Node<V> node) {
+            return node == null || tooLow(node.key) ? null : node;
+        }
+
+        // navigation in absolute (ascending) key order, clipped to the bounds
+        private Node<V> absLowest() {
+            return checkHigh(hasLo ? ceilingNode(lo, loInclusive) : ceilingNode(Long.MIN_VALUE, true));
+        }
+
+        private Node<V> absHighest() {
+            return checkLow(hasHi ? lowerNode(hi, hiInclusive, false) : lowerNode(0, true, true));
+        }
+
+        private Node<V> absCeiling(long key, boolean inclusive) {
+            return tooLow(key) ? absLowest() : checkHigh(ceilingNode(key, inclusive));
+        }
+
+        private Node<V> absFloor(long key, boolean inclusive) {
+            return tooHigh(key) ? absHighest() : checkLow(lowerNode(key, inclusive, false));
+        }
+
+        private Map.Entry<Long, V> entry(Node<V> node) {
+            if (node == null) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            V value = (V) node.value;
+            return value == null ? null : new AbstractMap.SimpleImmutableEntry<>(node.key, value);
+        }
+
+        private Map.Entry<Long, V> entryRetrying(java.util.function.Supplier<Node<V>> find) {
+            while (true) {
+                Node<V> node = find.get();
+                if (node == null) {
+                    return null;
+                }
+                Map.Entry<Long, V> e = entry(node);
+                if (e != null) {
+                    return e;
+                }
+            }
+        }
+
+        private Long key(Map.Entry<Long, V> e) {
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public V get(Object key) {
+            return key instanceof Long && inRange((Long) key) ? LongConcurrentSkipListMap.this.get((Long) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V put(Long key, V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("key out of range: " + key);
+            }
+            return LongConcurrentSkipListMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return key instanceof Long && inRange((Long) key) ? LongConcurrentSkipListMap.this.remove((Long) key) : null;
+        }
+
+        @Override
+        public int size() {
+            if (!hasLo && !hasHi) {
+                return LongConcurrentSkipListMap.this.size();
+            }
+            int count = 0;
+            for (Iterator<Map.Entry<Long, V>> it = entryIterator(); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return absLowest() == null;
+        }
+
+        @Override
+        public void clear() {
+            for (Iterator<Map.Entry<Long, V>> it = entryIterator(); it.hasNext(); ) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<Long, V>> entrySet() {
+            return new AbstractSet<Map.Entry<Long, V>>() {
+                @Override
+                public Iterator<Map.Entry<Long, V>> iterator() {
+                    return entryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return View.this.size();
+                }
+            };
+        }
+
+        // Weakly consistent: ascending walks the bottom level, descending repeats a floor search.
+        Iterator<Map.Entry<Long, V>> entryIterator() {
+            return new Iterator<Map.Entry<Long, V>>() {
+                private Map.Entry<Long, V> next = descending ? entryRetrying(View.this::absHighest)
+                        : entryRetrying(View.this::absLowest);
+                private Node<V> nextNode = next == null ? null : findNode(next.getKey());
+                private Long lastKey;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Map.Entry<Long, V> next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<Long, V> current = next;
+                    lastKey = current.getKey();
+                    advance(current.getKey());
+                    return current;
+                }
+
+                private void advance(long from) {
+                    if (descending) {
+                        next = entryRetrying(() -> absFloor(from, false));
+                        return;
+                    }
+                    Node<V> node = nextNode != null ? nextNode.next(0) : ceilingNode(from, false);
+                    while (node != null && node.value == null) {
+                        node = node.next(0);
+                    }
+                    nextNode = checkHigh(node);
+                    next = entry(nextNode);
+                    if (next == null && nextNode != null) {
+                        advance(nextNode.key); // removed between the two reads
+                    }
+                }
+
+                @Override
+                public void remove() {
+                    if (lastKey == null) {
+                        throw new IllegalStateException();
+                    }
+                    LongConcurrentSkipListMap.this.remove(lastKey);
+                    lastKey = null;
+                }
+            };
+        }
+
+        @Override
+        public Map.Entry<Long, V> firstEntry() {
+            return descending ? entryRetrying(this::absHighest) : entryRetrying(this::absLowest);
+        }
+
+        @Override
+        public Map.Entry<Long, V> lastEntry() {
+            return descending ? entryRetrying(this::absLowest) : entryRetrying(this::absHighest);
+        }
+
+        @Override
+        public Map.Entry<Long, V> ceilingEntry(Long key) {
+            return descending ? entryRetrying(() -> absFloor(key, true)) : entryRetrying(() -> absCeiling(key, true));
+        }
+
+        @Override
+        public Map.Entry<Long, V> higherEntry(Long key) {
+            return descending ? entryRetrying(() -> absFloor(key, false)) : entryRetrying(() -> absCeiling(key, false));
+        }
+
+        @Override
+        public Map.Entry<Long, V> floorEntry(Long key) {
+            return descending ? entryRetrying(() -> absCeiling(key, true)) : entryRetrying(() -> absFloor(key, true));
+        }
+
+        @Override
+        public Map.Entry<Long, V> lowerEntry(Long key) {
+            return descending ? entryRetrying(() -> absCeiling(key, false)) : entryRetrying(() -> absFloor(key, false));
+        }
+
+        @Override
+        public Long ceilingKey(Long key) {
+            return key(ceilingEntry(key));
+        }
+
+        @Override
+        public Long higherKey(Long key) {
+            return key(higherEntry(key));
+        }
+
+        @Override
+        public Long floorKey(Long key) {
+            return key(floorEntry(key));
+        }
+
+        @Override
+        public Long lowerKey(Long key) {
+            return key(lowerEntry(key));
+        }
+
+        @Override
+        public Long firstKey() {
+            Map.Entry<Long, V> e = firstEntry();
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            return e.getKey();
+        }
+
+        @Override
+        public Long lastKey() {
+            Map.Entry<Long, V> e = lastEntry();
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            return e.getKey();
+        }
+
+        @Override
+        public Map.Entry<Long, V> pollFirstEntry() {
+            return poll(true);
+        }
+
+        @Override
+        public Map.Entry<Long, V> pollLastEntry() {
+            return poll(false);
+        }
+
+        private Map.Entry<Long, V> poll(boolean first) {
+            while (true) {
+                Map.Entry<Long, V> e = first ? firstEntry() : lastEntry();
+                if (e == null) {
+                    return null;
+                }
+                V removed = LongConcurrentSkipListMap.this.remove(e.getKey());
+                if (removed != null) {
+                    return new AbstractMap.SimpleImmutableEntry<>(e.getKey(), removed);
+                }
+            }
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return descending ? Collections.reverseOrder() : null;
+        }
+
+        @Override
+        public NavigableMap<Long, V> descendingMap() {
+            return new View(hasLo, lo, loInclusive, hasHi, hi, hiInclusive, !descending);
+        }
+
+        // As in TreeMap, an exclusive bound may sit on this view's own (exclusive) bound.
+        private boolean allowedBound(long key, boolean inclusive) {
+            return inclusive ? inRange(key) : (!hasLo || key >= lo) && (!hasHi || key <= hi);
+        }
+
+        // A view with absolute bounds, which must lie within this view's bounds.
+        private View bounded(boolean newHasLo, long newLo, boolean newLoInclusive,
+                             boolean newHasHi, long newHi, boolean newHiInclusive) {
+            if (newHasLo) {
+                if (!allowedBound(newLo, newLoInclusive)) {
+                    throw new IllegalArgumentException("fromKey out of range: " + newLo);
+                }
+            } else {
+                newHasLo = hasLo;
+                newLo = lo;
+                newLoInclusive = loInclusive;
+            }
+            if (newHasHi) {
+                if (!allowedBound(newHi, newHiInclusive)) {
+                    throw new IllegalArgumentException("toKey out of range: " + newHi);
+                }
+            } else {
+                newHasHi = hasHi;
+                newHi = hi;
+                newHiInclusive = hiInclusive;
+            }
+            return new View(newHasLo, newLo, newLoInclusive, newHasHi, newHi, newHiInclusive, descending);
+        }
+
+        @Override
+        public NavigableMap<Long, V> subMap(Long fromKey, boolean fromInclusive, Long toKey, boolean toInclusive) {
+            if (descending) {
+                if (fromKey < toKey) {
+                    throw new IllegalArgumentException("fromKey > toKey");
+                }
+                return bounded(true, toKey, toInclusive, true, fromKey, fromInclusive);
+            }
+            if (fromKey > toKey) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return bounded(true, fromKey, fromInclusive, true, toKey, toInclusive);
+        }
+
+        @Override
+        public NavigableMap<Long, V> headMap(Long toKey, boolean inclusive) {
+            return descending ? bounded(true, toKey, inclusive, false, 0, false)
+                    : bounded(false, 0, false, true, toKey, inclusive);
+        }
+
+        @Override
+        public NavigableMap<Long, V> tailMap(Long fromKey, boolean inclusive) {
+            return descending ? bounded(false, 0, false, true, fromKey, inclusive)
+                    : bounded(true, fromKey, inclusive, false, 0, false);
+        }
+
+        @Override
+        public SortedMap<Long, V> subMap(Long fromKey, Long toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedMap<Long, V> headMap(Long toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public SortedMap<Long, V> tailMap(Long fromKey) {
+            return tailMap(fromKey, true);
+        }
+
+        @Override
+        public NavigableSet<Long> navigableKeySet() {
+            return new KeySet(this);
+        }
+
+        @Override
+        public NavigableSet<Long> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<Long> descendingKeySet() {
+            return descendingMap().navigableKeySet();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<Long> implements NavigableSet<Long> {
+        private final NavigableMap<Long, V> map;
+
+        KeySet(NavigableMap<Long, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            Iterator<Map.Entry<Long, V>> entries = map.entrySet().iterator();
+            return new Iterator<Long>() {
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                public Long next() {
+                    return entries.next().getKey();
+                }
+
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return map.remove(o) != null;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Long lower(Long e) {
+            return map.lowerKey(e);
+        }
+
+        @Override
+        public Long floor(Long e) {
+            return map.floorKey(e);
+        }
+
+        @Override
+        public Long ceiling(Long e) {
+            return map.ceilingKey(e);
+        }
+
+        @Override
+        public Long higher(Long e) {
+            return map.higherKey(e);
+        }
+
+        @Override
+        public Long pollFirst() {
+            Map.Entry<Long, V> e = map.pollFirstEntry();
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public Long pollLast() {
+            Map.Entry<Long, V> e = map.pollLastEntry();
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public NavigableSet<Long> descendingSet() {
+            return new KeySet(map.descendingMap());
+        }
+
+        @Override
+        public Iterator<Long> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public NavigableSet<Long> subSet(Long fromElement, boolean fromInclusive, Long toElement, boolean toInclusive) {
+            return new KeySet(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<Long> headSet(Long toElement, boolean inclusive) {
+            return new KeySet(map.headMap(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<Long> tailSet(Long fromElement, boolean inclusive) {
+            return new KeySet(map.tailMap(fromElement, inclusive));
+        }
+
+        @Override
+        public SortedSet<Long> subSet(Long fromElement, Long toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<Long> headSet(Long toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<Long> tailSet(Long fromElement) {
+            return tailSet(fromElement, true);
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public Long first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public Long last() {
+            return map.lastKey();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LongConcurrentSkipListMap<String> index = new LongConcurrentSkipListMap<>();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int id = t;
+            writers[t] = new Thread(() -> {
+                for (long k = id; k < 1000; k += writers.length) {
+                    index.put(k, "v" + k);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        System.out.println(index.size()); // Output: 1000
+        System.out.println(index.floorKey(500).getAsLong()); // Output: 500
+        System.out.println(index.asNavigableMap().subMap(10L, 13L)); // Output: {10=v10, 11=v11, 12=v12}
+        System.out.println(index.snapshot().size()); // Output: 1000
+    }
+}
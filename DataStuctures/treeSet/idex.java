@@ -12,4 +12,8 @@ System.out.println(treeSet.last()); // Output: 40
 
 // A self-balancing binary search tree (Red-Black Tree) for sorted elements.
 // ✅ Sorted elements (O(log n) operations)
-// 🚫 Slower than HashSet
\ No newline at end of file
+// 🚫 Slower than HashSet
+// 🔹 One node per element and pointer chasing per lookup: LongBPlusTreeSet / LongBPlusTreeMap keep
+//    long keys in 64-wide B+-tree nodes
+// 🔹 Shared between threads: LongConcurrentSkipListMap (lock-free reads and range scans, snapshots,
+//    NavigableMap view) instead of Collections.synchronizedSortedMap(new TreeMap<>())
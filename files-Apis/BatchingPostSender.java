@@ -0,0 +1,464 @@
+// Client-side aggregation of outbound POSTs (HttpPostExample sends one hand-built JSON string per call).
+// ✅ Callers just enqueue; a background flusher sends one JSON array per batch
+// ✅ A batch is flushed when it reaches maxCount items, maxBytes serialized bytes, or has lingered maxLinger;
+//    an item that would push it past maxBytes starts the next batch (only a lone oversized item exceeds it)
+// ✅ Each batch is serialized straight to UTF-8 into a pooled, reusable buffer (no getBytes("utf-8") per item)
+// ✅ Bounded queue for backpressure (block or reject when full) and per-batch latency metrics
+// 🚫 Items in a failed batch are reported to the listener, not retried; combine with ResilientHttpClient if needed
+//    (an item the serializer throws on is dropped from its batch and reported on its own)
+//
+// Run:  javac LatencyHistogram.java PooledHttpClient.java BatchingPostSender.java && java BatchingPostSender [items]
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BatchingPostSender<T> implements AutoCloseable {
+
+    // Writes one item as a JSON value into the batch buffer.
+    public interface Serializer<T> {
+        void write(T item, JsonBuffer out);
+    }
+
+    // Told about every batch once its response (or failure) arrives.
+    public interface BatchListener {
+        void onBatch(int items, int bytes, int status, Throwable error);
+
+        BatchListener NONE = (items, bytes, status, error) -> { };
+    }
+
+    private final PooledHttpClient client;
+    private final URI endpoint;
+    private final Serializer<T> serializer;
+    private final BatchListener listener;
+    private final int maxCount;
+    private final int maxInFlight;
+    private final int maxBytes;
+    private final long maxLingerNanos;
+    private final BlockingQueue<T> queue;
+    private final BlockingQueue<JsonBuffer> buffers;
+    private final Thread flusher;
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final LatencyHistogram sendLatency = new LatencyHistogram();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger enqueuing = new AtomicInteger(); // producers past checkOpen(), not yet queued
+    private volatile boolean closed;
+
+    public BatchingPostSender(PooledHttpClient client, URI endpoint, Serializer<T> serializer, BatchListener listener,
+                              int maxCount, int maxBytes, Duration maxLinger, int queueCapacity, int maxInFlight) {
+        this.client = client;
+        this.endpoint = endpoint;
+        this.serializer = serializer;
+        this.listener = listener;
+        this.maxCount = maxCount;
+        this.maxInFlight = maxInFlight;
+        this.maxBytes = maxBytes;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // one buffer per in-flight request; waiting for a free buffer also caps concurrent batches
+        this.buffers = new ArrayBlockingQueue<>(maxInFlight);
+        for (int i = 0; i < maxInFlight; i++) {
+            buffers.add(new JsonBuffer(maxBytes + 1024));
+        }
+        this.flusher = new Thread(this::runFlusher, "batching-post-sender");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // 🔹 Producer side
+
+    // Blocks while the queue is full.
+    public void enqueue(T item) throws InterruptedException {
+        enqueuing.incrementAndGet();
+        try {
+            checkOpen();
+            queue.put(item);
+        } finally {
+            enqueuing.decrementAndGet();
+        }
+    }
+
+    // Returns false (and counts a rejection) if the queue stays full for the whole timeout.
+    public boolean offer(T item, long timeout, TimeUnit unit) throws InterruptedException {
+        enqueuing.incrementAndGet();
+        try {
+            checkOpen();
+            if (queue.offer(item, timeout, unit)) {
+                return true;
+            }
+        } finally {
+            enqueuing.decrementAndGet();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    // Producers count themselves in enqueuing before reading closed, and the flusher reads closed before
+    // enqueuing, so a producer that got past this check is always seen (and waited for) by the flusher.
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("sender is closed");
+        }
+    }
+
+    // Stops accepting items, flushes what is queued and waits for the in-flight batches.
+    @Override
+    public void close() {
+        closed = true;
+        flusher.interrupt();
+        List<JsonBuffer> all = new ArrayList<>(maxInFlight);
+        try {
+            drained.await();
+            // every buffer back in the pool means every request has completed
+            for (int i = 0; i < maxInFlight; i++) {
+                all.add(buffers.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            buffers.addAll(all);
+        }
+    }
+
+    // 🔹 Flusher thread
+
+    private void runFlusher() {
+        T carry = null; // the item that would have pushed the previous batch past maxBytes
+        try {
+            while (carry != null || !closed || enqueuing.get() > 0 || !queue.isEmpty()) {
+                T first = carry;
+                carry = null;
+                if (first == null) {
+                    try {
+                        // once closing and no producer is mid-enqueue, drain without waiting
+                        first = closed && enqueuing.get() == 0 ? queue.poll() : queue.poll(100, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        continue; // interrupted by close(): loop again and drain
+                    }
+                    if (first == null) {
+                        continue;
+                    }
+                }
+                JsonBuffer buffer = takeBuffer();
+                boolean sent = false;
+                try {
+                    long deadline = System.nanoTime() + maxLingerNanos;
+                    buffer.reset();
+                    buffer.raw('[');
+                    int count = write(first, buffer, 0) ? 1 : 0;
+                    while (count < maxCount) {
+                        T next = queue.poll();
+                        if (next == null) {
+                            long wait = deadline - System.nanoTime();
+                            if (wait <= 0 || closed) {
+                                break;
+                            }
+                            try {
+                                next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                            } catch (InterruptedException e) {
+                                break; // close() while lingering: send what we have
+                            }
+                            if (next == null) {
+                                break;
+                            }
+                        }
+                        // the size is only known once serialized: if it doesn't fit (with the closing ']'),
+                        // take it back out and start the next batch with it
+                        int mark = buffer.size();
+                        if (!write(next, buffer, count)) {
+                            continue;
+                        }
+                        if (count > 0 && buffer.size() + 1 > maxBytes) {
+                            buffer.truncate(mark);
+                            carry = next;
+                            break;
+                        }
+                        count++;
+                    }
+                    if (count > 0) {
+                        buffer.raw(']');
+                        sent = send(buffer, count);
+                    }
+                } finally {
+                    if (!sent) {
+                        buffers.add(buffer); // nothing in flight owns it
+                    }
+                }
+            }
+        } finally {
+            drained.countDown();
+        }
+    }
+
+    private JsonBuffer takeBuffer() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return buffers.take();
+                } catch (InterruptedException e) {
+                    interrupted = true; // close() interrupts us, but the queue still has to drain
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Serializes one item into the batch, after a comma unless it is the first. A serializer that throws
+    // costs only that item: it is rolled back out of the buffer and reported as a failed batch of one.
+    private boolean write(T item, JsonBuffer buffer, int count) {
+        int mark = buffer.size();
+        try {
+            if (count > 0) {
+                buffer.raw(',');
+            }
+            serializer.write(item, buffer);
+            return true;
+        } catch (RuntimeException e) {
+            buffer.truncate(mark);
+            failed.increment();
+            report(1, 0, -1, e);
+            return false;
+        }
+    }
+
+    // The listener is caller code too: whatever it throws must not take the flusher down with it.
+    private void report(int count, int size, int status, Throwable error) {
+        try {
+            listener.onBatch(count, size, status, error);
+        } catch (RuntimeException e) {
+            // ignored, like an exception thrown by a CompletableFuture callback
+        }
+    }
+
+    // Returns false if the request could not even be started; the buffer is then still the caller's.
+    private boolean send(JsonBuffer buffer, int count) {
+        int size = buffer.size();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<Void>> future;
+        try {
+            HttpRequest request = client.request(endpoint)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(buffer.array(), 0, size))
+                    .build();
+            future = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            failed.add(count);
+            report(count, size, -1, e);
+            return false;
+        }
+        future.whenComplete((response, error) -> {
+            sendLatency.record(System.nanoTime() - start);
+            batches.increment();
+            items.add(count);
+            bytes.add(size);
+            int status = response == null ? -1 : response.statusCode();
+            if (error != null || status >= 300) {
+                failed.add(count);
+            }
+            buffers.add(buffer); // the request body has been fully written, so the buffer can be reused
+            listener.onBatch(count, size, status, error);
+        });
+        return true;
+    }
+
+    public String metrics() {
+        long n = batches.sum();
+        return String.format("batches=%d items=%d avgItems=%.1f avgBytes=%.0f failedItems=%d rejected=%d latency: %s",
+                n, items.sum(), n == 0 ? 0.0 : (double) items.sum() / n, n == 0 ? 0.0 : (double) bytes.sum() / n,
+                failed.sum(), rejected.sum(), sendLatency);
+    }
+
+    // 🔹 Reusable UTF-8 JSON output buffer
+
+    public static final class JsonBuffer {
+        private byte[] bytes;
+        private int size;
+
+        JsonBuffer(int initialCapacity) {
+            bytes = new byte[initialCapacity];
+        }
+
+        public JsonBuffer beginObject() {
+            return raw('{');
+        }
+
+        public JsonBuffer endObject() {
+            if (bytes[size - 1] == ',') {
+                size--;
+            }
+            return raw('}');
+        }
+
+        // Writes "name": and leaves the value to the caller; fields are comma-separated automatically.
+        public JsonBuffer field(String name, String value) {
+            return string(name).raw(':').string(value).raw(',');
+        }
+
+        public JsonBuffer field(String name, long value) {
+            string(name).raw(':');
+            return ascii(Long.toString(value)).raw(',');
+        }
+
+        public JsonBuffer field(String name, boolean value) {
+            string(name).raw(':');
+            return ascii(value ? "true" : "false").raw(',');
+        }
+
+        public JsonBuffer string(String s) {
+            raw('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    raw('\\').raw(c);
+                } else if (c < 0x20) {
+                    ascii(String.format("\\u%04x", (int) c));
+                } else if (c < 0x80) {
+                    raw(c);
+                } else if (c < 0x800) {
+                    raw(0xc0 | c >> 6).raw(0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    raw(0xf0 | cp >> 18).raw(0x80 | cp >> 12 & 0x3f).raw(0x80 | cp >> 6 & 0x3f).raw(0x80 | cp & 0x3f);
+                } else {
+                    raw(0xe0 | c >> 12).raw(0x80 | c >> 6 & 0x3f).raw(0x80 | c & 0x3f);
+                }
+            }
+            return raw('"');
+        }
+
+        private JsonBuffer ascii(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                raw(s.charAt(i));
+            }
+            return this;
+        }
+
+        JsonBuffer raw(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = (byte) b;
+            return this;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void truncate(int size) {
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, 0, size, StandardCharsets.UTF_8);
+        }
+    }
+
+    // 🔹 Benchmark: one HttpURLConnection POST per payload vs batched POSTs
+    static final class Post {
+        final String title;
+        final String body;
+        final int userId;
+
+        Post(String title, String body, int userId) {
+            this.title = title;
+            this.body = body;
+            this.userId = userId;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        AtomicInteger requests = new AtomicInteger();
+        LongAdder received = new LongAdder();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/posts", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            int objects = 0;
+            for (byte b : body) {
+                objects += b == '{' ? 1 : 0;
+            }
+            received.add(objects);
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/posts");
+        PooledHttpClient client = PooledHttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            int single = Math.min(total, 2_000);
+            long t0 = System.nanoTime();
+            for (int i = 0; i < single; i++) {
+                HttpURLConnection conn = (HttpURLConnection) new URL(endpoint.toString()).openConnection();
+                conn.setRequestMethod("POST");
+                conn.setRequestProperty("Content-Type", "application/json");
+                conn.setDoOutput(true);
+                String jsonInput = "{\"title\": \"Java API " + i + "\", \"body\": \"Testing POST request\", \"userId\": 1}";
+                try (OutputStream os = conn.getOutputStream()) {
+                    byte[] input = jsonInput.getBytes("utf-8");
+                    os.write(input, 0, input.length);
+                }
+                conn.getResponseCode();
+            }
+            System.out.printf("one POST per item: %,d items in %d ms (%.0f items/s)%n", single,
+                    (System.nanoTime() - t0) / 1_000_000, single / ((System.nanoTime() - t0) / 1e9));
+
+            requests.set(0);
+            received.reset();
+            Serializer<Post> serializer = (post, out) -> out.beginObject()
+                    .field("title", post.title).field("body", post.body).field("userId", post.userId).endObject();
+            t0 = System.nanoTime();
+            BatchingPostSender<Post> sender = new BatchingPostSender<>(client, endpoint, serializer, BatchListener.NONE,
+                    500, 64 * 1024, Duration.ofMillis(5), 10_000, 4);
+            for (int i = 0; i < total; i++) {
+                sender.enqueue(new Post("Java API " + i, "Testing POST request", 1));
+            }
+            sender.close(); // flushes the tail and waits for in-flight batches
+            long elapsed = System.nanoTime() - t0;
+            System.out.printf("batched:           %,d items in %d ms (%.0f items/s), %d requests, server saw %,d items%n",
+                    total, elapsed / 1_000_000, total / (elapsed / 1e9), requests.get(), received.sum());
+            System.out.println(sender.metrics());
+        } finally {
+            PooledHttpClient.stopStubServer(server);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+// Bulk operations on whole directory trees (FileExample/DeleteFile only handle one file).
+// ✅ Parallel traversal on a ForkJoinPool: one task per directory, listed with DirectoryStream
+// ✅ Bulk delete/copy with bounded concurrency (the pool's parallelism) and progress callbacks
+// ✅ Serial Files.walkFileTree variants for small trees and as a baseline
+// 🚫 Parallelism only helps when the file system can serve concurrent metadata calls (SSD, network FS)
+//
+// Run:  javac BulkFileOps.java && java BulkFileOps [dirs] [filesPerDir] [threads]
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BulkFileOps {
+
+    // Called from worker threads, at most once every `interval` files plus once at the end.
+    public interface ProgressListener {
+        void onProgress(long files, long bytes);
+
+        ProgressListener NONE = (files, bytes) -> { };
+    }
+
+    public static final class TreeStats {
+        public final long files;
+        public final long directories;
+        public final long bytes;
+
+        TreeStats(long files, long directories, long bytes) {
+            this.files = files;
+            this.directories = directories;
+            this.bytes = bytes;
+        }
+
+        TreeStats plus(TreeStats other) {
+            return new TreeStats(files + other.files, directories + other.directories, bytes + other.bytes);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d files, %,d dirs, %,d bytes", files, directories, bytes);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final long interval;
+
+    public BulkFileOps(int parallelism) {
+        this(parallelism, 10_000);
+    }
+
+    public BulkFileOps(int parallelism, long progressInterval) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.interval = progressInterval;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // 🔹 Inspect
+
+    public TreeStats scan(Path root) throws IOException {
+        return invoke(new ScanTask(root));
+    }
+
+    public static TreeStats scanSerial(Path root) throws IOException {
+        long[] totals = new long[3];
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                totals[1]++;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                totals[0]++;
+                totals[2] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new TreeStats(totals[0], totals[1], totals[2]);
+    }
+
+    private static final class ScanTask extends RecursiveTask<TreeStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+
+        ScanTask(Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected TreeStats compute() {
+            long files = 0;
+            long bytes = 0;
+            List<ScanTask> children = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attrs.isDirectory()) {
+                        ScanTask child = new ScanTask(entry);
+                        child.fork();
+                        children.add(child);
+                    } else {
+                        files++;
+                        bytes += attrs.size();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                settle(children);
+            }
+            TreeStats stats = new TreeStats(files, 1, bytes);
+            for (ScanTask child : children) {
+                stats = stats.plus(child.join());
+            }
+            return stats;
+        }
+    }
+
+    // 🔹 Delete: files of a directory are removed by its task, the directory itself after all children join
+
+    public TreeStats deleteTree(Path root, ProgressListener listener) throws IOException {
+        Progress progress = new Progress(listener, interval);
+        invoke(new DeleteTask(root, progress));
+        return progress.finish();
+    }
+
+    public static TreeStats deleteTreeSerial(Path root) throws IOException {
+        long[] totals = new long[3];
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                totals[0]++;
+                totals[2] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                Files.delete(dir);
+                totals[1]++;
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new TreeStats(totals[0], totals[1], totals[2]);
+    }
+
+    private static final class DeleteTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path dir;
+        private final Progress progress;
+
+        DeleteTask(Path dir, Progress progress) {
+            this.dir = dir;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            List<DeleteTask> children = new ArrayList<>();
+            try {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                    for (Path entry : entries) {
+                        BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        if (attrs.isDirectory()) {
+                            DeleteTask child = new DeleteTask(entry, progress);
+                            child.fork();
+                            children.add(child);
+                        } else {
+                            Files.delete(entry);
+                            progress.file(attrs.size());
+                        }
+                    }
+                } finally {
+                    settle(children);
+                }
+                for (DeleteTask child : children) {
+                    child.join(); // rethrows the first child's failure
+                }
+                Files.delete(dir);
+                progress.directory();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // 🔹 Copy: directories are created before their children are forked
+
+    public TreeStats copyTree(Path source, Path target, ProgressListener listener) throws IOException {
+        Progress progress = new Progress(listener, interval);
+        invoke(new CopyTask(source, target, progress));
+        return progress.finish();
+    }
+
+    private static final class CopyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path source;
+        private final Path target;
+        private final Progress progress;
+
+        CopyTask(Path source, Path target, Progress progress) {
+            this.source = source;
+            this.target = target;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            List<CopyTask> children = new ArrayList<>();
+            try {
+                Files.createDirectories(target);
+                progress.directory();
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(source)) {
+                    for (Path entry : entries) {
+                        Path dest = target.resolve(entry.getFileName().toString());
+                        BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        if (attrs.isDirectory()) {
+                            CopyTask child = new CopyTask(entry, dest, progress);
+                            child.fork();
+                            children.add(child);
+                        } else {
+                            Files.copy(entry, dest, StandardCopyOption.REPLACE_EXISTING,
+                                    StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                            progress.file(attrs.size());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                settle(children);
+            }
+            for (CopyTask child : children) {
+                child.join(); // rethrows the first child's failure
+            }
+        }
+    }
+
+    // 🔹 Shared progress counters
+
+    private static final class Progress {
+        private final ProgressListener listener;
+        private final long interval;
+        private final AtomicLong files = new AtomicLong();
+        private final AtomicLong directories = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        Progress(ProgressListener listener, long interval) {
+            this.listener = listener;
+            this.interval = Math.max(1, interval);
+        }
+
+        void file(long size) {
+            long total = bytes.addAndGet(size);
+            long n = files.incrementAndGet();
+            if (n % interval == 0) {
+                listener.onProgress(n, total);
+            }
+        }
+
+        void directory() {
+            directories.incrementAndGet();
+        }
+
+        TreeStats finish() {
+            listener.onProgress(files.get(), bytes.get());
+            return new TreeStats(files.get(), directories.get(), bytes.get());
+        }
+    }
+
+    // Waits for every forked child, failed or not, before a task returns or throws: otherwise an
+    // I/O error would reach the caller while sibling subtrees are still being deleted or copied.
+    private static void settle(List<? extends ForkJoinTask<?>> children) {
+        for (ForkJoinTask<?> child : children) {
+            child.quietlyJoin();
+        }
+    }
+
+    private <T> T invoke(ForkJoinTask<T> task) throws IOException {
+        try {
+            return pool.invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // 🔹 Benchmark: recursive File.delete() loop vs walkFileTree vs parallel delete
+
+    public static void main(String[] args) throws IOException {
+        int dirs = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int filesPerDir = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        BulkFileOps ops = new BulkFileOps(threads, 5_000);
+        Path base = Files.createTempDirectory("bulkfileops");
+        try {
+            Path tree = base.resolve("tree");
+            createTree(tree, dirs, filesPerDir);
+
+            long t0 = System.nanoTime();
+            TreeStats serialScan = scanSerial(tree);
+            long t1 = System.nanoTime();
+            TreeStats parallelScan = ops.scan(tree);
+            long t2 = System.nanoTime();
+            System.out.printf("scan  walkFileTree: %5d ms  %s%n", (t1 - t0) / 1_000_000, serialScan);
+            System.out.printf("scan  parallel(%d): %4d ms  %s%n", threads, (t2 - t1) / 1_000_000, parallelScan);
+
+            t0 = System.nanoTime();
+            TreeStats copied = ops.copyTree(tree, base.resolve("copy"),
+                    (files, bytes) -> System.out.printf("    copied %,d files%n", files));
+            System.out.printf("copy  parallel(%d): %4d ms  %s%n", threads, (System.nanoTime() - t0) / 1_000_000, copied);
+            ops.deleteTree(base.resolve("copy"), ProgressListener.NONE);
+
+            t0 = System.nanoTime();
+            long deleted = deleteWithFile(tree.toFile());
+            System.out.printf("delete File.delete loop: %5d ms  (%,d entries)%n", (System.nanoTime() - t0) / 1_000_000, deleted);
+
+            createTree(tree, dirs, filesPerDir);
+            t0 = System.nanoTime();
+            TreeStats walked = deleteTreeSerial(tree);
+            System.out.printf("delete walkFileTree:     %5d ms  %s%n", (System.nanoTime() - t0) / 1_000_000, walked);
+
+            createTree(tree, dirs, filesPerDir);
+            t0 = System.nanoTime();
+            TreeStats parallel = ops.deleteTree(tree, (files, bytes) -> System.out.printf("    deleted %,d files%n", files));
+            System.out.printf("delete parallel(%d):     %5d ms  %s%n", threads, (System.nanoTime() - t0) / 1_000_000, parallel);
+        } finally {
+            if (Files.exists(base)) {
+                ops.deleteTree(base, ProgressListener.NONE);
+            }
+            ops.shutdown();
+        }
+    }
+
+    private static void createTree(Path root, int dirs, int filesPerDir) throws IOException {
+        byte[] content = "some example content\n".getBytes();
+        for (int d = 0; d < dirs; d++) {
+            Path dir = Files.createDirectories(root.resolve("d" + (d % 16)).resolve("sub" + d));
+            for (int f = 0; f < filesPerDir; f++) {
+                Files.write(dir.resolve("example" + f + ".txt"), content);
+            }
+        }
+    }
+
+    // The DeleteFile approach applied recursively with java.io.File.
+    private static long deleteWithFile(File file) {
+        long count = 0;
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                count += deleteWithFile(child);
+            }
+        }
+        return file.delete() ? count + 1 : count;
+    }
+}
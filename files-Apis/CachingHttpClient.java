@@ -0,0 +1,562 @@
+// An HTTP cache in front of PooledHttpClient, for endpoints we poll that rarely change (like /posts/1).
+// ✅ Honors Cache-Control (max-age, no-cache, no-store) and Expires for freshness
+// ✅ Revalidates stale entries with If-None-Match / If-Modified-Since; a 304 reuses the cached body, and any
+//    status other than 200 / 304 is passed through without touching the cached entry
+// ✅ Bounded in-memory LRU (by bytes) with an optional disk tier for evicted entries; the disk tier's index
+//    is rebuilt from its directory on startup, so it survives restarts
+// ✅ Hit / revalidate / miss counters
+// 🚫 Private cache for GET only; responses with Vary are not cached
+//
+// Run:  javac PooledHttpClient.java CachingHttpClient.java && java CachingHttpClient
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CachingHttpClient {
+
+    public enum Source { HIT, DISK_HIT, REVALIDATED, MISS, UNCACHEABLE }
+
+    public static final class CachedResponse {
+        public final int status;
+        public final Map<String, List<String>> headers;
+        public final byte[] body;
+        public final Source source;
+
+        CachedResponse(int status, Map<String, List<String>> headers, byte[] body, Source source) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.source = source;
+        }
+
+        public String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private final PooledHttpClient client;
+    private final MemoryTier memory;
+    private final DiskTier disk;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+
+    public CachingHttpClient(PooledHttpClient client, long maxMemoryBytes) {
+        this(client, maxMemoryBytes, null, 0);
+    }
+
+    // diskDirectory may be null to run memory-only.
+    public CachingHttpClient(PooledHttpClient client, long maxMemoryBytes, Path diskDirectory, long maxDiskBytes) {
+        this.client = client;
+        this.disk = diskDirectory == null ? null : new DiskTier(diskDirectory, maxDiskBytes);
+        this.memory = new MemoryTier(maxMemoryBytes, disk);
+    }
+
+    public CompletableFuture<CachedResponse> getAsync(URI uri) {
+        String key = uri.toString();
+        Entry entry = lookup(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.isFresh(now)) {
+            (entry.fromDisk ? diskHits : hits).increment();
+            return CompletableFuture.completedFuture(entry.toResponse(entry.fromDisk ? Source.DISK_HIT : Source.HIT));
+        }
+
+        HttpRequest.Builder request = client.request(uri).GET();
+        if (entry != null) {
+            entry.etag.ifPresent(tag -> request.header("If-None-Match", tag));
+            entry.lastModified.ifPresent(date -> request.header("If-Modified-Since", date));
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> onResponse(key, entry, response));
+    }
+
+    private CachedResponse onResponse(String key, Entry previous, HttpResponse<byte[]> response) {
+        long now = System.currentTimeMillis();
+        if (response.statusCode() == 304 && previous != null) {
+            // not modified: keep the body, refresh freshness and validators from the new headers
+            Entry refreshed = previous.revalidated(response.headers().map(), now);
+            memory.put(key, refreshed);
+            revalidations.increment();
+            return refreshed.toResponse(Source.REVALIDATED);
+        }
+        Map<String, List<String>> headers = response.headers().map();
+        if (previous != null && response.statusCode() != 200) {
+            // an error (or anything else) while revalidating says nothing about the cached body: keep it
+            uncacheable.increment();
+            return new CachedResponse(response.statusCode(), headers, response.body(), Source.UNCACHEABLE);
+        }
+        Entry entry = Entry.from(response.statusCode(), headers, response.body(), now);
+        if (entry == null) {
+            memory.remove(key);
+            if (disk != null) {
+                disk.remove(key); // or the next lookup would promote the old copy again
+            }
+            uncacheable.increment();
+            return new CachedResponse(response.statusCode(), headers, response.body(), Source.UNCACHEABLE);
+        }
+        memory.put(key, entry);
+        misses.increment();
+        return entry.toResponse(Source.MISS);
+    }
+
+    private Entry lookup(String key) {
+        Entry entry = memory.get(key);
+        if (entry == null && disk != null) {
+            entry = disk.load(key);
+            if (entry != null) {
+                // promote; only this first read counts as a disk hit
+                memory.put(key, new Entry(entry.status, entry.headers, entry.body, entry.expiresAt, false));
+            }
+        }
+        return entry;
+    }
+
+    public void invalidate(URI uri) {
+        memory.remove(uri.toString());
+        if (disk != null) {
+            disk.remove(uri.toString());
+        }
+    }
+
+    public String metrics() {
+        long total = hits.sum() + diskHits.sum() + revalidations.sum() + misses.sum() + uncacheable.sum();
+        return String.format("requests=%d hit=%d diskHit=%d revalidated=%d miss=%d uncacheable=%d hitRatio=%.1f%% memory=%d entries/%d bytes",
+                total, hits.sum(), diskHits.sum(), revalidations.sum(), misses.sum(), uncacheable.sum(),
+                total == 0 ? 0.0 : 100.0 * (hits.sum() + diskHits.sum() + revalidations.sum()) / total,
+                memory.size(), memory.bytes());
+    }
+
+    public long hits() {
+        return hits.sum() + diskHits.sum();
+    }
+
+    public long revalidations() {
+        return revalidations.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    // 🔹 Cache entry and freshness rules
+
+    static final class Entry {
+        final int status;
+        final Map<String, List<String>> headers;
+        final byte[] body;
+        final long expiresAt;
+        final Optional<String> etag;
+        final Optional<String> lastModified;
+        final boolean fromDisk;
+
+        Entry(int status, Map<String, List<String>> headers, byte[] body, long expiresAt, boolean fromDisk) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.etag = header(headers, "ETag");
+            this.lastModified = header(headers, "Last-Modified");
+            this.fromDisk = fromDisk;
+        }
+
+        // Returns null when the response must not be stored.
+        static Entry from(int status, Map<String, List<String>> headers, byte[] body, long now) {
+            if (status != 200 || header(headers, "Vary").isPresent()) {
+                return null;
+            }
+            String cacheControl = header(headers, "Cache-Control").orElse("").toLowerCase();
+            if (cacheControl.contains("no-store")) {
+                return null;
+            }
+            Entry entry = new Entry(status, headers, body, expiresAt(headers, cacheControl, now), false);
+            // without freshness or validators, we could never use it again
+            if (entry.expiresAt <= now && entry.etag.isEmpty() && entry.lastModified.isEmpty()) {
+                return null;
+            }
+            return entry;
+        }
+
+        Entry revalidated(Map<String, List<String>> newHeaders, long now) {
+            Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            merged.putAll(headers);
+            merged.putAll(newHeaders);
+            String cacheControl = header(merged, "Cache-Control").orElse("").toLowerCase();
+            return new Entry(status, merged, body, expiresAt(merged, cacheControl, now), false);
+        }
+
+        boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        long weight() {
+            return body.length + 256L;
+        }
+
+        CachedResponse toResponse(Source source) {
+            return new CachedResponse(status, headers, body, source);
+        }
+
+        private static long expiresAt(Map<String, List<String>> headers, String cacheControl, long now) {
+            if (cacheControl.contains("no-cache") || cacheControl.contains("must-revalidate") && cacheControl.contains("max-age=0")) {
+                return now; // store, but revalidate every time
+            }
+            for (String directive : cacheControl.split(",")) {
+                directive = directive.trim();
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        return now + Long.parseLong(directive.substring("max-age=".length()).trim()) * 1000;
+                    } catch (NumberFormatException e) {
+                        return now;
+                    }
+                }
+            }
+            Optional<String> expires = header(headers, "Expires");
+            if (expires.isPresent()) {
+                // Expires is relative to the server's clock, so use the Date header as the reference
+                long expiry = parseDate(expires.get());
+                long date = header(headers, "Date").map(Entry::parseDate).orElse(now);
+                return expiry < 0 || date < 0 ? now : now + (expiry - date);
+            }
+            return now;
+        }
+
+        private static long parseDate(String value) {
+            try {
+                return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return -1;
+            }
+        }
+
+        private static Optional<String> header(Map<String, List<String>> headers, String name) {
+            for (Map.Entry<String, List<String>> h : headers.entrySet()) {
+                if (h.getKey() != null && h.getKey().equalsIgnoreCase(name) && !h.getValue().isEmpty()) {
+                    return Optional.of(h.getValue().get(0));
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    // 🔹 Memory tier: access-ordered LinkedHashMap bounded by total body bytes
+
+    static final class MemoryTier {
+        private final long maxBytes;
+        private final DiskTier spill;
+        private final LinkedHashMap<String, Entry> map = new LinkedHashMap<>(64, 0.75f, true);
+        private long bytes;
+
+        MemoryTier(long maxBytes, DiskTier spill) {
+            this.maxBytes = maxBytes;
+            this.spill = spill;
+        }
+
+        synchronized Entry get(String key) {
+            return map.get(key);
+        }
+
+        void put(String key, Entry entry) {
+            List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+            synchronized (this) {
+                Entry old = map.put(key, entry);
+                bytes += entry.weight() - (old == null ? 0 : old.weight());
+                Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+                while (bytes > maxBytes && it.hasNext()) {
+                    Map.Entry<String, Entry> eldest = it.next();
+                    if (eldest.getKey().equals(key) && map.size() == 1) {
+                        break; // keep at least the entry we just stored
+                    }
+                    it.remove();
+                    bytes -= eldest.getValue().weight();
+                    evicted.add(eldest);
+                }
+            }
+            if (spill != null) {
+                for (Map.Entry<String, Entry> e : evicted) {
+                    spill.store(e.getKey(), e.getValue()); // disk I/O outside the lock
+                }
+            }
+        }
+
+        synchronized void remove(String key) {
+            Entry old = map.remove(key);
+            if (old != null) {
+                bytes -= old.weight();
+            }
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+    }
+
+    // 🔹 Disk tier: one file per entry named by SHA-256 of the URI, LRU-trimmed by total size.
+    // Each file starts with its key, so the index can be rebuilt by reading the directory on startup.
+
+    static final class DiskTier {
+        private final Path directory;
+        private final long maxBytes;
+        private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+        private long bytes;
+
+        DiskTier(Path directory, long maxBytes) {
+            try {
+                this.directory = Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.maxBytes = maxBytes;
+            rebuildIndex();
+        }
+
+        // Oldest file first, so the LRU order starts out as "least recently written"; files that don't
+        // parse (a write cut short by a crash) or don't match their key's name are deleted.
+        private void rebuildIndex() {
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(f -> f.getFileName().toString().endsWith(".cache") && Files.isRegularFile(f))
+                        .sorted(Comparator.comparingLong(DiskTier::modifiedMillis))
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                return; // the disk tier is best effort: start empty
+            }
+            for (Path file : files) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    String key = in.readUTF();
+                    Entry entry = read(in);
+                    if (file.getFileName().toString().equals(fileName(key))) {
+                        index.put(key, entry.weight());
+                        bytes += entry.weight();
+                        continue;
+                    }
+                } catch (IOException e) {
+                    // fall through and delete it
+                }
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // best effort
+                }
+            }
+            Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+            while (bytes > maxBytes && it.hasNext()) { // maxBytes may be smaller than last time
+                Map.Entry<String, Long> eldest = it.next();
+                it.remove();
+                bytes -= eldest.getValue();
+                delete(eldest.getKey());
+            }
+        }
+
+        private static long modifiedMillis(Path file) {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        void store(String key, Entry entry) {
+            Path file = directory.resolve(fileName(key));
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeUTF(key);
+                out.writeInt(entry.status);
+                out.writeLong(entry.expiresAt);
+                out.writeInt(entry.headers.size());
+                for (Map.Entry<String, List<String>> h : entry.headers.entrySet()) {
+                    out.writeUTF(h.getKey() == null ? "" : h.getKey());
+                    out.writeInt(h.getValue().size());
+                    for (String v : h.getValue()) {
+                        out.writeUTF(v);
+                    }
+                }
+                out.writeInt(entry.body.length);
+                out.write(entry.body);
+            } catch (IOException e) {
+                return; // the disk tier is best effort
+            }
+            List<String> trimmed = new ArrayList<>();
+            synchronized (this) {
+                Long old = index.put(key, entry.weight());
+                bytes += entry.weight() - (old == null ? 0 : old);
+                Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+                while (bytes > maxBytes && it.hasNext()) {
+                    Map.Entry<String, Long> eldest = it.next();
+                    it.remove();
+                    bytes -= eldest.getValue();
+                    trimmed.add(eldest.getKey());
+                }
+            }
+            for (String k : trimmed) {
+                delete(k);
+            }
+        }
+
+        Entry load(String key) {
+            synchronized (this) {
+                if (!index.containsKey(key)) {
+                    return null;
+                }
+            }
+            Path file = directory.resolve(fileName(key));
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (!in.readUTF().equals(key)) {
+                    return null; // hash collision
+                }
+                return read(in);
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                remove(key);
+                return null;
+            }
+        }
+
+        // Reads the rest of an entry file, after its key.
+        private static Entry read(DataInputStream in) throws IOException {
+            int status = in.readInt();
+            long expiresAt = in.readLong();
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            int headerCount = in.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int values = in.readInt();
+                List<String> list = new ArrayList<>(values);
+                for (int j = 0; j < values; j++) {
+                    list.add(in.readUTF());
+                }
+                headers.put(name, list);
+            }
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("corrupt cache entry");
+            }
+            byte[] body = new byte[length];
+            in.readFully(body);
+            return new Entry(status, headers, body, expiresAt, true);
+        }
+
+        void remove(String key) {
+            synchronized (this) {
+                Long old = index.remove(key);
+                if (old == null) {
+                    return;
+                }
+                bytes -= old;
+            }
+            delete(key);
+        }
+
+        private void delete(String key) {
+            try {
+                Files.deleteIfExists(directory.resolve(fileName(key)));
+            } catch (IOException e) {
+                // best effort
+            }
+        }
+
+        private static String fileName(String key) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder(64);
+                for (byte b : digest) {
+                    hex.append(String.format("%02x", b));
+                }
+                return hex.append(".cache").toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // 🔹 Demo: poll a stub /posts/1 (max-age=1 + ETag) and count what actually reaches the server
+    public static void main(String[] args) throws Exception {
+        AtomicInteger serverHits = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        byte[] post = "{\"userId\": 1, \"id\": 1, \"title\": \"cached\", \"body\": \"rarely changes\"}".getBytes(StandardCharsets.UTF_8);
+        server.createContext("/posts/", exchange -> {
+            serverHits.incrementAndGet();
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=1");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, post.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(post);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        PooledHttpClient pooled = PooledHttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Path diskDir = Files.createTempDirectory("httpcache");
+        // tiny memory tier so /posts/2 and /posts/3 push /posts/1 to disk
+        CachingHttpClient cache = new CachingHttpClient(pooled, 400, diskDir, 1024 * 1024);
+        try {
+            long end = System.currentTimeMillis() + 3_000;
+            int polls = 0;
+            while (System.currentTimeMillis() < end) {
+                cache.getAsync(URI.create(base + "/posts/1")).join();
+                polls++;
+                Thread.sleep(10);
+            }
+            System.out.printf("%d polls of /posts/1 -> %d server requests (%d answered 304)%n",
+                    polls, serverHits.get(), notModified.get());
+            cache.getAsync(URI.create(base + "/posts/2")).join();
+            cache.getAsync(URI.create(base + "/posts/3")).join();
+            System.out.println("/posts/1 after eviction: " + cache.getAsync(URI.create(base + "/posts/1")).join().source);
+            System.out.println(cache.metrics());
+        } finally {
+            PooledHttpClient.stopStubServer(server);
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.forEach(f -> f.toFile().delete());
+            }
+            Files.delete(diskDir);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+// Buffered, charset-explicit file I/O built on java.nio.file.
+// ✅ Tunable buffer sizes instead of the unbuffered FileWriter examples
+// ✅ Lazy line streaming (like Files.lines) and a memory-mapped reader for multi-GB files
+// 🚫 Scanner regex-tokenizes every line, so avoid it for big files
+//
+// Run:  javac FastFileIO.java && java FastFileIO [lines]
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class FastFileIO {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private FastFileIO() {
+    }
+
+    // 🔹 Writers
+
+    public static BufferedWriter newWriter(Path path, Charset charset, int bufferSize, boolean append) throws IOException {
+        OpenOption[] options = append
+                ? new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND}
+                : new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING};
+        Writer out = new OutputStreamWriter(Files.newOutputStream(path, options), charset.newEncoder());
+        return new BufferedWriter(out, bufferSize);
+    }
+
+    public static void writeLines(Path path, Iterable<? extends CharSequence> lines, Charset charset, int bufferSize) throws IOException {
+        writeLines(path, lines, charset, bufferSize, false);
+    }
+
+    public static void appendLines(Path path, Iterable<? extends CharSequence> lines, Charset charset, int bufferSize) throws IOException {
+        writeLines(path, lines, charset, bufferSize, true);
+    }
+
+    private static void writeLines(Path path, Iterable<? extends CharSequence> lines, Charset charset,
+                                   int bufferSize, boolean append) throws IOException {
+        try (BufferedWriter writer = newWriter(path, charset, bufferSize, append)) {
+            for (CharSequence line : lines) {
+                writer.append(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    // 🔹 Readers
+
+    public static BufferedReader newReader(Path path, Charset charset, int bufferSize) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(path), charset.newDecoder()), bufferSize);
+    }
+
+    // Lazily streams lines; close the stream (try-with-resources) to release the file.
+    public static Stream<String> lines(Path path, Charset charset, int bufferSize) throws IOException {
+        BufferedReader reader = newReader(path, charset, bufferSize);
+        try {
+            Iterator<String> it = new Iterator<>() {
+                private String next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next != null) {
+                        return true;
+                    }
+                    try {
+                        next = reader.readLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    String line = next;
+                    next = null;
+                    return line;
+                }
+            };
+            return StreamSupport.stream(
+                            Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    // 🔹 Memory-mapped line reader
+    // Maps the file in windows (a single mapping is capped at 2 GB) and splits on '\n'.
+    // Lines crossing a window boundary are handled by re-mapping from the start of that line.
+    // A trailing '\r' is stripped so CRLF files read the same as with BufferedReader.
+    // Only valid for charsets where '\n' is the single byte 0x0A (UTF-8, ISO-8859-1, US-ASCII).
+    public static class MappedLineReader {
+        public static final long DEFAULT_WINDOW = 256L * 1024 * 1024;
+
+        private final Path path;
+        private final Charset charset;
+        private final long window;
+
+        public MappedLineReader(Path path, Charset charset) {
+            this(path, charset, DEFAULT_WINDOW);
+        }
+
+        public MappedLineReader(Path path, Charset charset, long window) {
+            if (window <= 0 || window > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("window must be in (0, 2GB]: " + window);
+            }
+            this.path = path;
+            this.charset = charset;
+            this.window = window;
+        }
+
+        public long forEachLine(Consumer<String> action) throws IOException {
+            long count = 0;
+            byte[] scratch = new byte[256];
+            byte[] chunk = new byte[64 * 1024];
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                long position = 0;
+                long mapSize = window;
+                while (position < size) {
+                    long length = Math.min(mapSize, size - position);
+                    boolean lastWindow = position + length == size;
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    int limit = (int) length;
+                    int lineStart = 0;
+                    for (int base = 0; base < limit; base += chunk.length) {
+                        // bulk-copy a chunk so the scan loop runs over a plain array
+                        int n = Math.min(chunk.length, limit - base);
+                        buffer.get(base, chunk, 0, n);
+                        for (int j = 0; j < n; j++) {
+                            if (chunk[j] == '\n') {
+                                int i = base + j;
+                                scratch = emit(buffer, lineStart, i, scratch, action);
+                                count++;
+                                lineStart = i + 1;
+                            }
+                        }
+                    }
+                    if (lastWindow) {
+                        if (lineStart < limit) {
+                            emit(buffer, lineStart, limit, scratch, action);
+                            count++;
+                        }
+                        break;
+                    }
+                    if (lineStart == 0) {
+                        // one line is longer than the window: grow the mapping and retry
+                        mapSize = Math.min((long) Integer.MAX_VALUE, mapSize * 2);
+                        if (mapSize == length) {
+                            throw new IOException("Line longer than 2 GB at offset " + position);
+                        }
+                    } else {
+                        position += lineStart;
+                        mapSize = window;
+                    }
+                }
+            }
+            return count;
+        }
+
+        private byte[] emit(MappedByteBuffer buffer, int from, int to, byte[] scratch, Consumer<String> action) {
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+            int len = to - from;
+            if (scratch.length < len) {
+                scratch = new byte[Math.max(len, scratch.length * 2)];
+            }
+            buffer.get(from, scratch, 0, len);
+            action.accept(new String(scratch, 0, len, charset));
+            return scratch;
+        }
+    }
+
+    // 🔹 Benchmark: Scanner vs BufferedReader vs lines() vs mapped
+    public static void main(String[] args) throws IOException {
+        int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path file = Files.createTempFile("fastfileio", ".txt");
+        try {
+            long t0 = System.nanoTime();
+            try (BufferedWriter writer = newWriter(file, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE, false)) {
+                for (int i = 0; i < lineCount; i++) {
+                    writer.write("line " + i + " lorem ipsum dolor sit amet, consectetur adipiscing elit");
+                    writer.newLine();
+                }
+            }
+            System.out.printf("write %,d lines: %d ms (%,d bytes)%n",
+                    lineCount, (System.nanoTime() - t0) / 1_000_000, Files.size(file));
+
+            for (int round = 0; round < 3; round++) {
+                System.out.println("-- round " + (round + 1));
+                time("Scanner", () -> {
+                    long n = 0;
+                    try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8)) {
+                        while (scanner.hasNextLine()) {
+                            n += scanner.nextLine().length();
+                        }
+                    }
+                    return n;
+                });
+                time("BufferedReader", () -> {
+                    long n = 0;
+                    try (BufferedReader reader = newReader(file, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE)) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            n += line.length();
+                        }
+                    }
+                    return n;
+                });
+                time("lines()", () -> {
+                    try (Stream<String> s = lines(file, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE)) {
+                        return s.mapToLong(String::length).sum();
+                    }
+                });
+                time("MappedLineReader", () -> {
+                    long[] n = {0};
+                    new MappedLineReader(file, StandardCharsets.UTF_8).forEachLine(line -> n[0] += line.length());
+                    return n[0];
+                });
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private interface IOTask {
+        long run() throws IOException;
+    }
+
+    private static void time(String name, IOTask task) throws IOException {
+        long start = System.nanoTime();
+        long chars = task.run();
+        System.out.printf("%-18s %6d ms  (%,d chars)%n", name, (System.nanoTime() - start) / 1_000_000, chars);
+    }
+}
@@ -0,0 +1,358 @@
+// An append-only log that many threads can share (replacement for AppendToFile).
+// ✅ One open channel instead of open/write/close per line
+// ✅ Group commit: concurrent appends are batched and synced with one force() per batch
+// ✅ Size-based segment rotation and latency histograms for append and commit
+// 🚫 Records are raw bytes; framing (newline, length prefix) is up to the caller
+//
+// Run:  javac LatencyHistogram.java GroupCommitLog.java && java GroupCommitLog [threads] [appendsPerThread]
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class GroupCommitLog implements AutoCloseable {
+
+    public enum Durability {
+        NONE,        // write to the page cache only; the OS flushes eventually
+        PER_BATCH,   // one force() per group commit
+        PER_RECORD   // force() after every record (slowest, same as syncing each AppendToFile call)
+    }
+
+    private static final Pending SHUTDOWN = new Pending(new byte[0]);
+
+    private final Path directory;
+    private final String prefix;
+    private final Durability durability;
+    private final long maxSegmentBytes;
+    private final int maxBatch;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private final LatencyHistogram appendLatency = new LatencyHistogram();
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+
+    private FileChannel channel;
+    private long segmentSize;
+    private int segmentIndex;
+    private long batches;
+    private long records;
+    private volatile boolean closed;                              // no new appends accepted
+    private final AtomicBoolean closeCalled = new AtomicBoolean();
+    private final AtomicInteger appending = new AtomicInteger();  // appends between the closed check and put
+
+    public GroupCommitLog(Path directory, String prefix, Durability durability,
+                          long maxSegmentBytes, int maxBatch, int queueCapacity) throws IOException {
+        if (maxSegmentBytes <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("maxSegmentBytes and maxBatch must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.durability = durability;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxBatch = maxBatch;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.segmentIndex = lastSegmentIndex();
+        openSegment();
+        this.writer = new Thread(this::runWriter, "group-commit-" + prefix);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public GroupCommitLog(Path directory, String prefix, Durability durability) throws IOException {
+        this(directory, prefix, durability, 64L * 1024 * 1024, 1024, 64 * 1024);
+    }
+
+    // Returns a future that completes once the record is written (and synced, per the durability mode).
+    // close() waits for `appending` to reach zero after setting `closed`, so a record is either rejected
+    // here or queued ahead of SHUTDOWN, never after it.
+    public CompletableFuture<Void> append(byte[] record) {
+        appending.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("log is closed");
+            }
+            Pending pending = new Pending(record);
+            try {
+                queue.put(pending); // blocks when the writer falls behind (backpressure)
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.future.completeExceptionally(e);
+            }
+            return pending.future;
+        } finally {
+            appending.decrementAndGet();
+        }
+    }
+
+    public CompletableFuture<Void> appendLine(String line) {
+        return append((line + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void appendAndWait(byte[] record) throws IOException {
+        try {
+            append(record).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while appending", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    public LatencyHistogram appendLatency() {
+        return appendLatency;
+    }
+
+    public LatencyHistogram commitLatency() {
+        return commitLatency;
+    }
+
+    public synchronized long batches() {
+        return batches;
+    }
+
+    public synchronized long records() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closeCalled.compareAndSet(false, true)) {
+            return;
+        }
+        closed = true;
+        awaitAppends();
+        try {
+            queue.put(SHUTDOWN);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // only left over if close() was interrupted or the writer died; never leave a future pending
+        failQueued(new IOException("log closed before the record was written"));
+        synchronized (this) {
+            if (durability != Durability.NONE) {
+                channel.force(false);
+            }
+            channel.close();
+        }
+    }
+
+    // 🔹 Writer thread: drain everything queued, write it, sync once, complete all futures
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // stop accepting, and fail whatever is queued or still being put, instead of leaving it pending
+                closed = true;
+                IOException failure = new IOException("log writer interrupted");
+                do {
+                    failQueued(failure);
+                    Thread.yield();
+                } while (appending.get() > 0 || !queue.isEmpty());
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            int shutdownAt = batch.indexOf(SHUTDOWN);
+            if (shutdownAt >= 0) {
+                batch.subList(shutdownAt, batch.size()).clear(); // SHUTDOWN is always the last record queued
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void awaitAppends() {
+        while (appending.get() > 0) {
+            Thread.yield(); // an append blocked on a full queue finishes as soon as the writer drains it
+        }
+    }
+
+    private void failQueued(IOException failure) {
+        List<Pending> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        for (Pending p : leftover) {
+            if (p != SHUTDOWN) {
+                p.future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private synchronized void commit(List<Pending> batch) {
+        long start = System.nanoTime();
+        IOException failure = null;
+        try {
+            for (Pending p : batch) {
+                if (segmentSize > 0 && segmentSize + p.record.length > maxSegmentBytes) {
+                    rotate();
+                }
+                ByteBuffer buf = ByteBuffer.wrap(p.record);
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+                segmentSize += p.record.length;
+                if (durability == Durability.PER_RECORD) {
+                    channel.force(false);
+                }
+            }
+            if (durability == Durability.PER_BATCH) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        long end = System.nanoTime();
+        commitLatency.record(end - start);
+        batches++;
+        records += batch.size();
+        for (Pending p : batch) {
+            appendLatency.record(end - p.enqueuedAt);
+            if (failure == null) {
+                p.future.complete(null);
+            } else {
+                p.future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    // 🔹 Segments: <prefix>-00000001.log, <prefix>-00000002.log, ...
+
+    private void rotate() throws IOException {
+        if (durability != Durability.NONE) {
+            channel.force(false);
+        }
+        channel.close();
+        segmentIndex++;
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        Path file = segmentPath(segmentIndex);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+    public Path segmentPath(int index) {
+        return directory.resolve(String.format("%s-%08d.log", prefix, index));
+    }
+
+    public List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().matches(Pattern.quote(prefix) + "-\\d{8}\\.log"))
+                    .sorted(Comparator.comparing(Path::toString))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private int lastSegmentIndex() throws IOException {
+        List<Path> existing = segments();
+        if (existing.isEmpty()) {
+            return 1;
+        }
+        String name = existing.get(existing.size() - 1).getFileName().toString();
+        return Integer.parseInt(name.substring(prefix.length() + 1, name.length() - ".log".length()));
+    }
+
+    private static final class Pending {
+        final byte[] record;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Pending(byte[] record) {
+            this.record = record;
+        }
+    }
+
+    // 🔹 Benchmark: FileWriter(path, true) per line vs the shared group-commit log
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Path dir = Files.createTempDirectory("groupcommit");
+        try {
+            Path plain = dir.resolve("plain.txt");
+            long start = System.nanoTime();
+            runThreads(threads, t -> {
+                for (int i = 0; i < perThread; i++) {
+                    synchronized (GroupCommitLog.class) {
+                        try (FileWriter writer = new FileWriter(plain.toFile(), true)) {
+                            writer.write("thread " + t + " line " + i + "\n");
+                        }
+                    }
+                }
+            });
+            report("FileWriter open/append/close", threads * perThread, System.nanoTime() - start);
+
+            for (Durability mode : Durability.values()) {
+                try (GroupCommitLog log = new GroupCommitLog(dir.resolve(mode.name()), "app", mode,
+                        1024 * 1024, 1024, 64 * 1024)) {
+                    long t0 = System.nanoTime();
+                    runThreads(threads, t -> {
+                        for (int i = 0; i < perThread; i++) {
+                            log.appendAndWait(("thread " + t + " line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                        }
+                    });
+                    report("GroupCommitLog " + mode, threads * perThread, System.nanoTime() - t0);
+                    System.out.printf("    batches=%d (avg %.1f records) segments=%d%n    append: %s%n    commit: %s%n",
+                            log.batches(), (double) log.records() / log.batches(), log.segments().size(),
+                            log.appendLatency(), log.commitLatency());
+                }
+            }
+        } finally {
+            try (Stream<Path> walk = Files.walk(dir)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private interface Worker {
+        void run(int thread) throws IOException;
+    }
+
+    private static void runThreads(int threads, Worker worker) throws InterruptedException {
+        List<Thread> started = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.run(id);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            thread.start();
+            started.add(thread);
+        }
+        for (Thread thread : started) {
+            thread.join();
+        }
+    }
+
+    private static void report(String name, long ops, long nanos) {
+        System.out.printf("%-32s %8.0f appends/s%n", name, ops / (nanos / 1e9));
+    }
+}
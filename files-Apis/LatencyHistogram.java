@@ -0,0 +1,56 @@
+// Lock-free log2-bucketed latency histogram, shared by GroupCommitLog (append/commit latency) and
+// BatchingPostSender (per-batch send latency). Bucket i holds values in [2^i, 2^(i+1)) ns.
+// ✅ record() is one atomic increment, so any number of threads can record without locking
+// 🚫 Percentiles are bucket upper bounds (up to 2x the true value), good enough for p50/p99 at a glance
+//
+// Run:  javac LatencyHistogram.java && java LatencyHistogram
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+    public void record(long nanos) {
+        buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    // Upper bound of the bucket containing the given percentile (0-100).
+    public long percentile(double p) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * p / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50<=%.1fus p99<=%.1fus p99.9<=%.1fus", count(),
+                percentile(50) / 1e3, percentile(99) / 1e3, percentile(99.9) / 1e3);
+    }
+
+    public static void main(String[] args) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L); // 1us .. 1ms
+        }
+        System.out.println(histogram.percentile(50)); // Output: 524287
+        System.out.println(histogram); // Output: n=1000 p50<=524.3us p99<=1048.6us p99.9<=1048.6us
+    }
+}
@@ -0,0 +1,340 @@
+// A shared, pooled HTTP client on java.net.http.HttpClient (replacement for HttpGetExample/HttpPostExample).
+// ✅ One client for the whole app: connections are kept alive and reused, HTTP/2 is negotiated when offered
+// ✅ Async CompletableFuture API, so callers are not blocked on the network
+// ✅ Per-host concurrency cap (extra requests wait in a queue) and configurable timeouts
+// 🚫 Don't create one client per request; that throws away the connection pool
+//
+// Run:  javac PooledHttpClient.java && java PooledHttpClient [requests] [concurrency]
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+public class PooledHttpClient {
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    private PooledHttpClient(Builder builder) {
+        HttpClient.Builder http = HttpClient.newBuilder()
+                .version(builder.version)
+                .connectTimeout(builder.connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (builder.executor != null) {
+            http.executor(builder.executor);
+        }
+        this.client = http.build();
+        this.requestTimeout = builder.requestTimeout;
+        this.maxConcurrentPerHost = builder.maxConcurrentPerHost;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private HttpClient.Version version = HttpClient.Version.HTTP_2; // falls back to HTTP/1.1 if the server doesn't offer h2
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private int maxConcurrentPerHost = 64;
+        private ExecutorService executor;
+
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder maxConcurrentPerHost(int maxConcurrentPerHost) {
+            if (maxConcurrentPerHost <= 0) {
+                throw new IllegalArgumentException("maxConcurrentPerHost must be positive");
+            }
+            this.maxConcurrentPerHost = maxConcurrentPerHost;
+            return this;
+        }
+
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public PooledHttpClient build() {
+            return new PooledHttpClient(this);
+        }
+    }
+
+    // 🔹 Request helpers (the per-request timeout is applied here)
+
+    public HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(requestTimeout);
+    }
+
+    public CompletableFuture<HttpResponse<String>> getAsync(URI uri) {
+        return sendAsync(request(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public CompletableFuture<HttpResponse<String>> postJsonAsync(URI uri, String json) {
+        HttpRequest request = request(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                .build();
+        return sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        return limiter(request.uri()).submit(() -> client.sendAsync(request, handler));
+    }
+
+    // Blocking variant for code that is not async yet; still goes through the pool and the host cap.
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        try {
+            return sendAsync(request, handler).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    public HttpClient httpClient() {
+        return client;
+    }
+
+    public int inFlight(URI uri) {
+        return limiter(uri).active();
+    }
+
+    public int queued(URI uri) {
+        return limiter(uri).waiting();
+    }
+
+    private HostLimiter limiter(URI uri) {
+        return limiters.computeIfAbsent(hostKey(uri), k -> new HostLimiter(maxConcurrentPerHost));
+    }
+
+    // The origin a per-host resource is keyed on (also by ResilientHttpClient's bulkheads and breakers):
+    // http://h, http://H and http://h:80 are the same origin and map to the same key.
+    static String hostKey(URI uri) {
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort() != -1 ? uri.getPort() : scheme.equals("https") ? 443 : 80;
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    // 🔹 Non-blocking per-host cap: excess calls are queued and started as earlier ones finish
+    static final class HostLimiter {
+        private final int max;
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        private int active;
+        private int handoffs;     // released permits not yet passed on to a waiter
+        private boolean draining; // some thread is in release()'s loop and will pass them on
+
+        HostLimiter(int max) {
+            this.max = max;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> {
+                CompletableFuture<T> future;
+                try {
+                    future = call.get();
+                } catch (RuntimeException e) {
+                    release();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                future.whenComplete((value, error) -> {
+                    release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+            boolean runNow;
+            synchronized (this) {
+                runNow = active < max;
+                if (runNow) {
+                    active++;
+                } else {
+                    waiting.add(start);
+                }
+            }
+            if (runNow) {
+                start.run();
+            }
+            return result;
+        }
+
+        // The permit passes straight to the next waiter. Starting a waiter can release again on the same
+        // stack (a call that fails or completes synchronously), so nested releases only count a handoff
+        // and the outermost one starts the waiters in a loop instead of recursing once per queued call.
+        private void release() {
+            synchronized (this) {
+                handoffs++;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            while (true) {
+                Runnable next;
+                synchronized (this) {
+                    if (handoffs == 0) {
+                        draining = false;
+                        return;
+                    }
+                    handoffs--;
+                    next = waiting.poll();
+                    if (next == null) {
+                        active--;
+                        continue;
+                    }
+                }
+                next.run();
+            }
+        }
+
+        synchronized int active() {
+            return active;
+        }
+
+        synchronized int waiting() {
+            return waiting.size();
+        }
+    }
+
+    // 🔹 Benchmark against a local stub server: HttpURLConnection per call vs the pooled client
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        HttpServer server = startStubServer();
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/posts/1");
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        PooledHttpClient pooled = PooledHttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // the JDK stub server only speaks HTTP/1.1
+                .maxConcurrentPerHost(concurrency)
+                .build();
+        try {
+            for (int round = 0; round < 2; round++) {
+                System.out.println("-- round " + (round + 1));
+                long t0 = System.nanoTime();
+                runBlocking(callers, concurrency, requests, () -> {
+                    HttpURLConnection conn = (HttpURLConnection) new URL(uri.toString()).openConnection();
+                    conn.setRequestMethod("GET");
+                    conn.getResponseCode();
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
+                        StringBuilder response = new StringBuilder();
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            response.append(line);
+                        }
+                    }
+                });
+                report("HttpURLConnection per call", requests, System.nanoTime() - t0);
+
+                t0 = System.nanoTime();
+                runBlocking(callers, concurrency, requests,
+                        () -> pooled.send(pooled.request(uri).GET().build(), HttpResponse.BodyHandlers.ofString()));
+                report("PooledHttpClient send()", requests, System.nanoTime() - t0);
+
+                t0 = System.nanoTime();
+                List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>(requests);
+                for (int i = 0; i < requests; i++) {
+                    futures.add(pooled.getAsync(uri));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+                report("PooledHttpClient getAsync()", requests, System.nanoTime() - t0);
+            }
+        } finally {
+            callers.shutdown();
+            stopStubServer(server);
+        }
+    }
+
+    static HttpServer startStubServer() throws IOException {
+        // without TCP_NODELAY, Nagle + delayed ACK add ~40 ms to every response of the JDK server
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        byte[] body = "{\"userId\": 1, \"id\": 1, \"title\": \"stub\", \"body\": \"served locally\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(32));
+        server.start();
+        return server;
+    }
+
+    static void stopStubServer(HttpServer server) {
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdown();
+    }
+
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    private static void runBlocking(ExecutorService callers, int concurrency, int requests, Call call) throws Exception {
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            int perWorker = requests / concurrency + (w < requests % concurrency ? 1 : 0); // exactly `requests` calls
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    for (int i = 0; i < perWorker; i++) {
+                        call.run();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, callers));
+        }
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).get();
+    }
+
+    private static void report(String name, int requests, long nanos) {
+        System.out.printf("%-30s %8.0f req/s%n", name, requests / (nanos / 1e9));
+    }
+}
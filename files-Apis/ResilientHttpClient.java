@@ -0,0 +1,413 @@
+// A resilience pipeline around PooledHttpClient (HttpPostExample sends once and hopes for the best).
+// ✅ Single flight: identical concurrent GETs share one request
+// ✅ Retries for idempotent methods with full-jitter exponential backoff (honors Retry-After)
+// ✅ Per-host bulkhead: a slow host can only hold N calls, the rest are rejected instead of piling up
+// ✅ Per-host circuit breaker: after too many failures calls fail fast until a trial call succeeds
+// 🚫 POST is never retried automatically; make it idempotent (e.g. an idempotency key) first
+//
+// Run:  javac PooledHttpClient.java ResilientHttpClient.java && java ResilientHttpClient
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ResilientHttpClient {
+
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+
+    public static class BulkheadFullException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public BulkheadFullException(String host) {
+            super("bulkhead full for " + host);
+        }
+    }
+
+    public static class CircuitOpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public CircuitOpenException(String host) {
+            super("circuit open for " + host);
+        }
+    }
+
+    private final PooledHttpClient client;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int bulkheadSize;
+    private final int breakerWindow;
+    private final double breakerFailureRate;
+    private final Duration breakerOpenTime;
+    private final Map<String, CompletableFuture<HttpResponse<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+
+    private ResilientHttpClient(Builder builder) {
+        this.client = builder.client;
+        this.maxAttempts = builder.maxAttempts;
+        this.baseBackoff = builder.baseBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.bulkheadSize = builder.bulkheadSize;
+        this.breakerWindow = builder.breakerWindow;
+        this.breakerFailureRate = builder.breakerFailureRate;
+        this.breakerOpenTime = builder.breakerOpenTime;
+    }
+
+    public static Builder newBuilder(PooledHttpClient client) {
+        return new Builder(client);
+    }
+
+    public static class Builder {
+        private final PooledHttpClient client;
+        private int maxAttempts = 3;
+        private Duration baseBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private int bulkheadSize = 32;
+        private int breakerWindow = 20;
+        private double breakerFailureRate = 0.5;
+        private Duration breakerOpenTime = Duration.ofSeconds(5);
+
+        Builder(PooledHttpClient client) {
+            this.client = client;
+        }
+
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder backoff(Duration base, Duration max) {
+            this.baseBackoff = base;
+            this.maxBackoff = max;
+            return this;
+        }
+
+        public Builder bulkheadSize(int bulkheadSize) {
+            this.bulkheadSize = bulkheadSize;
+            return this;
+        }
+
+        // The breaker opens when at least `window` calls were seen and `failureRate` of the last `window` failed.
+        public Builder circuitBreaker(int window, double failureRate, Duration openTime) {
+            this.breakerWindow = window;
+            this.breakerFailureRate = failureRate;
+            this.breakerOpenTime = openTime;
+            return this;
+        }
+
+        public ResilientHttpClient build() {
+            return new ResilientHttpClient(this);
+        }
+    }
+
+    // 🔹 Entry points
+
+    public CompletableFuture<HttpResponse<byte[]>> get(URI uri) {
+        HttpRequest request = client.request(uri).GET().build();
+        String key = uri.toString();
+        CompletableFuture<HttpResponse<byte[]>> mine = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<byte[]>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy(); // a caller cancelling or completing its future must not affect the others
+        }
+        send(request).whenComplete((response, error) -> {
+            inFlight.remove(key, mine);
+            if (error != null) {
+                mine.completeExceptionally(unwrap(error));
+            } else {
+                mine.complete(response);
+            }
+        });
+        return mine.copy();
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        boolean retryable = IDEMPOTENT.contains(request.method());
+        return attempt(request, 1, retryable ? maxAttempts : 1);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> attempt(HttpRequest request, int attempt, int attempts) {
+        return guarded(request).handle((response, error) -> {
+            Throwable cause = error == null ? null : unwrap(error);
+            boolean failedRetryably = cause != null
+                    ? cause instanceof IOException && !(cause instanceof BulkheadFullException || cause instanceof CircuitOpenException)
+                    : RETRYABLE_STATUS.contains(response.statusCode());
+            if (!failedRetryably || attempt >= attempts) {
+                return cause == null
+                        ? CompletableFuture.completedFuture(response)
+                        : CompletableFuture.<HttpResponse<byte[]>>failedFuture(cause);
+            }
+            retries.increment();
+            long delay = backoffMillis(attempt, response);
+            return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attempt(request, attempt + 1, attempts));
+        }).thenCompose(f -> f);
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt-1))]; a Retry-After header wins if present.
+    private long backoffMillis(int attempt, HttpResponse<byte[]> response) {
+        if (response != null) {
+            String retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+            if (retryAfter != null && !retryAfter.isEmpty() && retryAfter.chars().allMatch(Character::isDigit)) {
+                return Math.min(maxBackoff.toMillis(), Long.parseLong(retryAfter) * 1000);
+            }
+        }
+        long ceiling = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    // 🔹 One attempt behind the circuit breaker and bulkhead
+
+    private CompletableFuture<HttpResponse<byte[]>> guarded(HttpRequest request) {
+        String host = PooledHttpClient.hostKey(request.uri());
+        CircuitBreaker breaker = breakers.computeIfAbsent(host, h -> new CircuitBreaker(breakerWindow, breakerFailureRate, breakerOpenTime));
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.Permit.DENIED) {
+            shortCircuited.increment();
+            return CompletableFuture.failedFuture(new CircuitOpenException(host));
+        }
+        Semaphore bulkhead = bulkheads.computeIfAbsent(host, h -> new Semaphore(bulkheadSize));
+        if (!bulkhead.tryAcquire()) {
+            breaker.release(permit); // not the host's fault, don't count it
+            rejected.increment();
+            return CompletableFuture.failedFuture(new BulkheadFullException(host));
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            bulkhead.release();
+            breaker.record(permit, error == null && response.statusCode() < 500);
+        });
+    }
+
+    public CircuitBreaker.State circuitState(URI uri) {
+        CircuitBreaker breaker = breakers.get(PooledHttpClient.hostKey(uri));
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    public String metrics() {
+        return String.format("coalesced=%d retries=%d bulkheadRejected=%d shortCircuited=%d",
+                coalesced.sum(), retries.sum(), rejected.sum(), shortCircuited.sum());
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // 🔹 Count-based sliding-window circuit breaker
+
+    static final class CircuitBreaker {
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        // What tryAcquire() handed out; only the TRIAL permit's outcome decides a HALF_OPEN breaker.
+        enum Permit { DENIED, CALL, TRIAL }
+
+        private final boolean[] outcomes; // true = failure
+        private final double failureRate;
+        private final long openNanos;
+        private State state = State.CLOSED;
+        private int index;
+        private int recorded;
+        private int failures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int window, double failureRate, Duration openTime) {
+            this.outcomes = new boolean[window];
+            this.failureRate = failureRate;
+            this.openNanos = openTime.toNanos();
+        }
+
+        synchronized Permit tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return Permit.DENIED;
+                }
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return Permit.DENIED; // exactly one trial call at a time
+                }
+                trialInFlight = true;
+                return Permit.TRIAL;
+            }
+            return Permit.CALL;
+        }
+
+        synchronized void release(Permit permit) {
+            if (permit == Permit.TRIAL) {
+                trialInFlight = false;
+            }
+        }
+
+        synchronized void record(Permit permit, boolean success) {
+            if (permit == Permit.TRIAL) {
+                trialInFlight = false;
+                if (state == State.HALF_OPEN) {
+                    if (success) {
+                        reset(State.CLOSED);
+                    } else {
+                        open();
+                    }
+                }
+                return;
+            }
+            if (state != State.CLOSED) {
+                return; // late result of a call made before the breaker opened
+            }
+            if (recorded == outcomes.length && outcomes[index]) {
+                failures--;
+            }
+            outcomes[index] = !success;
+            if (!success) {
+                failures++;
+            }
+            index = (index + 1) % outcomes.length;
+            recorded = Math.min(recorded + 1, outcomes.length);
+            if (recorded == outcomes.length && failures >= failureRate * outcomes.length) {
+                open();
+            }
+        }
+
+        synchronized State state() {
+            return state;
+        }
+
+        private void open() {
+            reset(State.OPEN);
+            openedAt = System.nanoTime();
+        }
+
+        private void reset(State next) {
+            state = next;
+            index = 0;
+            recorded = 0;
+            failures = 0;
+            Arrays.fill(outcomes, false);
+        }
+    }
+
+    // 🔹 Scenarios against a local stub server
+    public static void main(String[] args) throws Exception {
+        AtomicInteger postHits = new AtomicInteger();
+        AtomicInteger flakyHits = new AtomicInteger();
+        AtomicInteger downHits = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/posts/1", exchange -> {
+            postHits.incrementAndGet();
+            sleep(200); // slow enough that concurrent callers overlap
+            respond(exchange, 200, "{\"id\": 1}");
+        });
+        server.createContext("/flaky", exchange -> {
+            int n = flakyHits.incrementAndGet();
+            respond(exchange, n % 3 == 0 ? 200 : 503, "flaky " + n);
+        });
+        server.createContext("/down", exchange -> {
+            downHits.incrementAndGet();
+            respond(exchange, 500, "down");
+        });
+        server.setExecutor(Executors.newFixedThreadPool(64));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        PooledHttpClient pooled = PooledHttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            ResilientHttpClient resilient = ResilientHttpClient.newBuilder(pooled)
+                    .maxAttempts(4)
+                    .backoff(Duration.ofMillis(20), Duration.ofMillis(200))
+                    .build();
+
+            List<CompletableFuture<HttpResponse<byte[]>>> calls = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                calls.add(resilient.get(URI.create(base + "/posts/1")));
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).join();
+            System.out.printf("single flight: 100 concurrent GETs -> %d server request(s)%n", postHits.get());
+
+            HttpResponse<byte[]> flaky = resilient.get(URI.create(base + "/flaky")).join();
+            System.out.printf("retry: /flaky answered %d after %d attempts%n", flaky.statusCode(), flakyHits.get());
+
+            ResilientHttpClient guarded = ResilientHttpClient.newBuilder(pooled)
+                    .maxAttempts(1)
+                    .circuitBreaker(10, 0.5, Duration.ofMillis(500))
+                    .build();
+            int failedFast = 0;
+            for (int i = 0; i < 50; i++) {
+                try {
+                    guarded.get(URI.create(base + "/down")).join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof CircuitOpenException) {
+                        failedFast++;
+                    }
+                }
+            }
+            System.out.printf("circuit breaker: 50 calls to /down -> %d reached the server, %d failed fast, state %s%n",
+                    downHits.get(), failedFast, guarded.circuitState(URI.create(base + "/down")));
+
+            ResilientHttpClient bulkheaded = ResilientHttpClient.newBuilder(pooled).maxAttempts(1).bulkheadSize(4).build();
+            int rejectedCalls = 0;
+            List<CompletableFuture<HttpResponse<byte[]>>> slow = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                slow.add(bulkheaded.send(pooled.request(URI.create(base + "/posts/1?n=" + i)).GET().build()));
+            }
+            for (CompletableFuture<HttpResponse<byte[]>> f : slow) {
+                try {
+                    f.join();
+                } catch (CompletionException e) {
+                    rejectedCalls += e.getCause() instanceof BulkheadFullException ? 1 : 0;
+                }
+            }
+            System.out.printf("bulkhead(4): 20 concurrent slow calls -> %d rejected%n", rejectedCalls);
+            System.out.println(resilient.metrics() + " | " + guarded.metrics() + " | " + bulkheaded.metrics());
+        } finally {
+            PooledHttpClient.stopStubServer(server);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
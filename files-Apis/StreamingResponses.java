@@ -0,0 +1,822 @@
+// Streaming response bodies (HttpGetExample keeps the whole body in a StringBuilder and drops newlines).
+// ✅ A BodyHandler whose Flow.Subscriber pushes each chunk straight into a line splitter or JSON parser
+// ✅ Constant memory: only the current line / token is buffered, never the whole body
+// ✅ gzip/deflate Content-Encoding decoded on the fly, with a cap on the decoded size (zip bombs)
+// 🚫 Handlers run on the HTTP client's threads, so keep them fast or hand work off to a queue
+//
+// Run:  javac PooledHttpClient.java StreamingResponses.java && java StreamingResponses
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+public class StreamingResponses {
+
+    private StreamingResponses() {
+    }
+
+    // Receives decoded body bytes chunk by chunk. The array is reused after the call returns.
+    public interface ByteSink {
+        void write(byte[] bytes, int offset, int length) throws IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    public static class ResponseTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public ResponseTooLargeException(long limit) {
+            super("response body exceeds " + limit + " bytes");
+        }
+    }
+
+    // 🔹 Body handlers
+
+    // Adds the request header that lets servers compress; decoding happens in the handlers below.
+    public static HttpRequest.Builder acceptCompressed(HttpRequest.Builder builder) {
+        return builder.header("Accept-Encoding", "gzip, deflate");
+    }
+
+    public static HttpResponse.BodyHandler<Void> streaming(ByteSink sink, long maxBytes) {
+        return info -> {
+            String encoding = info.headers().firstValue("Content-Encoding").orElse("identity")
+                    .trim().toLowerCase(Locale.ROOT);
+            ByteSink capped = new CappedSink(sink, maxBytes);
+            switch (encoding) {
+                case "gzip":
+                case "x-gzip":
+                    return new SinkSubscriber(new GzipSink(capped));
+                case "deflate":
+                    return new SinkSubscriber(new InflaterSink(capped, new Inflater(false)));
+                case "identity":
+                    return new SinkSubscriber(capped);
+                default:
+                    // neither decode nor silently drain something we can't read: fail, naming the coding
+                    return new FailedSubscriber(new IOException("unsupported Content-Encoding: " + encoding));
+            }
+        };
+    }
+
+    public static HttpResponse.BodyHandler<Void> lines(LineHandler handler, int maxLineBytes, long maxBytes) {
+        return streaming(new LineSplitter(handler, maxLineBytes), maxBytes);
+    }
+
+    public static HttpResponse.BodyHandler<Void> json(JsonHandler handler, int maxTokenBytes, long maxBytes) {
+        return streaming(new JsonStreamParser(handler, maxTokenBytes), maxBytes);
+    }
+
+    // Cancels the body as soon as it is offered and fails the response with the given error.
+    static final class FailedSubscriber implements HttpResponse.BodySubscriber<Void> {
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final IOException error;
+
+        FailedSubscriber(IOException error) {
+            this.error = error;
+        }
+
+        @Override
+        public CompletionStage<Void> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.cancel();
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            result.completeExceptionally(error);
+        }
+    }
+
+    // 🔹 Flow.Subscriber that requests one chunk at a time (backpressure) and feeds the sink
+    static final class SinkSubscriber implements HttpResponse.BodySubscriber<Void> {
+        private final ByteSink sink;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final byte[] chunk = new byte[16 * 1024];
+        private Flow.Subscription subscription;
+
+        SinkSubscriber(ByteSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public CompletionStage<Void> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    while (buffer.hasRemaining()) {
+                        int n = Math.min(chunk.length, buffer.remaining());
+                        buffer.get(chunk, 0, n);
+                        sink.write(chunk, 0, n);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                subscription.cancel();
+                result.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                sink.finish();
+                result.complete(null);
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Counts decoded bytes, so a small compressed body can't expand past the limit.
+    static final class CappedSink implements ByteSink {
+        private final ByteSink downstream;
+        private final long limit;
+        private long total;
+
+        CappedSink(ByteSink downstream, long limit) {
+            this.downstream = downstream;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            total += length;
+            if (total > limit) {
+                throw new ResponseTooLargeException(limit);
+            }
+            downstream.write(bytes, offset, length);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            downstream.finish();
+        }
+    }
+
+    // 🔹 Content-Encoding decoders
+
+    static class InflaterSink implements ByteSink {
+        protected final ByteSink downstream;
+        protected final Inflater inflater;
+        private final byte[] out = new byte[32 * 1024];
+
+        InflaterSink(ByteSink downstream, Inflater inflater) {
+            this.downstream = downstream;
+            this.inflater = inflater;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (inflater.finished()) {
+                afterEnd(bytes, offset, length);
+                return;
+            }
+            inflater.setInput(bytes, offset, length);
+            inflate();
+            int leftover = inflater.getRemaining();
+            if (inflater.finished() && leftover > 0) {
+                afterEnd(bytes, offset + length - leftover, leftover);
+            }
+        }
+
+        private void inflate() throws IOException {
+            try {
+                while (!inflater.finished()) {
+                    int n = inflater.inflate(out);
+                    if (n > 0) {
+                        inflated(out, n);
+                        downstream.write(out, 0, n);
+                    } else if (inflater.needsInput() || inflater.needsDictionary()) {
+                        break;
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("corrupt compressed body", e);
+            }
+        }
+
+        protected void inflated(byte[] bytes, int length) {
+        }
+
+        protected void afterEnd(byte[] bytes, int offset, int length) throws IOException {
+            throw new IOException("unexpected data after end of deflate stream");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!inflater.finished()) {
+                throw new IOException("truncated compressed body");
+            }
+            inflater.end();
+            downstream.finish();
+        }
+    }
+
+    // gzip = header + raw deflate + CRC32/ISIZE trailer (RFC 1952). Header and trailer are parsed incrementally.
+    static final class GzipSink extends InflaterSink {
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private final CRC32 crc = new CRC32();
+        private final byte[] header = new byte[10];
+        private final byte[] trailer = new byte[8];
+        private int headerRead;
+        private int flags;
+        private int extraLengthRead;
+        private int extraRemaining;
+        private int headerCrcRead;
+        private int trailerRead;
+        private long size;
+
+        GzipSink(ByteSink downstream) {
+            super(downstream, new Inflater(true));
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            int end = offset + length;
+            while (offset < end && !headerDone()) {
+                offset = readHeader(bytes, offset, end);
+            }
+            if (offset < end) {
+                super.write(bytes, offset, end - offset);
+            }
+        }
+
+        private boolean headerDone() {
+            return headerRead == 10 && flags == 0;
+        }
+
+        private int readHeader(byte[] bytes, int offset, int end) throws IOException {
+            if (headerRead < 10) {
+                int n = Math.min(10 - headerRead, end - offset);
+                System.arraycopy(bytes, offset, header, headerRead, n);
+                headerRead += n;
+                if (headerRead == 10) {
+                    if ((header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b || header[2] != 8) {
+                        throw new IOException("not a gzip stream");
+                    }
+                    flags = header[3] & (FHCRC | FEXTRA | FNAME | FCOMMENT);
+                }
+                return offset + n;
+            }
+            // optional fields, in the order the spec lays them out
+            if ((flags & FEXTRA) != 0) {
+                if (extraLengthRead < 2) {
+                    // XLEN, little-endian
+                    extraRemaining |= (bytes[offset] & 0xff) << (8 * extraLengthRead++);
+                    if (extraLengthRead == 2 && extraRemaining == 0) {
+                        flags &= ~FEXTRA;
+                    }
+                    return offset + 1;
+                }
+                int n = Math.min(extraRemaining, end - offset);
+                extraRemaining -= n;
+                if (extraRemaining == 0) {
+                    flags &= ~FEXTRA;
+                }
+                return offset + n;
+            }
+            if ((flags & FNAME) != 0 || (flags & FCOMMENT) != 0) {
+                int field = (flags & FNAME) != 0 ? FNAME : FCOMMENT;
+                while (offset < end) {
+                    if (bytes[offset++] == 0) {
+                        flags &= ~field;
+                        break;
+                    }
+                }
+                return offset;
+            }
+            // FHCRC: two bytes we skip
+            int skip = Math.min(2 - headerCrcRead, end - offset);
+            headerCrcRead += skip;
+            if (headerCrcRead == 2) {
+                flags &= ~FHCRC;
+            }
+            return offset + skip;
+        }
+
+        @Override
+        protected void inflated(byte[] bytes, int length) {
+            crc.update(bytes, 0, length);
+            size += length;
+        }
+
+        @Override
+        protected void afterEnd(byte[] bytes, int offset, int length) throws IOException {
+            int n = Math.min(8 - trailerRead, length);
+            System.arraycopy(bytes, offset, trailer, trailerRead, n);
+            trailerRead += n;
+            if (n < length) {
+                throw new IOException("unexpected data after gzip trailer");
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (trailerRead < 8) {
+                throw new IOException("truncated gzip trailer");
+            }
+            long expectedCrc = readIntLE(trailer, 0);
+            long expectedSize = readIntLE(trailer, 4);
+            if (expectedCrc != crc.getValue() || expectedSize != (size & 0xffffffffL)) {
+                throw new IOException("gzip CRC or length mismatch");
+            }
+            super.finish();
+        }
+
+        private static long readIntLE(byte[] b, int i) {
+            return (b[i] & 0xffL) | (b[i + 1] & 0xffL) << 8 | (b[i + 2] & 0xffL) << 16 | (b[i + 3] & 0xffL) << 24;
+        }
+    }
+
+    // 🔹 Line processor: splits on '\n' (strips '\r'), buffers only the unfinished line
+
+    public interface LineHandler {
+        void onLine(String line) throws IOException;
+    }
+
+    public static final class LineSplitter implements ByteSink {
+        private final LineHandler handler;
+        private final int maxLineBytes;
+        private byte[] partial = new byte[256];
+        private int partialLength;
+
+        public LineSplitter(LineHandler handler, int maxLineBytes) {
+            this.handler = handler;
+            this.maxLineBytes = maxLineBytes;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            int end = offset + length;
+            int lineStart = offset;
+            for (int i = offset; i < end; i++) {
+                if (bytes[i] == '\n') {
+                    appendPartial(bytes, lineStart, i - lineStart);
+                    emit();
+                    lineStart = i + 1;
+                }
+            }
+            appendPartial(bytes, lineStart, end - lineStart);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (partialLength > 0) {
+                emit();
+            }
+        }
+
+        private void emit() throws IOException {
+            int len = partialLength > 0 && partial[partialLength - 1] == '\r' ? partialLength - 1 : partialLength;
+            partialLength = 0;
+            handler.onLine(new String(partial, 0, len, StandardCharsets.UTF_8));
+        }
+
+        private void appendPartial(byte[] bytes, int offset, int length) throws IOException {
+            if (partialLength + length > maxLineBytes) {
+                throw new IOException("line longer than " + maxLineBytes + " bytes");
+            }
+            if (partialLength + length > partial.length) {
+                partial = Arrays.copyOf(partial, Math.max(partialLength + length, partial.length * 2));
+            }
+            System.arraycopy(bytes, offset, partial, partialLength, length);
+            partialLength += length;
+        }
+    }
+
+    // 🔹 Incremental (push) JSON parser: SAX-style events, accepts a body split at any byte
+
+    public interface JsonHandler {
+        default void startObject() { }
+
+        default void endObject() { }
+
+        default void startArray() { }
+
+        default void endArray() { }
+
+        default void key(String name) { }
+
+        default void string(String value) { }
+
+        default void number(String value) { }
+
+        default void bool(boolean value) { }
+
+        default void nullValue() { }
+    }
+
+    public static final class JsonStreamParser implements ByteSink {
+        private enum Expect { VALUE, VALUE_OR_END, KEY, KEY_OR_END, COLON, COMMA_OR_END }
+
+        private enum Token { NONE, STRING, NUMBER, LITERAL }
+
+        private static final int MAX_DEPTH = 512;
+
+        private final JsonHandler handler;
+        private final int maxTokenBytes;
+        private final boolean[] inObject = new boolean[MAX_DEPTH];
+        private int depth;
+        private Expect expect = Expect.VALUE;
+        private Token token = Token.NONE;
+        private boolean tokenIsKey;
+        private boolean escape;
+        private int unicodeDigits = -1;
+        private int unicodeValue;
+        private char highSurrogate;
+        private String literal;
+        private int literalIndex;
+        private byte[] buffer = new byte[64];
+        private int length;
+        private boolean sawDocument; // at least one complete top-level value
+
+        public JsonStreamParser(JsonHandler handler, int maxTokenBytes) {
+            this.handler = handler;
+            this.maxTokenBytes = maxTokenBytes;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int len) throws IOException {
+            int end = offset + len;
+            int i = offset;
+            while (i < end) {
+                byte b = bytes[i];
+                switch (token) {
+                    case STRING:
+                        stringByte(b);
+                        i++;
+                        break;
+                    case NUMBER:
+                        if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                            append(b);
+                            i++;
+                        } else {
+                            token = Token.NONE;
+                            handler.number(new String(buffer, 0, length, StandardCharsets.US_ASCII));
+                            afterValue(); // delimiter is handled on the next iteration
+                        }
+                        break;
+                    case LITERAL:
+                        if (b != literal.charAt(literalIndex++)) {
+                            throw new IOException("invalid literal, expected " + literal);
+                        }
+                        if (literalIndex == literal.length()) {
+                            token = Token.NONE;
+                            if (literal.equals("null")) {
+                                handler.nullValue();
+                            } else {
+                                handler.bool(literal.equals("true"));
+                            }
+                            afterValue();
+                        }
+                        i++;
+                        break;
+                    default:
+                        structural(b);
+                        i++;
+                }
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (token == Token.NUMBER) {
+                token = Token.NONE;
+                handler.number(new String(buffer, 0, length, StandardCharsets.US_ASCII));
+                afterValue();
+            }
+            if (token != Token.NONE || depth != 0 || expect != Expect.VALUE) {
+                throw new IOException("unexpected end of JSON input");
+            }
+            if (!sawDocument) {
+                throw new IOException("empty JSON input");
+            }
+        }
+
+        private void structural(byte b) throws IOException {
+            if (b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                return;
+            }
+            switch (expect) {
+                case COLON:
+                    require(b == ':', b);
+                    expect = Expect.VALUE;
+                    return;
+                case COMMA_OR_END:
+                    if (b == ',') {
+                        expect = inObject[depth - 1] ? Expect.KEY : Expect.VALUE;
+                    } else {
+                        close(b);
+                    }
+                    return;
+                case KEY_OR_END:
+                    if (b == '}') {
+                        close(b);
+                    } else {
+                        key(b);
+                    }
+                    return;
+                case KEY:
+                    key(b);
+                    return;
+                case VALUE_OR_END:
+                    if (b == ']') {
+                        close(b);
+                    } else {
+                        value(b);
+                    }
+                    return;
+                default:
+                    value(b);
+            }
+        }
+
+        private void key(byte b) throws IOException {
+            require(b == '"', b);
+            startToken(Token.STRING);
+            tokenIsKey = true;
+        }
+
+        private void value(byte b) throws IOException {
+            switch (b) {
+                case '{':
+                    push(true);
+                    handler.startObject();
+                    expect = Expect.KEY_OR_END;
+                    break;
+                case '[':
+                    push(false);
+                    handler.startArray();
+                    expect = Expect.VALUE_OR_END;
+                    break;
+                case '"':
+                    startToken(Token.STRING);
+                    tokenIsKey = false;
+                    break;
+                case 't':
+                case 'f':
+                case 'n':
+                    token = Token.LITERAL;
+                    literal = b == 't' ? "true" : b == 'f' ? "false" : "null";
+                    literalIndex = 1;
+                    break;
+                default:
+                    require(b == '-' || (b >= '0' && b <= '9'), b);
+                    startToken(Token.NUMBER);
+                    append(b);
+            }
+        }
+
+        private void close(byte b) throws IOException {
+            require(depth > 0, b);
+            boolean object = inObject[--depth];
+            require(b == (object ? '}' : ']'), b);
+            if (object) {
+                handler.endObject();
+            } else {
+                handler.endArray();
+            }
+            afterValue();
+        }
+
+        private void afterValue() {
+            // at top level go back to VALUE, which also accepts NDJSON / concatenated documents
+            expect = depth == 0 ? Expect.VALUE : Expect.COMMA_OR_END;
+            sawDocument |= depth == 0;
+        }
+
+        private void push(boolean object) throws IOException {
+            if (depth == MAX_DEPTH) {
+                throw new IOException("JSON nested deeper than " + MAX_DEPTH);
+            }
+            inObject[depth++] = object;
+        }
+
+        private void stringByte(byte b) throws IOException {
+            if (unicodeDigits >= 0) {
+                int digit = Character.digit(b, 16);
+                require(digit >= 0, b);
+                unicodeValue = unicodeValue * 16 + digit;
+                if (++unicodeDigits == 4) {
+                    unicodeDigits = -1;
+                    appendChar((char) unicodeValue);
+                }
+            } else if (escape) {
+                escape = false;
+                switch (b) {
+                    case '"': append((byte) '"'); break;
+                    case '\\': append((byte) '\\'); break;
+                    case '/': append((byte) '/'); break;
+                    case 'b': append((byte) '\b'); break;
+                    case 'f': append((byte) '\f'); break;
+                    case 'n': append((byte) '\n'); break;
+                    case 'r': append((byte) '\r'); break;
+                    case 't': append((byte) '\t'); break;
+                    case 'u':
+                        unicodeDigits = 0;
+                        unicodeValue = 0;
+                        break;
+                    default:
+                        require(false, b);
+                }
+            } else if (b == '\\') {
+                escape = true;
+            } else if (b == '"') {
+                token = Token.NONE;
+                String value = new String(buffer, 0, length, StandardCharsets.UTF_8);
+                if (tokenIsKey) {
+                    handler.key(value);
+                    expect = Expect.COLON;
+                } else {
+                    handler.string(value);
+                    afterValue();
+                }
+            } else {
+                append(b); // raw UTF-8 bytes, decoded once the string is complete
+            }
+        }
+
+        // \\uXXXX escapes: surrogate pairs are combined before being re-encoded as UTF-8
+        private void appendChar(char c) throws IOException {
+            String s;
+            if (Character.isHighSurrogate(c)) {
+                highSurrogate = c;
+                return;
+            } else if (Character.isLowSurrogate(c) && highSurrogate != 0) {
+                s = new String(new char[]{highSurrogate, c});
+            } else {
+                s = String.valueOf(c);
+            }
+            highSurrogate = 0;
+            for (byte x : s.getBytes(StandardCharsets.UTF_8)) {
+                append(x);
+            }
+        }
+
+        private void startToken(Token kind) {
+            token = kind;
+            length = 0;
+        }
+
+        private void append(byte b) throws IOException {
+            if (length == maxTokenBytes) {
+                throw new IOException("JSON token longer than " + maxTokenBytes + " bytes");
+            }
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(maxTokenBytes, buffer.length * 2));
+            }
+            buffer[length++] = b;
+        }
+
+        private static void require(boolean condition, byte b) throws IOException {
+            if (!condition) {
+                throw new IOException("unexpected character '" + (char) b + "' in JSON input");
+            }
+        }
+    }
+
+    // 🔹 Demo: a large gzip JSON array and a deflate NDJSON feed from a local stub server
+    public static void main(String[] args) throws Exception {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/posts", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0); // chunked
+            try (OutputStream os = new GZIPOutputStream(exchange.getResponseBody(), 8192)) {
+                os.write('[');
+                for (int i = 0; i < records; i++) {
+                    String post = (i > 0 ? "," : "") + "{\"userId\":" + (i % 10) + ",\"id\":" + i
+                            + ",\"title\":\"post \\u00e9 " + i + "\",\"body\":\"line one\\nline two\",\"draft\":false}";
+                    os.write(post.getBytes(StandardCharsets.UTF_8));
+                }
+                os.write(']');
+            }
+        });
+        server.createContext("/events", exchange -> {
+            exchange.getResponseHeaders().add("Content-Encoding", "deflate");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream os = new DeflaterOutputStream(exchange.getResponseBody())) {
+                for (int i = 0; i < records; i++) {
+                    os.write(("{\"event\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        PooledHttpClient client = PooledHttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            AtomicLong objects = new AtomicLong();
+            AtomicLong idSum = new AtomicLong();
+            long before = usedHeap();
+            long t0 = System.nanoTime();
+            HttpRequest request = acceptCompressed(client.request(URI.create(base + "/posts"))).build();
+            client.sendAsync(request, json(new JsonHandler() {
+                private boolean idKey;
+
+                @Override
+                public void endObject() {
+                    objects.incrementAndGet();
+                }
+
+                @Override
+                public void key(String name) {
+                    idKey = name.equals("id");
+                }
+
+                @Override
+                public void number(String value) {
+                    if (idKey) {
+                        idSum.addAndGet(Long.parseLong(value));
+                    }
+                }
+            }, 1 << 20, Long.MAX_VALUE)).join();
+            System.out.printf("gzip JSON: %,d objects, id sum %,d, %d ms, heap delta ~%,d KB%n",
+                    objects.get(), idSum.get(), (System.nanoTime() - t0) / 1_000_000, (usedHeap() - before) / 1024);
+
+            AtomicLong lines = new AtomicLong();
+            t0 = System.nanoTime();
+            client.sendAsync(acceptCompressed(client.request(URI.create(base + "/events"))).build(),
+                    lines(line -> lines.incrementAndGet(), 64 * 1024, Long.MAX_VALUE)).join();
+            System.out.printf("deflate NDJSON: %,d lines, %d ms%n", lines.get(), (System.nanoTime() - t0) / 1_000_000);
+
+            try {
+                client.sendAsync(acceptCompressed(client.request(URI.create(base + "/posts"))).build(),
+                        json(new JsonHandler() { }, 1 << 20, 1024 * 1024)).join();
+            } catch (CompletionException e) {
+                System.out.println("capped: " + e.getCause().getMessage());
+            }
+        } finally {
+            PooledHttpClient.stopStubServer(server);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
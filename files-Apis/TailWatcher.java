@@ -0,0 +1,397 @@
+// Watches a directory and follows appended data in matching files (like `tail -F`).
+// ✅ Remembers a read offset per file, so only new bytes are read (ReadFile re-reads everything)
+// ✅ Bursts of WatchService events are debounced and coalesced into one read per file
+// ✅ Handles truncation (copytruncate) and rotation by rename (the old file is drained first)
+// 🚫 WatchService may poll on some platforms; the debounce delay bounds latency, not the OS
+//
+// Run:  javac TailWatcher.java && java TailWatcher
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TailWatcher implements AutoCloseable {
+
+    public interface LineHandler {
+        void onLine(Path file, String line);
+    }
+
+    public interface ErrorHandler {
+        void onError(Path file, IOException error);
+    }
+
+    private final Path directory;
+    private final PathMatcher matcher;
+    private final long debounceNanos;
+    private final LineHandler handler;
+    private volatile ErrorHandler errorHandler =
+            (file, error) -> System.err.println("tail-watcher: " + file + ": " + error);
+    private final Charset charset;
+    private final WatchService watchService;
+    private final Map<Path, FileState> files = new HashMap<>();
+    private final Map<Path, Long> due = new HashMap<>(); // file -> deadline (nanoTime)
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong events = new AtomicLong();
+    private Thread thread;
+    private volatile boolean running;
+
+    public TailWatcher(Path directory, String glob, Duration debounce, LineHandler handler) throws IOException {
+        this(directory, glob, debounce, StandardCharsets.UTF_8, handler);
+    }
+
+    public TailWatcher(Path directory, String glob, Duration debounce, Charset charset, LineHandler handler) throws IOException {
+        this.directory = directory.toAbsolutePath();
+        this.matcher = directory.getFileSystem().getPathMatcher("glob:" + glob);
+        this.debounceNanos = debounce.toNanos();
+        this.charset = charset;
+        this.handler = handler;
+        this.watchService = directory.getFileSystem().newWatchService();
+        this.directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    // fromBeginning=false behaves like `tail -F`: existing content is skipped, only new data is delivered.
+    public synchronized void start(boolean fromBeginning) throws IOException {
+        if (running) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (matches(entry) && Files.isRegularFile(entry)) {
+                    FileState state = open(entry);
+                    if (!fromBeginning) {
+                        state.offset = state.channel.size();
+                    }
+                    files.put(entry, state);
+                    due.put(entry, System.nanoTime());
+                }
+            }
+        }
+        running = true;
+        thread = new Thread(this::loop, "tail-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Called on the watcher thread when reading one file fails; that file is dropped and picked up
+    // again (from its start) on its next event, while the other files keep being followed.
+    public void onError(ErrorHandler errorHandler) {
+        this.errorHandler = Objects.requireNonNull(errorHandler);
+    }
+
+    public long reads() {
+        return reads.get();
+    }
+
+    public long events() {
+        return events.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        watchService.close();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (FileState state : files.values()) {
+            state.channel.close();
+        }
+        files.clear();
+    }
+
+    // 🔹 Event loop: collect events into `due`, then read every file whose quiet period has passed
+
+    private void loop() {
+        try {
+            while (running) {
+                long wait = nextDeadline() - System.nanoTime();
+                WatchKey key = wait <= 0 ? watchService.poll() : watchService.poll(wait, TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        events.incrementAndGet();
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            rescan();
+                            continue;
+                        }
+                        Path file = directory.resolve((Path) event.context());
+                        if (matches(file)) {
+                            // every event pushes the deadline back, so a burst becomes one read
+                            due.put(file, System.nanoTime() + debounceNanos);
+                        }
+                    }
+                    key.reset();
+                }
+                processDue();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed while waiting
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long nextDeadline() {
+        long next = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        for (long deadline : due.values()) {
+            next = Math.min(next, deadline);
+        }
+        return next;
+    }
+
+    // A failure on one file (deleted between fileKey() and open(), unreadable, ...) only drops that file.
+    private void processDue() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> it = due.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Long> entry = it.next();
+            if (entry.getValue() - now <= 0) {
+                it.remove();
+                Path file = entry.getKey();
+                synchronized (this) {
+                    try {
+                        follow(file);
+                    } catch (IOException e) {
+                        drop(file);
+                        errorHandler.onError(file, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void rescan() {
+        long now = System.nanoTime();
+        for (Path file : files.keySet()) {
+            due.put(file, now);
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (matches(entry) && Files.isRegularFile(entry)) {
+                    due.put(entry, now);
+                }
+            }
+        } catch (IOException e) {
+            errorHandler.onError(directory, e);
+        }
+    }
+
+    private void drop(Path file) {
+        FileState state = files.remove(file);
+        if (state != null) {
+            try {
+                state.channel.close();
+            } catch (IOException ignored) {
+                // the handle is being discarded anyway
+            }
+        }
+    }
+
+    // 🔹 Per-file incremental read
+
+    private void follow(Path file) throws IOException {
+        FileState state = files.get(file);
+        if (state != null) {
+            // drain whatever is still readable through the open handle, even if the file was renamed away
+            drain(file, state);
+        }
+        Object currentKey = fileKey(file);
+        if (currentKey == null) {
+            if (state != null) {
+                flushPartial(file, state);
+                state.channel.close();
+                files.remove(file);
+            }
+            return;
+        }
+        if (state == null || !Objects.equals(state.fileKey, currentKey)) {
+            // new file or rotated: the old handle is done, start the new file from the beginning
+            if (state != null) {
+                flushPartial(file, state);
+                state.channel.close();
+            }
+            state = open(file);
+            files.put(file, state);
+            drain(file, state);
+        }
+    }
+
+    private void drain(Path file, FileState state) throws IOException {
+        long size = state.channel.size();
+        if (size < state.offset) {
+            // truncated in place: whatever was buffered belongs to the old content
+            state.partialLength = 0;
+            state.offset = 0;
+        }
+        if (size == state.offset) {
+            return;
+        }
+        reads.incrementAndGet();
+        ByteBuffer buffer = state.buffer;
+        while (true) {
+            buffer.clear();
+            int n = state.channel.read(buffer, state.offset);
+            if (n <= 0) {
+                break;
+            }
+            state.offset += n;
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            for (int i = 0; i < n; i++) {
+                if (bytes[i] == '\n') {
+                    int end = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+                    emit(file, state, bytes, lineStart, end);
+                    lineStart = i + 1;
+                }
+            }
+            state.appendPartial(bytes, lineStart, n - lineStart);
+        }
+    }
+
+    private void emit(Path file, FileState state, byte[] bytes, int from, int to) {
+        String line;
+        if (state.partialLength == 0) {
+            line = new String(bytes, from, to - from, charset);
+        } else {
+            state.appendPartial(bytes, from, to - from);
+            int length = state.partialLength;
+            if (from == to && state.partial[length - 1] == '\r') {
+                length--; // the \r ended the previous read (or write) and the \n starts this one
+            }
+            line = new String(state.partial, 0, length, charset);
+            state.partialLength = 0;
+        }
+        handler.onLine(file, line);
+    }
+
+    private void flushPartial(Path file, FileState state) {
+        if (state.partialLength > 0) {
+            handler.onLine(file, new String(state.partial, 0, state.partialLength, charset));
+            state.partialLength = 0;
+        }
+    }
+
+    private FileState open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new FileState(channel, fileKey(file));
+    }
+
+    private static Object fileKey(Path file) throws IOException {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return null; // a directory or device that happens to match the glob: nothing to tail
+            }
+            // fileKey() is the inode on Unix; fall back to creation time where it is unavailable
+            return attrs.fileKey() != null ? attrs.fileKey() : attrs.creationTime();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private boolean matches(Path file) {
+        return matcher.matches(file.getFileName());
+    }
+
+    private static final class FileState {
+        final FileChannel channel;
+        final Object fileKey;
+        final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long offset;
+        byte[] partial = new byte[256];
+        int partialLength;
+
+        FileState(FileChannel channel, Object fileKey) {
+            this.channel = channel;
+            this.fileKey = fileKey;
+        }
+
+        void appendPartial(byte[] bytes, int from, int length) {
+            if (partialLength + length > partial.length) {
+                partial = Arrays.copyOf(partial, Math.max(partialLength + length, partial.length * 2));
+            }
+            System.arraycopy(bytes, from, partial, partialLength, length);
+            partialLength += length;
+        }
+    }
+
+    // 🔹 Demo: bursts of appends, a truncation and a rename-based rotation
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("tailwatcher");
+        Path log = dir.resolve("app.log");
+        Files.writeString(log, "old content that tail -F skips\n");
+        AtomicLong lines = new AtomicLong();
+        AtomicLong strayCr = new AtomicLong();
+        try (TailWatcher watcher = new TailWatcher(dir, "*.log", Duration.ofMillis(100),
+                (file, line) -> {
+                    lines.incrementAndGet();
+                    strayCr.addAndGet(line.indexOf('\r') >= 0 ? 1 : 0);
+                    System.out.println(file.getFileName() + ": " + line);
+                })) {
+            watcher.start(false);
+
+            for (int burst = 0; burst < 3; burst++) {
+                for (int i = 0; i < 5; i++) {
+                    Files.writeString(log, "burst " + burst + " line " + i + "\n", StandardOpenOption.APPEND);
+                }
+                Thread.sleep(400);
+            }
+
+            Files.writeString(log, "partial ", StandardOpenOption.APPEND);
+            Thread.sleep(300);
+            Files.writeString(log, "line completed\n", StandardOpenOption.APPEND);
+            Thread.sleep(300);
+
+            // a CRLF split across two writes (and so two reads) still ends one line
+            Files.writeString(log, "abc\r", StandardOpenOption.APPEND);
+            Thread.sleep(300);
+            Files.writeString(log, "\n", StandardOpenOption.APPEND);
+            Thread.sleep(300);
+
+            Files.writeString(log, "after truncate\n", StandardOpenOption.TRUNCATE_EXISTING);
+            Thread.sleep(300);
+
+            Files.writeString(log, "last line before rotation\n", StandardOpenOption.APPEND);
+            Files.move(log, dir.resolve("app.log.1"), StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(log, "first line after rotation\n");
+            Thread.sleep(500);
+
+            System.out.printf("%d lines (%d with a stray \\r), %d watch events coalesced into %d reads%n",
+                    lines.get(), strayCr.get(), watcher.events(), watcher.reads());
+        } finally {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    Files.delete(entry);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+// The DataProcessor<T> of index.java (filterList over a sequential stream), plus parallel filter / map /
+// reduce for large lists.
+// ✅ Work is split by a custom spliterator down to chunkSize elements (default 4096), so callers trade
+//    scheduling overhead (small chunks) against load balance (large chunks)
+// ✅ Runs on the ForkJoinPool it was given (default: the common pool), so a batch job can use its own
+//    pool and not contend with every other parallel stream in the JVM
+// ✅ ORDERED keeps encounter order by merging chunk results left to right (log2(n / chunkSize) rounds of
+//    copying, as a parallel Collectors.toList() does); UNORDERED drops each chunk's results into a shared
+//    queue and copies them once at the end
+// ✅ Lists up to one chunk long are processed on the calling thread, without touching the pool
+// 🚫 reduce() needs an associative combiner (as Stream.reduce does); the pool is never shut down here
+//
+// Run (from generics_streams/):  javac -d out DataProcessor.java
+//                                java -cp out DataProcessor
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class DataProcessor<T> {
+    static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    enum Order {
+        ORDERED,
+        UNORDERED
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final Order order;
+
+    public DataProcessor() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, Order.ORDERED);
+    }
+
+    public DataProcessor(ForkJoinPool pool, int chunkSize, Order order) {
+        if (pool == null || order == null) {
+            throw new NullPointerException();
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.order = order;
+    }
+
+    public DataProcessor<T> withPool(ForkJoinPool pool) {
+        return new DataProcessor<>(pool, chunkSize, order);
+    }
+
+    public DataProcessor<T> withChunkSize(int chunkSize) {
+        return new DataProcessor<>(pool, chunkSize, order);
+    }
+
+    public DataProcessor<T> withOrder(Order order) {
+        return new DataProcessor<>(pool, chunkSize, order);
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    public List<T> filterList(List<T> list, Predicate<T> condition) {
+        return list.stream().filter(condition).collect(Collectors.toList());
+    }
+
+    public List<T> parallelFilter(List<T> list, Predicate<? super T> condition) {
+        return collect(list, (item, out) -> {
+            if (condition.test(item)) {
+                out.add(item);
+            }
+        });
+    }
+
+    public <R> List<R> parallelMap(List<T> list, Function<? super T, ? extends R> mapper) {
+        return collect(list, (item, out) -> out.add(mapper.apply(item)));
+    }
+
+    // Each chunk folds its elements into `identity` with accumulator; the chunk results are then
+    // combined in encounter order (whatever order() says), so combiner needs to be associative only.
+    public <R> R parallelReduce(List<T> list, R identity, BiFunction<R, ? super T, R> accumulator,
+                                BinaryOperator<R> combiner) {
+        Function<Spliterator<T>, R> leaf = chunk -> {
+            Folder<T, R> folder = new Folder<>(identity, accumulator);
+            chunk.forEachRemaining(folder);
+            return folder.result;
+        };
+        return run(list, leaf, combiner);
+    }
+
+    // The chunked spliterator this processor splits lists with; ORDERED is reported only in ORDERED mode.
+    public Spliterator<T> spliterator(List<T> list) {
+        return new ChunkSpliterator<>(randomAccess(list), 0, list.size(), chunkSize, order == Order.ORDERED);
+    }
+
+    // A parallel stream over spliterator(list). A stream's terminal operation runs on whatever pool
+    // calls it, so use it inside pool().submit(...) to keep it off the common pool.
+    public Stream<T> stream(List<T> list) {
+        return StreamSupport.stream(spliterator(list), true);
+    }
+
+    private <R> List<R> collect(List<T> list, BiConsumer<T, List<R>> emit) {
+        if (order == Order.ORDERED) {
+            Function<Spliterator<T>, List<R>> leaf = chunk -> {
+                List<R> out = new ArrayList<>();
+                chunk.forEachRemaining(item -> emit.accept(item, out));
+                return out;
+            };
+            return run(list, leaf, (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        }
+        ConcurrentLinkedQueue<List<R>> chunks = new ConcurrentLinkedQueue<>();
+        Function<Spliterator<T>, Void> leaf = chunk -> {
+            List<R> out = new ArrayList<>();
+            chunk.forEachRemaining(item -> emit.accept(item, out));
+            chunks.add(out);
+            return null;
+        };
+        run(list, leaf, (left, right) -> null);
+        int size = 0;
+        for (List<R> chunk : chunks) {
+            size += chunk.size();
+        }
+        List<R> result = new ArrayList<>(size);
+        for (List<R> chunk : chunks) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    private <R> R run(List<T> list, Function<Spliterator<T>, R> leaf, BinaryOperator<R> combine) {
+        Spliterator<T> all = spliterator(list);
+        if (list.size() <= chunkSize) {
+            return leaf.apply(all);
+        }
+        SplitTask<T, R> task = new SplitTask<>(all, leaf, combine);
+        // Called from one of pool's own workers (a nested call): run it right here, forking into pool.
+        return ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+    }
+
+    private static <T> List<T> randomAccess(List<T> list) {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+
+    // Splits its range in half until it is at most chunkSize long; the left half is handed out as
+    // the prefix, as Spliterator.trySplit requires for ordered sources.
+    private static final class ChunkSpliterator<T> implements Spliterator<T> {
+        private final List<T> list;
+        private int index;
+        private final int end;
+        private final int chunkSize;
+        private final boolean ordered;
+
+        ChunkSpliterator(List<T> list, int index, int end, int chunkSize, boolean ordered) {
+            this.list = list;
+            this.index = index;
+            this.end = end;
+            this.chunkSize = chunkSize;
+            this.ordered = ordered;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int remaining = end - index;
+            if (remaining <= chunkSize) {
+                return null;
+            }
+            int mid = index + remaining / 2;
+            Spliterator<T> prefix = new ChunkSpliterator<>(list, index, mid, chunkSize, ordered);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(list.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (int i = index; i < end; i++) {
+                action.accept(list.get(i));
+            }
+            index = end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | (ordered ? ORDERED : 0);
+        }
+    }
+
+    // Forks the prefix of each split and keeps the rest for itself, so results come back as
+    // combine(prefix, rest): encounter order.
+    private static final class SplitTask<T, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<T> spliterator;
+        private final Function<Spliterator<T>, R> leaf;
+        private final BinaryOperator<R> combine;
+
+        SplitTask(Spliterator<T> spliterator, Function<Spliterator<T>, R> leaf, BinaryOperator<R> combine) {
+            this.spliterator = spliterator;
+            this.leaf = leaf;
+            this.combine = combine;
+        }
+
+        @Override
+        protected R compute() {
+            Spliterator<T> prefix = spliterator.trySplit();
+            if (prefix == null) {
+                return leaf.apply(spliterator);
+            }
+            SplitTask<T, R> left = new SplitTask<>(prefix, leaf, combine);
+            left.fork();
+            R right = compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    private static final class Folder<T, R> implements Consumer<T> {
+        private final BiFunction<R, ? super T, R> accumulator;
+        private R result;
+
+        Folder(R identity, BiFunction<R, ? super T, R> accumulator) {
+            this.result = identity;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void accept(T item) {
+            result = accumulator.apply(result, item);
+        }
+    }
+
+    public static void main(String[] args) {
+        DataProcessor<String> processor = new DataProcessor<>();
+        List<String> names = Arrays.asList("Alice", "Bob", "Anna", "Charlie");
+        System.out.println(processor.filterList(names, name -> name.startsWith("A"))); // Output: [Alice, Anna]
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DataProcessor<Integer> numbers = new DataProcessor<Integer>().withPool(pool).withChunkSize(1000);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            values.add(i);
+        }
+        List<Integer> evens = numbers.parallelFilter(values, x -> x % 2 == 0);
+        System.out.println(evens.size() + " " + evens.subList(0, 3)); // Output: 500000 [0, 2, 4]
+        System.out.println(numbers.parallelMap(values, x -> x * 2L).get(999_999)); // Output: 1999998
+        System.out.println(numbers.parallelReduce(values, 0L, (sum, x) -> sum + x, Long::sum)); // Output: 499999500000
+        System.out.println(numbers.withOrder(Order.UNORDERED).parallelFilter(values, x -> x % 2 == 0).size());
+        // Output: 500000 (in no particular order)
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,131 @@
+// DataProcessor scaling: parallel filter (cheap per element), map and reduce (~100 ns of arithmetic per
+// element) over a List<Integer> of 4M, on dedicated ForkJoinPools of 1, 2, 4 and 8 threads, in ORDERED and
+// UNORDERED mode. Reports ms (best of 5) and the speedup over the 1-thread pool; the sequential
+// filterList / stream().map() / stream().reduce() row is the baseline without any fork-join.
+// A second table sweeps the chunk size (64 to 1M elements) for map on the largest pool.
+// Speedups can't exceed the cores actually present (printed first); beyond that extra threads only
+// add scheduling cost. Every result is checked against the sequential one first.
+//
+// Run (from generics_streams/):
+//   javac -d out DataProcessor.java DataProcessorBenchmark.java
+//   java -Xmx3g -cp out DataProcessorBenchmark
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+public class DataProcessorBenchmark {
+    private static final int SIZE = 4_000_000;
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int[] CHUNK_SIZES = {64, 1024, DataProcessor.DEFAULT_CHUNK_SIZE, 65536, 1 << 20};
+
+    public static void main(String[] args) {
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors() + ", elements: " + SIZE);
+        Random random = new Random(SIZE);
+        List<Integer> list = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            list.add(random.nextInt());
+        }
+
+        List<Integer> filtered = new DataProcessor<Integer>().filterList(list, x -> x % 3 == 0);
+        List<Long> mapped = list.stream().map(DataProcessorBenchmark::work).collect(Collectors.toList());
+        long reduced = list.stream().map(DataProcessorBenchmark::work).reduce(0L, Long::sum);
+
+        System.out.printf("%-10s %16s %16s %16s %16s %16s%n", "threads", "filter ordered", "filter unord.",
+                "map ordered", "map unord.", "reduce");
+        DataProcessor<Integer> sequential = new DataProcessor<>();
+        System.out.printf("%-10s %16.1f %16s %16.1f %16s %16.1f%n", "sequential",
+                millis(() -> sequential.filterList(list, x -> x % 3 == 0).size()), "-",
+                millis(() -> list.stream().map(DataProcessorBenchmark::work).collect(Collectors.toList()).size()),
+                "-",
+                millis(() -> list.stream().map(DataProcessorBenchmark::work).reduce(0L, Long::sum)));
+
+        double[] oneThread = null;
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            DataProcessor<Integer> ordered = new DataProcessor<>(pool, DataProcessor.DEFAULT_CHUNK_SIZE,
+                    DataProcessor.Order.ORDERED);
+            DataProcessor<Integer> unordered = ordered.withOrder(DataProcessor.Order.UNORDERED);
+
+            check("filter", filtered.equals(ordered.parallelFilter(list, x -> x % 3 == 0))
+                    && sameElements(filtered, unordered.parallelFilter(list, x -> x % 3 == 0)));
+            check("map", mapped.equals(ordered.parallelMap(list, DataProcessorBenchmark::work))
+                    && sameElements(mapped, unordered.parallelMap(list, DataProcessorBenchmark::work)));
+            check("reduce", reduced == ordered.parallelReduce(list, 0L, (sum, x) -> sum + work(x), Long::sum));
+
+            double[] ms = {
+                    millis(() -> ordered.parallelFilter(list, x -> x % 3 == 0).size()),
+                    millis(() -> unordered.parallelFilter(list, x -> x % 3 == 0).size()),
+                    millis(() -> ordered.parallelMap(list, DataProcessorBenchmark::work).size()),
+                    millis(() -> unordered.parallelMap(list, DataProcessorBenchmark::work).size()),
+                    millis(() -> ordered.parallelReduce(list, 0L, (sum, x) -> sum + work(x), Long::sum))
+            };
+            if (oneThread == null) {
+                oneThread = ms;
+            }
+            StringBuilder row = new StringBuilder(String.format("%-10d", threads));
+            for (int i = 0; i < ms.length; i++) {
+                row.append(String.format(" %8.1f (%4.2fx)", ms[i], oneThread[i] / ms[i]));
+            }
+            System.out.println(row);
+            pool.shutdown();
+        }
+
+        int threads = THREADS[THREADS.length - 1];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.printf("%nmap on %d threads by chunk size (ms):%n", threads);
+        System.out.printf("%-10s %12s %12s%n", "chunk", "ordered", "unordered");
+        for (int chunkSize : CHUNK_SIZES) {
+            DataProcessor<Integer> ordered = new DataProcessor<>(pool, chunkSize, DataProcessor.Order.ORDERED);
+            DataProcessor<Integer> unordered = ordered.withOrder(DataProcessor.Order.UNORDERED);
+            System.out.printf("%-10d %12.1f %12.1f%n", chunkSize,
+                    millis(() -> ordered.parallelMap(list, DataProcessorBenchmark::work).size()),
+                    millis(() -> unordered.parallelMap(list, DataProcessorBenchmark::work).size()));
+        }
+        pool.shutdown();
+    }
+
+    // About 100 ns of dependent arithmetic, so map and reduce are compute-bound rather than memory-bound.
+    private static long work(int x) {
+        long h = x;
+        for (int i = 0; i < 32; i++) {
+            h ^= h << 13;
+            h ^= h >>> 7;
+            h ^= h << 17;
+        }
+        return h & 0xFFFF;
+    }
+
+    private static <E extends Comparable<E>> boolean sameElements(List<E> expected, List<E> actual) {
+        List<E> a = new ArrayList<>(expected);
+        List<E> b = new ArrayList<>(actual);
+        Collections.sort(a);
+        Collections.sort(b);
+        return a.equals(b);
+    }
+
+    private static void check(String op, boolean ok) {
+        if (!ok) {
+            throw new AssertionError(op + ": parallel result differs from the sequential one");
+        }
+    }
+
+    // Best of 5 runs, in ms.
+    private static double millis(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the work can't be optimized away
+        }
+        return best / 1e6;
+    }
+}
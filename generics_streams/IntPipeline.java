@@ -0,0 +1,468 @@
+// A primitive int pipeline (map / filter -> sum / count / min / max / reduce / toArray / sortedArray)
+// that never boxes and, per element, never allocates.
+// ✅ Fusion: adjacent map() calls are composed into one function and adjacent filter() calls into one
+//    predicate when the pipeline is built; each element then flows through a single chain of
+//    int-specialized sinks, in one pass, with no intermediate collections
+// ✅ Picks sequential or parallel by itself: fork-join over the common pool once the source has
+//    parallelThreshold() elements (default 100K) and there is more than one core; sequential()
+//    and parallel() force either
+// ✅ Results (including toArray() order) are the same either way
+// 🚫 No limit/skip/distinct/flatMap; for those, toIntStream() hands the same pipeline to IntStream
+//
+// Run (from generics_streams/):  javac -d out IntPipeline.java
+//                                java -cp out IntPipeline
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public final class IntPipeline {
+    static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+
+    enum Mode {
+        AUTO,       // parallel from parallelThreshold elements up, when there is more than one core
+        SEQUENTIAL,
+        PARALLEL
+    }
+
+    private final int[] array; // null for a range source: element i is then i itself
+    private final int from;
+    private final int to;
+    private final Stage[] stages;
+    private final Mode mode;
+    private final int parallelThreshold;
+
+    private IntPipeline(int[] array, int from, int to, Stage[] stages, Mode mode, int parallelThreshold) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.stages = stages;
+        this.mode = mode;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static IntPipeline of(int... values) {
+        return over(values, 0, values.length);
+    }
+
+    public static IntPipeline over(int[] array, int from, int to) {
+        if (from < 0 || to > array.length || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") of " + array.length);
+        }
+        return new IntPipeline(array, from, to, new Stage[0], Mode.AUTO, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // from (inclusive) to to (exclusive), like IntStream.range.
+    public static IntPipeline range(int from, int to) {
+        return new IntPipeline(null, from, Math.max(from, to), new Stage[0], Mode.AUTO, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Unboxes once, up front, so the pipeline itself runs on an int[].
+    public static IntPipeline unboxed(Collection<Integer> values) {
+        int[] array = new int[values.size()];
+        int i = 0;
+        for (int v : values) {
+            array[i++] = v;
+        }
+        return of(array);
+    }
+
+    public IntPipeline map(IntUnaryOperator mapper) {
+        Stage last = stages.length == 0 ? null : stages[stages.length - 1];
+        if (last instanceof MapStage) {
+            return withLast(new MapStage(((MapStage) last).mapper.andThen(mapper)));
+        }
+        return with(new MapStage(mapper));
+    }
+
+    public IntPipeline filter(IntPredicate predicate) {
+        Stage last = stages.length == 0 ? null : stages[stages.length - 1];
+        if (last instanceof FilterStage) {
+            return withLast(new FilterStage(((FilterStage) last).predicate.and(predicate)));
+        }
+        return with(new FilterStage(predicate));
+    }
+
+    public IntPipeline sequential() {
+        return new IntPipeline(array, from, to, stages, Mode.SEQUENTIAL, parallelThreshold);
+    }
+
+    public IntPipeline parallel() {
+        return new IntPipeline(array, from, to, stages, Mode.PARALLEL, parallelThreshold);
+    }
+
+    public IntPipeline parallelThreshold(int elements) {
+        if (elements < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + elements);
+        }
+        return new IntPipeline(array, from, to, stages, Mode.AUTO, elements);
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    // Whether terminal operations on this pipeline will run on the fork-join pool.
+    public boolean isParallel() {
+        switch (mode) {
+            case SEQUENTIAL:
+                return false;
+            case PARALLEL:
+                return true;
+            default:
+                return length() >= parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+        }
+    }
+
+    public long sum() {
+        return evaluate(SumSink::new, Long::sum);
+    }
+
+    public long count() {
+        return evaluate(CountSink::new, Long::sum);
+    }
+
+    public OptionalInt min() {
+        return evaluate(() -> new ReduceSink(Math::min), combineOptional(Math::min));
+    }
+
+    public OptionalInt max() {
+        return evaluate(() -> new ReduceSink(Math::max), combineOptional(Math::max));
+    }
+
+    // Like IntStream.reduce(identity, op): op must be associative and identity its identity element,
+    // because in parallel each chunk starts from identity and the chunk results are combined with op.
+    public int reduce(int identity, IntBinaryOperator op) {
+        return evaluate(() -> new FoldSink(identity, op), (a, b) -> op.applyAsInt(a, b));
+    }
+
+    public int[] toArray() {
+        return evaluate(ArraySink::new, ArraySink::append).toArray();
+    }
+
+    // toArray(), then Arrays.sort (or Arrays.parallelSort when the pipeline runs in parallel).
+    public int[] sortedArray() {
+        int[] values = toArray();
+        if (isParallel()) {
+            Arrays.parallelSort(values);
+        } else {
+            Arrays.sort(values);
+        }
+        return values;
+    }
+
+    // Always sequential, in source order.
+    public void forEach(IntConsumer action) {
+        drive(from, to, build(new Terminal<Void>() {
+            @Override
+            void accept(int value) {
+                action.accept(value);
+            }
+
+            @Override
+            Void result() {
+                return null;
+            }
+        }));
+    }
+
+    public IntStream toIntStream() {
+        IntStream stream = array == null ? IntStream.range(from, to) : Arrays.stream(array, from, to);
+        for (Stage stage : stages) {
+            stream = stage instanceof MapStage
+                    ? stream.map(((MapStage) stage).mapper)
+                    : stream.filter(((FilterStage) stage).predicate);
+        }
+        return isParallel() ? stream.parallel() : stream;
+    }
+
+    private IntPipeline with(Stage stage) {
+        Stage[] next = Arrays.copyOf(stages, stages.length + 1);
+        next[stages.length] = stage;
+        return new IntPipeline(array, from, to, next, mode, parallelThreshold);
+    }
+
+    private IntPipeline withLast(Stage stage) {
+        Stage[] next = stages.clone();
+        next[next.length - 1] = stage;
+        return new IntPipeline(array, from, to, next, mode, parallelThreshold);
+    }
+
+    private <R> R evaluate(Supplier<Terminal<R>> terminal, BinaryOperator<R> combine) {
+        if (!isParallel()) {
+            Terminal<R> sink = terminal.get();
+            drive(from, to, build(sink));
+            return sink.result();
+        }
+        long leaf = Math.max(4096, length() / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        return ForkJoinPool.commonPool().invoke(new ChunkTask<>(from, to, leaf, terminal, combine));
+    }
+
+    // One chain of sinks per run (or per parallel chunk): the only allocations, O(stages).
+    private Sink build(Sink terminal) {
+        Sink sink = terminal;
+        for (int i = stages.length - 1; i >= 0; i--) {
+            sink = stages[i].wrap(sink);
+        }
+        return sink;
+    }
+
+    // As a long: a range() source can hold more than Integer.MAX_VALUE elements.
+    private long length() {
+        return (long) to - from;
+    }
+
+    private void drive(int lo, int hi, Sink sink) {
+        if (array != null) {
+            for (int i = lo; i < hi; i++) {
+                sink.accept(array[i]);
+            }
+        } else {
+            for (int i = lo; i < hi; i++) {
+                sink.accept(i);
+            }
+        }
+    }
+
+    private static BinaryOperator<OptionalInt> combineOptional(IntBinaryOperator op) {
+        return (a, b) -> a.isEmpty() ? b
+                : b.isEmpty() ? a
+                : OptionalInt.of(op.applyAsInt(a.getAsInt(), b.getAsInt()));
+    }
+
+    // Splits [lo, hi) down to `leaf` elements, runs a fresh sink chain over each piece and combines
+    // the results left to right, so ordered results (toArray) keep the source order.
+    private final class ChunkTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final long leaf;
+        private final Supplier<Terminal<R>> terminal;
+        private final BinaryOperator<R> combine;
+
+        ChunkTask(int lo, int hi, long leaf, Supplier<Terminal<R>> terminal, BinaryOperator<R> combine) {
+            this.lo = lo;
+            this.hi = hi;
+            this.leaf = leaf;
+            this.terminal = terminal;
+            this.combine = combine;
+        }
+
+        @Override
+        protected R compute() {
+            if ((long) hi - lo <= leaf) {
+                Terminal<R> sink = terminal.get();
+                drive(lo, hi, build(sink));
+                return sink.result();
+            }
+            int mid = (int) (lo + (((long) hi - lo) >>> 1)); // lo + hi overflows for negative ranges
+            ChunkTask<R> left = new ChunkTask<>(lo, mid, leaf, terminal, combine);
+            left.fork();
+            R right = new ChunkTask<>(mid, hi, leaf, terminal, combine).compute();
+            return combine.apply(left.join(), right);
+        }
+    }
+
+    private abstract static class Stage {
+        abstract Sink wrap(Sink downstream);
+    }
+
+    private static final class MapStage extends Stage {
+        final IntUnaryOperator mapper;
+
+        MapStage(IntUnaryOperator mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        Sink wrap(Sink downstream) {
+            return new Sink() {
+                @Override
+                void accept(int value) {
+                    downstream.accept(mapper.applyAsInt(value));
+                }
+            };
+        }
+    }
+
+    private static final class FilterStage extends Stage {
+        final IntPredicate predicate;
+
+        FilterStage(IntPredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        Sink wrap(Sink downstream) {
+            return new Sink() {
+                @Override
+                void accept(int value) {
+                    if (predicate.test(value)) {
+                        downstream.accept(value);
+                    }
+                }
+            };
+        }
+    }
+
+    private abstract static class Sink {
+        abstract void accept(int value);
+    }
+
+    private abstract static class Terminal<R> extends Sink {
+        abstract R result();
+    }
+
+    private static final class SumSink extends Terminal<Long> {
+        private long sum;
+
+        @Override
+        void accept(int value) {
+            sum += value;
+        }
+
+        @Override
+        Long result() {
+            return sum;
+        }
+    }
+
+    private static final class CountSink extends Terminal<Long> {
+        private long count;
+
+        @Override
+        void accept(int value) {
+            count++;
+        }
+
+        @Override
+        Long result() {
+            return count;
+        }
+    }
+
+    private static final class ReduceSink extends Terminal<OptionalInt> {
+        private final IntBinaryOperator op;
+        private boolean seen;
+        private int acc;
+
+        ReduceSink(IntBinaryOperator op) {
+            this.op = op;
+        }
+
+        @Override
+        void accept(int value) {
+            acc = seen ? op.applyAsInt(acc, value) : value;
+            seen = true;
+        }
+
+        @Override
+        OptionalInt result() {
+            return seen ? OptionalInt.of(acc) : OptionalInt.empty();
+        }
+    }
+
+    private static final class FoldSink extends Terminal<Integer> {
+        private final IntBinaryOperator op;
+        private int acc;
+
+        FoldSink(int identity, IntBinaryOperator op) {
+            this.acc = identity;
+            this.op = op;
+        }
+
+        @Override
+        void accept(int value) {
+            acc = op.applyAsInt(acc, value);
+        }
+
+        @Override
+        Integer result() {
+            return acc;
+        }
+    }
+
+    // Collects into chunks that double up to MAX_CHUNK and are never copied (like SegmentedArray);
+    // parallel pieces are joined by appending their chunk lists, so every element is copied exactly
+    // once, into the array toArray() returns.
+    private static final class ArraySink extends Terminal<ArraySink> {
+        private static final int MAX_CHUNK = 1 << 16;
+
+        private int[][] chunks = new int[4][];
+        private int[] fills = new int[4];
+        private int chunkCount;
+        private int size; // elements in chunks[0..chunkCount)
+        private int[] current = new int[16];
+        private int fill;
+
+        @Override
+        void accept(int value) {
+            if (fill == current.length) {
+                addChunk(current, fill);
+                current = new int[Math.min(MAX_CHUNK, current.length * 2)];
+                fill = 0;
+            }
+            current[fill++] = value;
+        }
+
+        @Override
+        ArraySink result() {
+            addChunk(current, fill);
+            current = new int[0];
+            fill = 0;
+            return this;
+        }
+
+        ArraySink append(ArraySink right) {
+            for (int i = 0; i < right.chunkCount; i++) {
+                addChunk(right.chunks[i], right.fills[i]);
+            }
+            return this;
+        }
+
+        int[] toArray() {
+            int[] values = new int[size];
+            for (int i = 0, offset = 0; i < chunkCount; offset += fills[i++]) {
+                System.arraycopy(chunks[i], 0, values, offset, fills[i]);
+            }
+            return values;
+        }
+
+        private void addChunk(int[] chunk, int count) {
+            if (count == 0) {
+                return;
+            }
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+                fills = Arrays.copyOf(fills, chunkCount * 2);
+            }
+            chunks[chunkCount] = chunk;
+            fills[chunkCount++] = count;
+            size += count;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] numbers = {10, 20, 30, 40};
+        System.out.println("Sum: " + IntPipeline.of(numbers).sum()); // Output: Sum: 100
+
+        IntPipeline evensTripled = IntPipeline.range(0, 10).filter(x -> x % 2 == 0).map(x -> x * 3);
+        System.out.println(Arrays.toString(evensTripled.toArray())); // Output: [0, 6, 12, 18, 24]
+        System.out.println(Arrays.toString(IntPipeline.of(5, 1, 8, 2, 3).sortedArray())); // Output: [1, 2, 3, 5, 8]
+
+        IntPipeline big = IntPipeline.range(0, 10_000_000).map(x -> x * 2).map(x -> x + 1).filter(x -> x % 3 == 0);
+        System.out.println(big.stageCount()); // Output: 2 (the two maps were fused)
+        System.out.println(big.sum() == big.sequential().sum()); // Output: true
+        System.out.println(big.max()); // Output: OptionalInt[19999995]
+    }
+}
@@ -0,0 +1,161 @@
+// The Stream examples of this folder (reduce, filter + map + collect, sort) on 1K to 10M ints, four ways:
+// boxed Stream<Integer> over a List<Integer>, the same stream .parallel(), IntStream over an int[], and
+// IntPipeline (which picks sequential or parallel by size itself).
+// Each cell shows ns per element (best of 5 rounds, each repeated over ~16M elements) and bytes allocated
+// per element in one warm run, counted over all threads (so the fork-join workers' garbage is included)
+// with com.sun.management.ThreadMXBean. The GC column is the collections seen during the whole row.
+// Every variant's result is checked against the boxed stream first.
+//
+// Run (from generics_streams/):
+//   javac -d out IntPipeline.java StreamPipelineBenchmark.java
+//   java -Xmx3g -cp out StreamPipelineBenchmark
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+public class StreamPipelineBenchmark {
+    private static final long ELEMENTS_PER_ROUND = 1L << 24;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        System.out.printf("%-6s %-8s %20s %20s %20s %20s %4s  %s%n", "n", "op", "boxed ns | B/elem",
+                "boxed par", "IntStream", "IntPipeline", "GCs", "pipeline mode");
+        for (int n : new int[]{1_000, 100_000, 1_000_000, 10_000_000}) {
+            Random random = new Random(n);
+            int[] array = random.ints(n, 0, 1_000_000).toArray();
+            List<Integer> list = Arrays.stream(array).boxed().collect(Collectors.toList());
+            IntPipeline source = IntPipeline.of(array);
+            String mode = source.isParallel() ? "parallel" : "sequential";
+            int reps = (int) Math.max(1, ELEMENTS_PER_ROUND / n);
+
+            // StreamReduceExample: sum of the squares of the even numbers (mod 1000, to stay within int)
+            long expected = list.stream().filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000))
+                    .reduce(0, Integer::sum);
+            check("reduce", expected == list.parallelStream().filter(x -> x % 2 == 0)
+                    .map(x -> x % 1000 * (x % 1000)).reduce(0, Integer::sum)
+                    && expected == Arrays.stream(array).filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000)).sum()
+                    && expected == source.filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000))
+                            .reduce(0, Integer::sum));
+            report(n, "reduce", reps, mode,
+                    () -> list.stream().filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000))
+                            .reduce(0, Integer::sum),
+                    () -> list.parallelStream().filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000))
+                            .reduce(0, Integer::sum),
+                    () -> Arrays.stream(array).filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000)).sum(),
+                    () -> source.filter(x -> x % 2 == 0).map(x -> x % 1000 * (x % 1000)).reduce(0, Integer::sum));
+
+            // StreamExample / StreamMappingExample: filter, map, collect
+            List<Integer> collected = list.stream().filter(x -> x > 500_000).map(x -> x / 7)
+                    .collect(Collectors.toList());
+            int[] unboxed = collected.stream().mapToInt(Integer::intValue).toArray();
+            check("collect", collected.equals(list.parallelStream().filter(x -> x > 500_000).map(x -> x / 7)
+                    .collect(Collectors.toList()))
+                    && Arrays.equals(unboxed, Arrays.stream(array).filter(x -> x > 500_000).map(x -> x / 7).toArray())
+                    && Arrays.equals(unboxed, source.filter(x -> x > 500_000).map(x -> x / 7).toArray()));
+            report(n, "collect", reps, mode,
+                    () -> list.stream().filter(x -> x > 500_000).map(x -> x / 7).collect(Collectors.toList()).size(),
+                    () -> list.parallelStream().filter(x -> x > 500_000).map(x -> x / 7)
+                            .collect(Collectors.toList()).size(),
+                    () -> Arrays.stream(array).filter(x -> x > 500_000).map(x -> x / 7).toArray().length,
+                    () -> source.filter(x -> x > 500_000).map(x -> x / 7).toArray().length);
+
+            // StreamSortingExample
+            List<Integer> sorted = list.stream().sorted().collect(Collectors.toList());
+            int[] sortedArray = sorted.stream().mapToInt(Integer::intValue).toArray();
+            check("sort", sorted.equals(list.parallelStream().sorted().collect(Collectors.toList()))
+                    && Arrays.equals(sortedArray, Arrays.stream(array).sorted().toArray())
+                    && Arrays.equals(sortedArray, source.sortedArray()));
+            int sortReps = Math.max(1, reps / 8);
+            report(n, "sort", sortReps, mode,
+                    () -> list.stream().sorted().collect(Collectors.toList()).get(0),
+                    () -> list.parallelStream().sorted().collect(Collectors.toList()).get(0),
+                    () -> Arrays.stream(array).sorted().toArray()[0],
+                    () -> source.sortedArray()[0]);
+            System.out.println();
+        }
+    }
+
+    private static void check(String op, boolean ok) {
+        if (!ok) {
+            throw new AssertionError(op + ": variants disagree");
+        }
+    }
+
+    private static void report(int n, String op, int reps, String mode, LongSupplier boxed,
+                               LongSupplier boxedParallel, LongSupplier intStream, LongSupplier pipeline) {
+        long gcs = gcCount();
+        String[] cells = new String[4];
+        LongSupplier[] variants = {boxed, boxedParallel, intStream, pipeline};
+        for (int v = 0; v < variants.length; v++) {
+            double elements = (double) reps * n;
+            double ns = time(repeat(variants[v], reps)) / elements;
+            double bytes = allocatedBytes(variants[v]) / (double) n;
+            cells[v] = String.format("%8.2f | %7.2f", ns, bytes);
+        }
+        System.out.printf("%-6s %-8s %20s %20s %20s %20s %4d  %s%n", label(n), op, cells[0], cells[1], cells[2],
+                cells[3], gcCount() - gcs, mode);
+    }
+
+    // Bytes allocated by every live thread during one run: the JVM keeps a per-thread counter of the
+    // bytes handed out from its allocation buffers, which is what JMH's gc profiler reads as well.
+    private static long allocatedBytes(LongSupplier run) {
+        long before = totalAllocated();
+        long checksum = run.getAsLong();
+        long allocated = totalAllocated() - before;
+        if (checksum == 42) {
+            System.out.print("");
+        }
+        return allocated;
+    }
+
+    private static long totalAllocated() {
+        long total = 0;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            total += Math.max(0, bytes); // -1 for a thread that died in the meantime
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static LongSupplier repeat(LongSupplier op, int reps) {
+        return () -> {
+            long checksum = 0;
+            for (int r = 0; r < reps; r++) {
+                checksum += op.getAsLong();
+            }
+            return checksum;
+        };
+    }
+
+    private static String label(int n) {
+        return n >= 1_000_000 ? n / 1_000_000 + "M" : n / 1_000 + "K";
+    }
+
+    // Best of 5 rounds, in ns.
+    private static long time(LongSupplier run) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            checksum += run.getAsLong();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        if (checksum == 42) {
+            System.out.print(""); // consume the result so the loops can't be optimized away
+        }
+        return best;
+    }
+}